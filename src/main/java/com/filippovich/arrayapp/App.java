@@ -1,9 +1,18 @@
 package main.java.com.filippovich.arrayapp;
 
 import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
+import main.java.com.filippovich.arrayapp.exception.SnapshotException;
+import main.java.com.filippovich.arrayapp.index.WordIndex;
+import main.java.com.filippovich.arrayapp.index.impl.InvertedWordIndex;
+import main.java.com.filippovich.arrayapp.persistence.impl.PersistenceSettings;
+import main.java.com.filippovich.arrayapp.persistence.impl.RepositoryPersistenceImpl;
 import main.java.com.filippovich.arrayapp.reader.impl.ArrayFileReaderImpl;
+import main.java.com.filippovich.arrayapp.reader.impl.MappedArrayFileReaderImpl;
+import main.java.com.filippovich.arrayapp.repository.impl.MappedStringArrayRepositoryImpl;
+import main.java.com.filippovich.arrayapp.repository.impl.RepositoryBounds;
 import main.java.com.filippovich.arrayapp.repository.impl.StringArrayRepositoryImpl;
-import main.java.com.filippovich.arrayapp.service.comparator.impl.StringArrayComparatorsImpl;
+import main.java.com.filippovich.arrayapp.view.SortedView;
+import main.java.com.filippovich.arrayapp.view.impl.SortedViewRegistry;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.config.ConfigurationSource;
@@ -11,6 +20,9 @@ import org.apache.logging.log4j.core.config.Configurator;
 import main.java.com.filippovich.arrayapp.entity.StringArray;
 import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
 import main.java.com.filippovich.arrayapp.entity.impl.ArrayFactory;
+import main.java.com.filippovich.arrayapp.entity.impl.ArrayScope;
+import main.java.com.filippovich.arrayapp.entity.impl.EncodedStringArrayImpl;
+import main.java.com.filippovich.arrayapp.entity.impl.PackedStringArrayImpl;
 
 import main.java.com.filippovich.arrayapp.repository.*;
 import main.java.com.filippovich.arrayapp.repository.specification.*;
@@ -25,8 +37,17 @@ import main.java.com.filippovich.arrayapp.service.stream.impl.SortStreamServiceI
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 public class App {
     private static final Logger logger;
@@ -36,7 +57,7 @@ public class App {
         logger = LogManager.getLogger(App.class);
     }
 
-    private static void initializeLogger() {
+    static void initializeLogger() {
         try {
             String[] configPaths = {
                     "src/main/java/com/filippovich/resources/log4j2.xml",
@@ -83,6 +104,10 @@ public class App {
         testSortingAlgorithms();
         testFileOperations();
         testRepositoryAndWarehouse();
+        testPersistence();
+        testMappedRepository();
+        testBoundedRepository();
+        testSortedViews();
 
         logger.info("All test suites completed!");
     }
@@ -97,47 +122,250 @@ public class App {
 
         StringArrayImpl array1 = ArrayFactory.createFromArray(new String[]{"apple", "banana", "cat"});
         logger.info("Created array 1: {}", array1);
-        logger.info("Warehouse stats for array 1: {}", warehouse.getStatistics(array1.getId()).orElse(null));
+        logger.info("Warehouse stats for array 1: {}", warehouse.getStatistics(array1.getKey()).orElse(null));
 
         StringArrayImpl array2 = ArrayFactory.createFromArray(new String[]{"Zebra", "Lion", "Ant", "Tiger"});
         logger.info("Created array 2: {}", array2);
-        logger.info("Warehouse stats for array 2: {}", warehouse.getStatistics(array2.getId()).orElse(null));
+        logger.info("Warehouse stats for array 2: {}", warehouse.getStatistics(array2.getKey()).orElse(null));
 
         StringArrayImpl array3 = ArrayFactory.createFromArray(new String[]{"a", "b"});
         logger.info("Created array 3: {}", array3);
-        logger.info("Warehouse stats for array 3: {}", warehouse.getStatistics(array3.getId()).orElse(null));
+        logger.info("Warehouse stats for array 3: {}", warehouse.getStatistics(array3.getKey()).orElse(null));
 
         logger.info("--- Test 2: Remove from Repository & Check Warehouse ---");
         logger.info("Removing array 2...");
         repository.remove(array2);
-        logger.info("Stats for removed array 2 in Warehouse: {}", warehouse.getStatistics(array2.getId()).orElse(null));
+        logger.info("Stats for removed array 2 in Warehouse: {}", warehouse.getStatistics(array2.getKey()).orElse(null));
         logger.info("Total arrays in repository: {}", repository.findAll().size());
 
+        try (ArrayScope scope = ArrayFactory.openScope()) {
+            StringArrayImpl scoped = scope.create(new String[]{"temporary", "words"});
+            logger.info("Scoped array {} registered: {}", scoped.getKey(), repository.findByKey(scoped.getKey()).isPresent());
+        }
+        StringArrayImpl detached = ArrayFactory.createDetached(new String[]{"never", "stored"});
+        logger.info("Detached array {} registered: {}", detached.getKey(), repository.findByKey(detached.getKey()).isPresent());
+        logger.info("Total arrays in repository after scope close: {}", repository.findAll().size());
+
         logger.info("--- Test 3: Query Repository with Specifications ---");
 
-        Specification idSpec = new IdSpecification(array1.getId());
+        Specification idSpec = new IdSpecification(array1.getKey());
         List<StringArray> idResult = repository.query(idSpec);
-        logger.info("Query: Find by ID {}. Found: {}", array1.getId(), idResult);
+        logger.info("Query: Find by key {}. Found: {}", array1.getKey(), idResult);
+        UUID foreignId = UUID.randomUUID();
+        logger.info("Foreign id {}: found {}, matched {}, stats {}", foreignId,
+                repository.findById(foreignId).isPresent(), repository.query(new IdSpecification(foreignId)).size(),
+                Warehouse.getInstance().getStatistics(foreignId).isPresent());
         Specification maxLenSpec = new MaxLengthSpecification(1);
         List<StringArray> maxLenResult = repository.query(maxLenSpec);
         logger.info("Query: Find where max word length = 1. Found: {}", maxLenResult);
+        Specification rangeSpec = new AttributeRangeSpecification()
+                .between(IndexedAttribute.WORD_COUNT, 2, 3)
+                .between(IndexedAttribute.MAX_LENGTH, 5, 10);
+        logger.info("Query plan: {}", StringArrayRepositoryImpl.getInstance().explain(rangeSpec));
+        logger.info("Query: 2-3 words, longest word 5-10 chars. Found: {}", repository.query(rangeSpec));
+
+        Page firstPage = repository.query(array -> true, Cursor.START, 1);
+        logger.info("First page: {} {}", firstPage, firstPage.getItems());
+        logger.info("Second page: {}", repository.query(array -> true, firstPage.getNext(), 1).getItems());
+        logger.info("Arrays 2-3 by offset: {}", repository.query(array -> true, 1, 2));
+
+        InvertedWordIndex wordIndex = InvertedWordIndex.getInstance();
+        logger.info("Arrays containing 'apple' and 'cat': {}",
+                wordIndex.findContainingAll(List.of("apple", "cat"), WordIndex.Match.EXACT));
+        logger.info("Arrays containing 'zebra' or 'A' (any case): {}",
+                wordIndex.findContainingAny(List.of("zebra", "A"), WordIndex.Match.IGNORE_CASE));
+
+        logger.info("--- Test 4: Sorted views over the Repository ---");
+        logger.info("Unsorted list: {}", repository.findAll());
+
+        SortedViewRegistry views = SortedViewRegistry.getInstance();
+        logger.info("Sorted by ID: {}", views.byId().stream().collect(Collectors.toList()));
+        logger.info("Sorted by Length (word count): {}", views.byLength().stream().collect(Collectors.toList()));
+        logger.info("Sorted by First Element: {}", views.byFirstElement().stream().collect(Collectors.toList()));
+    }
 
-        logger.info("--- Test 4: Sort Repository results with Comparators ---");
-        List<StringArray> allArrays = repository.findAll();
-        logger.info("Unsorted list: {}", allArrays);
 
-        StringArrayComparatorsImpl comparatorFactory = new StringArrayComparatorsImpl();
+    /**
+     * A restart simulated by clearing the repository and recovering it from snapshot plus log, then the same
+     * for arrays a bounded repository had evicted when the snapshot was taken.
+     */
+    private static void testPersistence() throws InvalidArrayException {
+        logger.info("=== WRITE-AHEAD LOG & SNAPSHOT TEST ===");
+        StringArrayRepositoryImpl repository = StringArrayRepositoryImpl.getInstance();
 
-        allArrays.sort(comparatorFactory.byId());
-        logger.info("Sorted by ID: {}", allArrays);
+        try {
+            Path directory = Files.createTempDirectory("wal-recovery");
+            RepositoryPersistenceImpl persistence = new RepositoryPersistenceImpl(PersistenceSettings.defaults(directory));
+            persistence.open();
+            StringArrayImpl kept = ArrayFactory.createFromArray(new String[]{"kept", "after", "restart"});
+            StringArrayImpl dropped = ArrayFactory.createFromArray(new String[]{"removed", "before", "restart"});
+            repository.remove(dropped);
+            persistence.snapshot();
+            StringArrayImpl logged = ArrayFactory.createFromArray(new String[]{"only", "in", "log"});
+            persistence.close();
+
+            repository.remove(kept);
+            repository.remove(logged);
+            RepositoryPersistenceImpl recovered = new RepositoryPersistenceImpl(PersistenceSettings.defaults(directory));
+            logger.info("Recovered {} arrays; kept: {}, logged: {}, dropped: {}", recovered.open(),
+                    repository.findByKey(kept.getKey()).isPresent(), repository.findByKey(logged.getKey()).isPresent(),
+                    repository.findByKey(dropped.getKey()).isPresent());
+            logger.info("Warehouse stats for recovered array: {}",
+                    Warehouse.getInstance().getStatistics(logged.getKey()).orElse(null));
+            recovered.close();
+            repository.remove(kept);
+            repository.remove(logged);
+
+            Path boundedDirectory = Files.createTempDirectory("wal-bounded");
+            Path spillDirectory = Files.createTempDirectory("wal-bounded-spill");
+            RepositoryPersistenceImpl bounded = new RepositoryPersistenceImpl(PersistenceSettings.defaults(boundedDirectory));
+            bounded.open();
+            repository.bound(RepositoryBounds.ofEntries(2, EvictionPolicy.LRU).withSpillDirectory(spillDirectory));
+            List<String[]> words = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                words.add(new String[]{"bounded", "restart" + i});
+            }
+            List<StringArrayImpl> written = ArrayFactory.createAll(words);
+            bounded.snapshot();
+            bounded.close();
+            repository.unbound();
+            written.forEach(repository::remove);
+
+            RepositoryPersistenceImpl restarted = new RepositoryPersistenceImpl(PersistenceSettings.defaults(boundedDirectory));
+            logger.info("Restored {} of {} arrays written while bounded to 2 entries", restarted.open(), written.size());
+            restarted.close();
+            written.forEach(repository::remove);
+            Files.deleteIfExists(spillDirectory);
+        } catch (IOException | SnapshotException e) {
+            logger.error("Persistence test failed: {}", e.getMessage(), e);
+        }
+    }
 
-        allArrays.sort(comparatorFactory.byLength());
-        logger.info("Sorted by Length (word count): {}", allArrays);
+    /**
+     * Paged queries over the mapped repository, and the space of removed arrays being reclaimed.
+     */
+    private static void testMappedRepository() throws InvalidArrayException {
+        logger.info("=== MAPPED REPOSITORY TEST ===");
+        int arrays = 20_000;
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("mapped-repository");
+            try (MappedStringArrayRepositoryImpl repository = new MappedStringArrayRepositoryImpl(directory, 256 * 1024)) {
+                List<StringArrayImpl> created = new ArrayList<>(arrays);
+                for (int i = 0; i < arrays; i++) {
+                    created.add(ArrayFactory.createDetached(corpusWords(i)));
+                }
+                repository.addAll(created);
+
+                Page page = repository.query(new MaxLengthSpecification(7), Cursor.START, 3);
+                logger.info("First page of arrays with words up to 7 chars: {}", page.getItems());
+                StringArray first = page.getItems().get(0);
+                repository.remove(first);
+                logger.info("Removed {}: still present: {}, next page starts with: {}", first.getKey(),
+                        repository.findByKey(first.getKey()).isPresent(),
+                        repository.query(new MaxLengthSpecification(7), Cursor.START, 1).getItems());
+
+                long mappedBefore = repository.getMappedBytes();
+                for (int i = 0; i < arrays; i++) {
+                    if (i % 10 != 0) {
+                        repository.remove(created.get(i));
+                    }
+                }
+                logger.info("After removing 90%: {} arrays, {} KB mapped (was {} KB), {} KB live",
+                        repository.size(), repository.getMappedBytes() >> 10, mappedBefore >> 10,
+                        repository.getLiveBytes() >> 10);
+            }
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            logger.error("Mapped repository test failed in {}: {}", directory, e.getMessage(), e);
+        }
+    }
 
-        allArrays.sort(comparatorFactory.byFirstElement());
-        logger.info("Sorted by First Element: {}", allArrays);
+    /**
+     * Hit rate of each eviction policy on a skewed workload interrupted by scans, with evicted arrays spilled
+     * to disk and faulted back in, then the Warehouse following an eviction and a fault.
+     */
+    private static void testBoundedRepository() throws InvalidArrayException {
+        logger.info("=== BOUNDED REPOSITORY TEST ===");
+        StringArrayRepositoryImpl repository = StringArrayRepositoryImpl.getInstance();
+        Warehouse warehouse = Warehouse.getInstance();
+        List<String[]> words = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            words.add(new String[]{"cached", "item" + i});
+        }
+        List<StringArrayImpl> universe = ArrayFactory.createAll(words);
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("repository-spill");
+            for (EvictionPolicy policy : EvictionPolicy.values()) {
+                repository.bound(RepositoryBounds.ofEntries(1_000, policy).withSpillDirectory(directory));
+                Random random = new Random(42);
+                int scan = 0;
+                for (int op = 0; op < 100_000; op++) {
+                    int index = op % 10 == 0
+                            ? scan++ % universe.size()
+                            : (int) (universe.size() * Math.pow(random.nextDouble(), 3));
+                    repository.findByKey(universe.get(index).getKey());
+                }
+                logger.info("{}: {}", policy, repository.getEvictionStatistics().orElse(null));
+                repository.unbound();
+            }
+
+            repository.bound(RepositoryBounds.ofBytes(64 * 1024, EvictionPolicy.LRU).withSpillDirectory(directory));
+            long evicted = universe.get(0).getKey();
+            logger.info("Oldest array resident: {}, stats kept: {}", repository.findAll().stream()
+                    .anyMatch(array -> array.getKey() == evicted), warehouse.getStatistics(evicted).isPresent());
+            logger.info("Faulted back: {}, stats kept: {}", repository.findByKey(evicted).isPresent(),
+                    warehouse.getStatistics(evicted).isPresent());
+            logger.info("Bounded by bytes: {}", repository.getEvictionStatistics().orElse(null));
+            repository.unbound();
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            logger.error("Bounded repository test failed in {}: {}", directory, e.getMessage(), e);
+        } finally {
+            universe.forEach(repository::remove);
+        }
+    }
+
+    /**
+     * Top-k and range reads from a maintained view checked against sorting and scanning the repository.
+     */
+    private static void testSortedViews() throws InvalidArrayException {
+        logger.info("=== SORTED VIEWS TEST ===");
+        StringArrayRepositoryImpl repository = StringArrayRepositoryImpl.getInstance();
+        SortedView byLength = SortedViewRegistry.getInstance().byLength();
+        Comparator<StringArray> comparator = byLength.getComparator();
+
+        List<String[]> words = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            String[] array = new String[1 + random.nextInt(12)];
+            Arrays.fill(array, "w" + i);
+            words.add(array);
+        }
+        List<StringArrayImpl> created = ArrayFactory.createAll(words);
+
+        List<StringArray> sorted = repository.findAll();
+        sorted.sort(comparator.reversed());
+        List<StringArray> topBySort = sorted.subList(0, 10);
+        List<StringArray> topByView = byLength.last(10);
+        logger.info("Top 10 by word count from view: {}, same lengths as sorting: {}",
+                topByView.stream().map(StringArray::length).collect(Collectors.toList()),
+                topBySort.stream().mapToInt(StringArray::length).sum()
+                        == topByView.stream().mapToInt(StringArray::length).sum());
+
+        StringArrayImpl from = ArrayFactory.createDetached(new String[]{"a", "b", "c"});
+        StringArrayImpl to = ArrayFactory.createDetached(new String[]{"a", "b", "c", "d"});
+        logger.info("Arrays with 3 to 4 words: {} in view, {} by scan", byLength.range(from, to).count(),
+                repository.findAll().stream().filter(array -> array.length() == 3 || array.length() == 4).count());
+
+        created.forEach(repository::remove);
+        logger.info("View size after removal: {}, repository size: {}", byLength.size(), repository.findAll().size());
     }
 
+    private static String[] corpusWords(int seed) {
+        return new String[]{"word" + seed, "alpha", "beta" + (seed % 97), "gamma", "delta" + (seed % 13), "omega"};
+    }
 
     private static void testFileOperations() {
         logger.info("=== FILE OPERATIONS TEST ===");
@@ -156,6 +384,18 @@ public class App {
                 logger.warn("No valid arrays found in file!");
             }
 
+            logger.info("Reading file with memory-mapped parallel reader...");
+            long mappedCount;
+            try (var mapped = new MappedArrayFileReaderImpl().streamArraysFromFile()) {
+                mappedCount = mapped.count();
+            }
+            logger.info("Mapped reader produced {} arrays (sequential reader: {})", mappedCount, arrays.size());
+
+            logger.info("Streaming first 3 arrays from file...");
+            try (var stream = fileReader.streamArraysFromFile()) {
+                stream.limit(3).forEach(array -> logger.info("Streamed array: {}", array));
+            }
+
         } catch (Exception e) {
             logger.error("File reading operation failed", e);
         }
@@ -223,6 +463,20 @@ public class App {
         logger.info("--- Stream Replacement ---");
         logger.info("Replace 'cat' with 'tiger': {}", streamService.replaceWords(array, "cat", "tiger"));
         logger.info("Replace words with length 3: {}", streamService.replaceWordsByLength(array, 3, "***"));
+
+        logger.info("--- Packed Columnar Array ---");
+        PackedStringArrayImpl packed = ArrayFactory.createPackedFromArray(testData);
+        logger.info("Packed array: {}", packed);
+        logger.info("Longest word (packed): '{}'", streamService.findLongestWord(packed));
+        logger.info("Average length (packed): {}", streamService.calculateAverageLength(packed));
+        logger.info("Word lengths (packed): {}", Arrays.toString(packed.lengths().toArray()));
+
+        logger.info("--- Dictionary-Encoded Array ---");
+        EncodedStringArrayImpl encoded = ArrayFactory.createEncodedFromArray(new String[]{"cat", "dog", "cat", "apple"});
+        logger.info("Encoded array: {} (word ids: {})", encoded, Arrays.toString(encoded.wordIds().toArray()));
+        logger.info("Distinct words (encoded): {}", streamService.countDistinctWords(encoded));
+        logger.info("Occurrences of 'cat' (encoded): {}", streamService.countOccurrences(encoded, "cat"));
+        logger.info("Replace 'cat' with 'tiger' (encoded): {}", streamService.replaceWords(encoded, "cat", "tiger"));
     }
 
     private static void testStreamSorting() throws InvalidArrayException {
@@ -0,0 +1,310 @@
+package main.java.com.filippovich.arrayapp;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.entity.impl.ArrayFactory;
+import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
+import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
+import main.java.com.filippovich.arrayapp.exception.SnapshotException;
+import main.java.com.filippovich.arrayapp.persistence.SyncPolicy;
+import main.java.com.filippovich.arrayapp.persistence.impl.PersistenceSettings;
+import main.java.com.filippovich.arrayapp.persistence.impl.RepositoryPersistenceImpl;
+import main.java.com.filippovich.arrayapp.repository.Specification;
+import main.java.com.filippovich.arrayapp.repository.StringArrayRepository;
+import main.java.com.filippovich.arrayapp.repository.impl.MappedStringArrayRepositoryImpl;
+import main.java.com.filippovich.arrayapp.repository.impl.StringArrayRepositoryImpl;
+import main.java.com.filippovich.arrayapp.repository.specification.MaxLengthSpecification;
+import main.java.com.filippovich.arrayapp.view.SortedView;
+import main.java.com.filippovich.arrayapp.view.impl.SortedViewRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Timing and memory measurements, kept apart from the functional checks in {@link App}. Heap figures are the
+ * largest heap retained after a collection while loading, as reported by the memory pools; no collection is
+ * forced, so they depend on when the collector happened to run.
+ */
+public class Benchmarks {
+    private static final Logger logger;
+
+    static {
+        App.initializeLogger();
+        logger = LogManager.getLogger(Benchmarks.class);
+    }
+
+    public static void main(String[] args) {
+        logger.info("=== String Array Benchmarks Started ===");
+
+        try {
+            benchmarkRepositoryContention();
+            benchmarkWriteAheadLog();
+            benchmarkMappedRepository();
+            benchmarkSortedViews();
+            logger.info("All benchmarks completed!");
+
+        } catch (Exception e) {
+            logger.error("Benchmarks terminated with error", e);
+        }
+    }
+
+    /**
+     * Mixed lookups, inserts, removals and occasional queries against the shared repository at 1 to 64
+     * threads; every thread removes what it inserted, so the repository ends where it started.
+     */
+    private static void benchmarkRepositoryContention() throws InvalidArrayException {
+        logger.info("=== REPOSITORY CONTENTION BENCHMARK ===");
+        StringArrayRepository repository = StringArrayRepositoryImpl.getInstance();
+        int opsPerThread = 20_000;
+
+        List<StringArrayImpl> seed = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            seed.add(ArrayFactory.createDetached(new String[]{"seed" + i, "word"}));
+        }
+        repository.addAll(seed);
+        long[] seedKeys = seed.stream().mapToLong(StringArrayImpl::getKey).toArray();
+        Specification shortArrays = new MaxLengthSpecification(1);
+
+        for (int threads = 1; threads <= 64; threads <<= 1) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    ArrayDeque<StringArrayImpl> own = new ArrayDeque<>();
+                    for (int op = 0; op < opsPerThread; op++) {
+                        int dice = random.nextInt(100);
+                        if (op % 2_000 == 0) {
+                            repository.query(shortArrays);
+                        } else if (dice < 60) {
+                            repository.findByKey(seedKeys[random.nextInt(seedKeys.length)]);
+                        } else if (dice < 80 || own.isEmpty()) {
+                            StringArrayImpl array = ArrayFactory.createDetached(new String[]{"bench", "op" + op});
+                            repository.add(array);
+                            own.add(array);
+                        } else {
+                            repository.remove(own.poll());
+                        }
+                    }
+                    own.forEach(repository::remove);
+                    return null;
+                }));
+            }
+
+            long startTime = System.nanoTime();
+            start.countDown();
+            try {
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.error("Contention benchmark interrupted");
+                return;
+            } catch (ExecutionException e) {
+                logger.error("Contention benchmark failed", e.getCause());
+                return;
+            } finally {
+                executor.shutdownNow();
+            }
+            long elapsed = Math.max(1, System.nanoTime() - startTime);
+            long totalOps = (long) threads * opsPerThread;
+            logger.info("{} threads: {} ops in {} ms ({} ops/ms)", threads, totalOps,
+                    elapsed / 1_000_000, totalOps * 1_000_000 / elapsed);
+        }
+
+        seed.forEach(repository::remove);
+        logger.info("Arrays in repository after benchmark: {}", repository.findAll().size());
+    }
+
+    /**
+     * Write throughput of the write-ahead log per sync policy and thread count.
+     */
+    private static void benchmarkWriteAheadLog() {
+        logger.info("=== WRITE-AHEAD LOG BENCHMARK ===");
+        StringArrayRepositoryImpl repository = StringArrayRepositoryImpl.getInstance();
+        int opsPerThread = 500;
+
+        try {
+            for (SyncPolicy policy : new SyncPolicy[]{SyncPolicy.PER_OPERATION, SyncPolicy.PER_BATCH}) {
+                for (int threads : new int[]{1, 8, 32}) {
+                    Path directory = Files.createTempDirectory("wal-bench");
+                    RepositoryPersistenceImpl persistence =
+                            new RepositoryPersistenceImpl(PersistenceSettings.defaults(directory).withSyncPolicy(policy));
+                    persistence.open();
+                    List<StringArrayImpl> written = Collections.synchronizedList(new ArrayList<>());
+                    ExecutorService executor = Executors.newFixedThreadPool(threads);
+                    long startTime = System.nanoTime();
+                    List<Future<?>> workers = new ArrayList<>();
+                    for (int t = 0; t < threads; t++) {
+                        workers.add(executor.submit(() -> {
+                            for (int op = 0; op < opsPerThread; op++) {
+                                StringArrayImpl array = ArrayFactory.createDetached(new String[]{"durable", "op" + op});
+                                repository.add(array);
+                                written.add(array);
+                            }
+                            return null;
+                        }));
+                    }
+                    for (Future<?> worker : workers) {
+                        worker.get();
+                    }
+                    long elapsed = Math.max(1, System.nanoTime() - startTime);
+                    executor.shutdown();
+                    long totalOps = (long) threads * opsPerThread;
+                    logger.info("{} with {} threads: {} ops/s, {} syncs for {} records", policy, threads,
+                            totalOps * 1_000_000_000L / elapsed, persistence.getSyncCount(), persistence.getAppendedRecords());
+                    persistence.close();
+                    written.forEach(repository::remove);
+                }
+            }
+        } catch (IOException | SnapshotException e) {
+            logger.error("Write-ahead log benchmark failed: {}", e.getMessage(), e);
+        } catch (ExecutionException e) {
+            logger.error("Write-ahead log benchmark failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Write-ahead log benchmark interrupted");
+        }
+    }
+
+    /**
+     * Heap footprint and collector work of the same corpus held in the mapped repository and on the heap. The
+     * mapped repository goes first, so its figures are not inflated by the heap list's garbage.
+     */
+    private static void benchmarkMappedRepository() throws InvalidArrayException {
+        logger.info("=== MAPPED REPOSITORY BENCHMARK ===");
+        int arrays = 500_000;
+        int batch = 10_000;
+
+        Path directory = null;
+        long collections = gcCollections();
+        long retained = 0;
+        try {
+            directory = Files.createTempDirectory("mapped-repository");
+            try (MappedStringArrayRepositoryImpl repository = new MappedStringArrayRepositoryImpl(directory)) {
+                List<StringArrayImpl> pending = new ArrayList<>(batch);
+                for (int i = 0; i < arrays; i++) {
+                    pending.add(ArrayFactory.createDetached(corpusWords(i)));
+                    if (pending.size() == batch) {
+                        repository.addAll(pending);
+                        pending.clear();
+                        retained = Math.max(retained, retainedHeap(collections));
+                    }
+                }
+                repository.addAll(pending);
+                logger.info("Mapped repository: {} arrays, at most {} MB retained, {} MB mapped, {} collections while loading",
+                        repository.size(), retained >> 20, repository.getMappedBytes() >> 20,
+                        gcCollections() - collections);
+            }
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            logger.error("Mapped repository benchmark failed in {}: {}", directory, e.getMessage(), e);
+        }
+
+        collections = gcCollections();
+        retained = 0;
+        List<StringArrayImpl> onHeap = new ArrayList<>(arrays);
+        for (int i = 0; i < arrays; i++) {
+            onHeap.add(ArrayFactory.createDetached(corpusWords(i)));
+            if (i % batch == 0) {
+                retained = Math.max(retained, retainedHeap(collections));
+            }
+        }
+        logger.info("Heap list: {} arrays, at most {} MB retained, {} collections while loading",
+                onHeap.size(), retained >> 20, gcCollections() - collections);
+    }
+
+    /**
+     * Top-k reads from a maintained view against copying and sorting the repository per request.
+     */
+    private static void benchmarkSortedViews() throws InvalidArrayException {
+        logger.info("=== SORTED VIEWS BENCHMARK ===");
+        StringArrayRepositoryImpl repository = StringArrayRepositoryImpl.getInstance();
+        SortedView byLength = SortedViewRegistry.getInstance().byLength();
+        Comparator<StringArray> comparator = byLength.getComparator();
+        int requests = 200;
+
+        List<String[]> words = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            String[] array = new String[1 + random.nextInt(12)];
+            Arrays.fill(array, "w" + i);
+            words.add(array);
+        }
+        List<StringArrayImpl> created = ArrayFactory.createAll(words);
+
+        long startTime = System.nanoTime();
+        List<StringArray> sorted = null;
+        for (int i = 0; i < requests; i++) {
+            sorted = repository.findAll();
+            sorted.sort(comparator.reversed());
+        }
+        long sortNanos = (System.nanoTime() - startTime) / requests;
+        List<StringArray> topBySort = sorted.subList(0, 10);
+
+        startTime = System.nanoTime();
+        List<StringArray> topByView = null;
+        for (int i = 0; i < requests; i++) {
+            topByView = byLength.last(10);
+        }
+        long viewNanos = (System.nanoTime() - startTime) / requests;
+        logger.info("Top 10 by word count: sort per request {} us, view {} us, same lengths: {}",
+                sortNanos / 1_000, viewNanos / 1_000, topBySort.stream().mapToInt(StringArray::length).sum()
+                        == topByView.stream().mapToInt(StringArray::length).sum());
+
+        created.forEach(repository::remove);
+    }
+
+    private static String[] corpusWords(int seed) {
+        return new String[]{"word" + seed, "alpha", "beta" + (seed % 97), "gamma", "delta" + (seed % 13), "omega"};
+    }
+
+    /**
+     * Heap in use right after the most recent collection of each heap pool, or 0 if the collector has not run
+     * since {@code collections} were counted.
+     */
+    private static long retainedHeap(long collections) {
+        if (gcCollections() == collections) {
+            return 0;
+        }
+        long total = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (pool.getType() == MemoryType.HEAP && usage != null) {
+                total += usage.getUsed();
+            }
+        }
+        return total;
+    }
+
+    private static long gcCollections() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, collector.getCollectionCount());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,32 @@
+package main.java.com.filippovich.arrayapp.dictionary;
+
+public interface WordDictionary {
+    int NOT_FOUND = -1;
+
+    /**
+     * Returns the ids of {@code words}, assigning a free id to each new word, and takes one reference per
+     * occurrence. Every call must be balanced by {@link #release(int[])} of the returned ids.
+     */
+    int[] acquire(String[] words);
+
+    /**
+     * Drops one reference per occurrence in {@code ids}. A word left without references is removed and its
+     * id may be assigned to another word.
+     */
+    void release(int[] ids);
+
+    /**
+     * Returns the id of {@code word} or {@link #NOT_FOUND} without adding it. The id stays valid only while
+     * some holder of the word keeps its reference.
+     */
+    int lookup(String word);
+
+    String wordOf(int id);
+
+    int lengthOf(int id);
+
+    /**
+     * Number of distinct words currently referenced.
+     */
+    int size();
+}
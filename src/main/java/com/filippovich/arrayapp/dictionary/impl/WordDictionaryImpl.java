@@ -0,0 +1,173 @@
+package main.java.com.filippovich.arrayapp.dictionary.impl;
+
+import main.java.com.filippovich.arrayapp.dictionary.WordDictionary;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Process-wide, reference-counted dictionary of distinct words. Lookups are lock-free; each word's reference
+ * count is updated atomically in its own map entry, so arrays with different words never contend. A word is
+ * dropped when its last reference is released and its id is reused, so the dictionary holds only the words of
+ * live arrays.
+ */
+public final class WordDictionaryImpl implements WordDictionary {
+    private static final Logger logger = LoggerUtil.getLogger(WordDictionaryImpl.class);
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private static WordDictionaryImpl instance;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Integer> freeIds = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger highWater = new AtomicInteger();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Object growLock = new Object();
+    private volatile AtomicReferenceArray<Entry>[] pages = newPages(1);
+
+    private WordDictionaryImpl() {
+        logger.info("Word dictionary created.");
+    }
+
+    public static synchronized WordDictionaryImpl getInstance() {
+        if (instance == null) {
+            instance = new WordDictionaryImpl();
+        }
+        return instance;
+    }
+
+    /**
+     * @throws NullPointerException if {@code array} holds a null word; no reference is taken in that case
+     */
+    @Override
+    public int[] acquire(String[] array) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == null) {
+                throw new NullPointerException("Null word at index " + i);
+            }
+        }
+        int[] result = new int[array.length];
+        for (int i = 0; i < array.length; i++) {
+            result[i] = entries.compute(array[i], (word, entry) -> {
+                Entry held = entry != null ? entry : assign(word);
+                held.references++;
+                return held;
+            }).id;
+        }
+        return result;
+    }
+
+    private Entry assign(String word) {
+        Integer free = freeIds.poll();
+        int id = free != null ? free : highWater.getAndIncrement();
+        Entry entry = new Entry(id, word);
+        page(id).set(id & PAGE_MASK, entry);
+        size.incrementAndGet();
+        return entry;
+    }
+
+    @Override
+    public void release(int[] released) {
+        for (int id : released) {
+            Entry entry = entryOf(id);
+            entries.computeIfPresent(entry.word, (word, held) -> {
+                if (--held.references > 0) {
+                    return held;
+                }
+                pages[id >>> PAGE_BITS].set(id & PAGE_MASK, null);
+                size.decrementAndGet();
+                freeIds.add(id);
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public int lookup(String word) {
+        if (word == null) {
+            return NOT_FOUND;
+        }
+        Entry entry = entries.get(word);
+        return entry != null ? entry.id : NOT_FOUND;
+    }
+
+    @Override
+    public String wordOf(int id) {
+        return entryOf(id).word;
+    }
+
+    @Override
+    public int lengthOf(int id) {
+        return entryOf(id).word.length();
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    private Entry entryOf(int id) {
+        AtomicReferenceArray<Entry>[] current = pages;
+        Entry entry = id >= 0 && id >>> PAGE_BITS < current.length
+                ? current[id >>> PAGE_BITS].get(id & PAGE_MASK)
+                : null;
+        if (entry == null) {
+            throw new IllegalArgumentException("Unknown word id: " + id);
+        }
+        return entry;
+    }
+
+    /**
+     * Pages are never moved once created, so growing the directory only copies page references.
+     */
+    private AtomicReferenceArray<Entry> page(int id) {
+        int index = id >>> PAGE_BITS;
+        AtomicReferenceArray<Entry>[] current = pages;
+        if (index < current.length) {
+            return current[index];
+        }
+        synchronized (growLock) {
+            current = pages;
+            if (index >= current.length) {
+                AtomicReferenceArray<Entry>[] grown = Arrays.copyOf(current, Math.max(index + 1, current.length * 2));
+                for (int i = current.length; i < grown.length; i++) {
+                    grown[i] = new AtomicReferenceArray<>(PAGE_SIZE);
+                }
+                pages = grown;
+                current = grown;
+            }
+            return current[index];
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static AtomicReferenceArray<Entry>[] newPages(int count) {
+        AtomicReferenceArray<Entry>[] created = new AtomicReferenceArray[count];
+        for (int i = 0; i < count; i++) {
+            created[i] = new AtomicReferenceArray<>(PAGE_SIZE);
+        }
+        return created;
+    }
+
+    /**
+     * The reference count is only read and written inside the word's map entry update, which makes it atomic
+     * with the entry's removal.
+     */
+    private static final class Entry {
+        private final int id;
+        private final String word;
+        private int references;
+
+        private Entry(int id, String word) {
+            this.id = id;
+            this.word = word;
+        }
+    }
+}
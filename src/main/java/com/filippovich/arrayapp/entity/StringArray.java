@@ -1,14 +1,52 @@
 package main.java.com.filippovich.arrayapp.entity;
 
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 public interface StringArray {
 
+    /**
+     * Primitive identity of the array, assigned by the configured id generator.
+     */
+    long getKey();
+
+    /**
+     * {@link #getKey()} adapted to a {@link UUID} for compatibility.
+     */
     UUID getId();
 
+    /**
+     * Returns a copy of the words; prefer the indexed accessors for read-only access.
+     */
     String[] getArray();
 
     int length();
 
     boolean isEmpty();
-}
\ No newline at end of file
+
+    String get(int index);
+
+    int lengthAt(int index);
+
+    /**
+     * Read-only view of the word at {@code index} that does not copy its characters.
+     */
+    CharSequence view(int index);
+
+    void forEach(Consumer<? super CharSequence> action);
+
+    IntStream lengths();
+
+    /**
+     * Length of the shortest word, {@code 0} for an empty array.
+     */
+    int getMinLength();
+
+    /**
+     * Length of the longest word, {@code 0} for an empty array.
+     */
+    int getMaxLength();
+
+    int getTotalLength();
+}
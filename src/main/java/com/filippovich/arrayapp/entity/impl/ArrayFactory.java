@@ -1,13 +1,21 @@
 package main.java.com.filippovich.arrayapp.entity.impl;
 
 import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
+import main.java.com.filippovich.arrayapp.id.impl.IdGenerators;
 import main.java.com.filippovich.arrayapp.repository.StringArrayRepository;
 import main.java.com.filippovich.arrayapp.repository.impl.StringArrayRepositoryImpl;
 import main.java.com.filippovich.arrayapp.validation.impl.ArrayValidatorImpl;
 import main.java.com.filippovich.arrayapp.util.LoggerUtil;
 import org.apache.logging.log4j.Logger;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public final class ArrayFactory {
     private static final Logger logger = LoggerUtil.getLogger(ArrayFactory.class);
@@ -18,17 +26,140 @@ public final class ArrayFactory {
     }
 
     public static StringArrayImpl createFromArray(String[] array) throws InvalidArrayException {
+        StringArrayImpl result = createDetached(array);
+
+        repository.add(result);
+
+        logger.info("Successfully created and saved StringArray with id: {}", result.getId());
+        return result;
+    }
+
+    /**
+     * Creates and registers many arrays at once: every input is validated before anything is created, the
+     * arrays are inserted in one repository call and observers receive a single batched ADD event.
+     */
+    public static List<StringArrayImpl> createAll(Collection<String[]> arrays) throws InvalidArrayException {
+        ArrayValidatorImpl arrayValidatorImpl = new ArrayValidatorImpl();
+        for (String[] array : arrays) {
+            arrayValidatorImpl.validateArray(array);
+        }
+
+        List<StringArrayImpl> result = new ArrayList<>(arrays.size());
+        for (String[] array : arrays) {
+            result.add(new StringArrayImpl(array));
+        }
+
+        repository.addAll(result);
+
+        logger.info("Successfully created and saved {} StringArrays", result.size());
+        return result;
+    }
+
+    /**
+     * Creates an array that is never registered in the repository, so no observer sees it and it is
+     * garbage-collected with its last reference. Use it for intermediate and throwaway results.
+     */
+    public static StringArrayImpl createDetached(String[] array) throws InvalidArrayException {
         logger.debug("Creating StringArray from array: {}",
                 array != null ? Arrays.toString(array) : "null");
 
         ArrayValidatorImpl arrayValidatorImpl = new ArrayValidatorImpl();
         arrayValidatorImpl.validateArray(array);
 
-        StringArrayImpl result = new StringArrayImpl(array);
+        return new StringArrayImpl(array);
+    }
+
+    /**
+     * Creates and registers an array that is removed from the repository again once {@code ttl} elapses,
+     * unless it has already been removed.
+     */
+    public static StringArrayImpl createExpiring(String[] array, Duration ttl) throws InvalidArrayException {
+        if (ttl == null || ttl.isNegative()) {
+            throw new IllegalArgumentException("Time to live must be a non-negative duration: " + ttl);
+        }
+        StringArrayImpl result = createFromArray(array);
+        Expiry.SCHEDULER.schedule(() -> {
+            if (repository.remove(result)) {
+                logger.debug("Expired StringArray with id: {}", result.getId());
+            }
+        }, ttl.toNanos(), TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * Opens a scope whose arrays are registered while it is open and removed from the repository when it
+     * is closed.
+     */
+    public static ArrayScope openScope() {
+        return new ArrayScope(repository);
+    }
+
+    /**
+     * Same as {@link #createFromArray(String[])} but stores the words in the columnar packed layout.
+     */
+    public static PackedStringArrayImpl createPackedFromArray(String[] array) throws InvalidArrayException {
+        logger.debug("Creating packed StringArray from array: {}",
+                array != null ? Arrays.toString(array) : "null");
+
+        ArrayValidatorImpl arrayValidatorImpl = new ArrayValidatorImpl();
+        arrayValidatorImpl.validateArray(array);
+
+        PackedStringArrayImpl result = new PackedStringArrayImpl(array);
 
         repository.add(result);
 
-        logger.info("Successfully created and saved StringArray with id: {}", result.getId());
+        logger.info("Successfully created and saved packed StringArray with id: {}", result.getId());
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * Same as {@link #createFromArray(String[])} but stores the words as ids of the shared word dictionary.
+     */
+    public static EncodedStringArrayImpl createEncodedFromArray(String[] array) throws InvalidArrayException {
+        logger.debug("Creating encoded StringArray from array: {}",
+                array != null ? Arrays.toString(array) : "null");
+
+        ArrayValidatorImpl arrayValidatorImpl = new ArrayValidatorImpl();
+        arrayValidatorImpl.validateArray(array);
+
+        EncodedStringArrayImpl result = new EncodedStringArrayImpl(array);
+
+        repository.add(result);
+
+        logger.info("Successfully created and saved encoded StringArray with id: {}", result.getId());
+        return result;
+    }
+
+    /**
+     * Recreates an array under a previously assigned key; the id generator is told about the key so that
+     * new arrays never reuse it.
+     */
+    public static StringArrayImpl restore(long key, String[] array) throws InvalidArrayException {
+        StringArrayImpl result = restoreDetached(key, array);
+
+        repository.add(result);
+
+        logger.debug("Restored StringArray with id: {}", result.getId());
+        return result;
+    }
+
+    /**
+     * Same as {@link #restore(long, String[])} without registering the array, for callers that register
+     * many restored arrays at once.
+     */
+    public static StringArrayImpl restoreDetached(long key, String[] array) throws InvalidArrayException {
+        ArrayValidatorImpl arrayValidatorImpl = new ArrayValidatorImpl();
+        arrayValidatorImpl.validateArray(array);
+
+        IdGenerators.getDefault().observe(key);
+        return new StringArrayImpl(key, array);
+    }
+
+    private static final class Expiry {
+        private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "array-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
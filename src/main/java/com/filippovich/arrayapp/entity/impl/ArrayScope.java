@@ -0,0 +1,55 @@
+package main.java.com.filippovich.arrayapp.entity.impl;
+
+import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
+import main.java.com.filippovich.arrayapp.repository.StringArrayRepository;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arrays created through a scope are registered in the repository like persistent ones and removed again
+ * when the scope is closed. Obtain one with {@link ArrayFactory#openScope()} in a try-with-resources block.
+ */
+public final class ArrayScope implements AutoCloseable {
+    private static final Logger logger = LoggerUtil.getLogger(ArrayScope.class);
+
+    private final StringArrayRepository repository;
+    private final List<StringArrayImpl> arrays = new ArrayList<>();
+    private boolean closed;
+
+    ArrayScope(StringArrayRepository repository) {
+        this.repository = repository;
+    }
+
+    public synchronized StringArrayImpl create(String[] array) throws InvalidArrayException {
+        if (closed) {
+            throw new IllegalStateException("Scope is already closed");
+        }
+        StringArrayImpl result = ArrayFactory.createDetached(array);
+        repository.add(result);
+        arrays.add(result);
+        return result;
+    }
+
+    public synchronized int size() {
+        return arrays.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        int removed = 0;
+        for (StringArrayImpl array : arrays) {
+            if (repository.remove(array)) {
+                removed++;
+            }
+        }
+        arrays.clear();
+        logger.debug("Closed scope, removed {} arrays from the repository", removed);
+    }
+}
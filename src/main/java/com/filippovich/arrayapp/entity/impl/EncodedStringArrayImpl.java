@@ -0,0 +1,178 @@
+package main.java.com.filippovich.arrayapp.entity.impl;
+
+import main.java.com.filippovich.arrayapp.dictionary.WordDictionary;
+import main.java.com.filippovich.arrayapp.dictionary.impl.WordDictionaryImpl;
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.id.impl.IdGenerators;
+import main.java.com.filippovich.arrayapp.id.impl.UuidAdapter;
+
+import java.lang.ref.Cleaner;
+import java.util.Arrays;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Dictionary-encoded layout: words are stored as ids of the shared {@link WordDictionary}, so every
+ * occurrence of a word costs four bytes and equal words can be compared as ints. The array holds a
+ * dictionary reference per word, released once the array is garbage-collected.
+ */
+public class EncodedStringArrayImpl implements StringArray {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final long key;
+    private final WordDictionary dictionary;
+    private final int[] wordIds;
+    private final int minLength;
+    private final int maxLength;
+    private final int totalLength;
+
+    public EncodedStringArrayImpl(String[] array) {
+        this(IdGenerators.nextId(), array, WordDictionaryImpl.getInstance());
+    }
+
+    EncodedStringArrayImpl(long key, String[] array, WordDictionary dictionary) {
+        this.key = key;
+        this.dictionary = dictionary;
+        String[] words = array != null ? array : new String[0];
+        this.wordIds = dictionary.acquire(words);
+        int[] acquired = wordIds;
+        CLEANER.register(this, () -> dictionary.release(acquired));
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        int total = 0;
+        for (String word : words) {
+            int length = word.length();
+            min = Math.min(min, length);
+            max = Math.max(max, length);
+            total += length;
+        }
+        this.minLength = words.length > 0 ? min : 0;
+        this.maxLength = max;
+        this.totalLength = total;
+    }
+
+    @Override
+    public long getKey() {
+        return key;
+    }
+
+    @Override
+    public UUID getId() {
+        return UuidAdapter.toUuid(key);
+    }
+
+    @Override
+    public String[] getArray() {
+        String[] words = new String[wordIds.length];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = dictionary.wordOf(wordIds[i]);
+        }
+        return words;
+    }
+
+    @Override
+    public int length() {
+        return wordIds.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return wordIds.length == 0;
+    }
+
+    @Override
+    public String get(int index) {
+        return dictionary.wordOf(wordIds[index]);
+    }
+
+    @Override
+    public int lengthAt(int index) {
+        return dictionary.lengthOf(wordIds[index]);
+    }
+
+    @Override
+    public CharSequence view(int index) {
+        return get(index);
+    }
+
+    @Override
+    public void forEach(Consumer<? super CharSequence> action) {
+        for (int wordId : wordIds) {
+            action.accept(dictionary.wordOf(wordId));
+        }
+    }
+
+    @Override
+    public IntStream lengths() {
+        return Arrays.stream(wordIds).map(dictionary::lengthOf);
+    }
+
+    @Override
+    public int getMinLength() {
+        return minLength;
+    }
+
+    @Override
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    @Override
+    public int getTotalLength() {
+        return totalLength;
+    }
+
+    public int idAt(int index) {
+        return wordIds[index];
+    }
+
+    public IntStream wordIds() {
+        return Arrays.stream(wordIds);
+    }
+
+    public WordDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Number of occurrences of {@code word}; a word unknown to the dictionary cannot occur in any array.
+     */
+    public int countOf(String word) {
+        int wordId = dictionary.lookup(word);
+        if (wordId == WordDictionary.NOT_FOUND) {
+            return 0;
+        }
+        int count = 0;
+        for (int id : wordIds) {
+            if (id == wordId) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner words = new StringJoiner(", ", "[", "]");
+        forEach(words::add);
+        return "EncodedStringArrayImpl{" +
+                "key=" + key +
+                ", array=" + words +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EncodedStringArrayImpl that = (EncodedStringArrayImpl) o;
+        return key == that.key;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(key);
+    }
+}
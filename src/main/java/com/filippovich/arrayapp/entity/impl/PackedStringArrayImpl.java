@@ -0,0 +1,192 @@
+package main.java.com.filippovich.arrayapp.entity.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.id.impl.IdGenerators;
+import main.java.com.filippovich.arrayapp.id.impl.UuidAdapter;
+
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Columnar layout: the characters of all words are packed into one {@code char[]} and word {@code i} spans
+ * {@code [offsets[i], offsets[i + 1])}. Indexed reads, views and length queries never copy the buffer and
+ * need two objects per array instead of one {@code String} per word.
+ */
+public class PackedStringArrayImpl implements StringArray {
+
+    private final long key;
+    private final char[] chars;
+    private final int[] offsets;
+    private final int minLength;
+    private final int maxLength;
+
+    public PackedStringArrayImpl(String[] array) {
+        this(IdGenerators.nextId(), array);
+    }
+
+    PackedStringArrayImpl(long key, String[] array) {
+        this.key = key;
+        String[] words = array != null ? array : new String[0];
+        this.offsets = new int[words.length + 1];
+        int total = 0;
+        for (int i = 0; i < words.length; i++) {
+            total += words[i].length();
+            offsets[i + 1] = total;
+        }
+        this.chars = new char[total];
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int i = 0; i < words.length; i++) {
+            words[i].getChars(0, words[i].length(), chars, offsets[i]);
+            min = Math.min(min, words[i].length());
+            max = Math.max(max, words[i].length());
+        }
+        this.minLength = words.length > 0 ? min : 0;
+        this.maxLength = max;
+    }
+
+    @Override
+    public long getKey() {
+        return key;
+    }
+
+    @Override
+    public UUID getId() {
+        return UuidAdapter.toUuid(key);
+    }
+
+    @Override
+    public String[] getArray() {
+        String[] words = new String[length()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = get(i);
+        }
+        return words;
+    }
+
+    @Override
+    public int length() {
+        return offsets.length - 1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length() == 0;
+    }
+
+    @Override
+    public String get(int index) {
+        checkIndex(index);
+        return new String(chars, offsets[index], offsets[index + 1] - offsets[index]);
+    }
+
+    @Override
+    public int lengthAt(int index) {
+        checkIndex(index);
+        return offsets[index + 1] - offsets[index];
+    }
+
+    @Override
+    public CharSequence view(int index) {
+        checkIndex(index);
+        return new WordView(chars, offsets[index], offsets[index + 1]);
+    }
+
+    @Override
+    public void forEach(Consumer<? super CharSequence> action) {
+        for (int i = 0; i < length(); i++) {
+            action.accept(new WordView(chars, offsets[i], offsets[i + 1]));
+        }
+    }
+
+    @Override
+    public IntStream lengths() {
+        return IntStream.range(0, length()).map(i -> offsets[i + 1] - offsets[i]);
+    }
+
+    @Override
+    public int getMinLength() {
+        return minLength;
+    }
+
+    @Override
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    @Override
+    public int getTotalLength() {
+        return chars.length;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length());
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner words = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < length(); i++) {
+            words.add(view(i));
+        }
+        return "PackedStringArrayImpl{" +
+                "key=" + key +
+                ", array=" + words +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PackedStringArrayImpl that = (PackedStringArrayImpl) o;
+        return key == that.key;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(key);
+    }
+
+    private static final class WordView implements CharSequence {
+        private final char[] chars;
+        private final int start;
+        private final int end;
+
+        private WordView(char[] chars, int start, int end) {
+            this.chars = chars;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length());
+            }
+            return chars[start + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > length() || from > to) {
+                throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length());
+            }
+            return new WordView(chars, start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, start, end - start);
+        }
+    }
+}
@@ -1,23 +1,54 @@
 package main.java.com.filippovich.arrayapp.entity.impl;
 
 import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.id.impl.IdGenerators;
+import main.java.com.filippovich.arrayapp.id.impl.UuidAdapter;
 
 import java.util.Arrays;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 public class StringArrayImpl implements StringArray {
 
-    private final UUID id;
+    private final long key;
     private final String[] array;
+    private final int[] lengths;
+    private final int minLength;
+    private final int maxLength;
+    private final int totalLength;
 
     public StringArrayImpl(String[] array) {
-        this.id = UUID.randomUUID();
+        this(IdGenerators.nextId(), array);
+    }
+
+    StringArrayImpl(long key, String[] array) {
+        this.key = key;
         this.array = array != null ? array.clone() : new String[0];
+        this.lengths = new int[this.array.length];
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        int total = 0;
+        for (int i = 0; i < lengths.length; i++) {
+            int length = this.array[i].length();
+            lengths[i] = length;
+            min = Math.min(min, length);
+            max = Math.max(max, length);
+            total += length;
+        }
+        this.minLength = lengths.length > 0 ? min : 0;
+        this.maxLength = max;
+        this.totalLength = total;
+    }
+
+    @Override
+    public long getKey() {
+        return key;
     }
 
     @Override
     public UUID getId() {
-        return id;
+        return UuidAdapter.toUuid(key);
     }
 
     @Override
@@ -35,10 +66,52 @@ public class StringArrayImpl implements StringArray {
         return array.length == 0;
     }
 
+    @Override
+    public String get(int index) {
+        return array[index];
+    }
+
+    @Override
+    public int lengthAt(int index) {
+        return lengths[index];
+    }
+
+    @Override
+    public CharSequence view(int index) {
+        return array[index];
+    }
+
+    @Override
+    public void forEach(Consumer<? super CharSequence> action) {
+        for (String word : array) {
+            action.accept(word);
+        }
+    }
+
+    @Override
+    public IntStream lengths() {
+        return Arrays.stream(lengths);
+    }
+
+    @Override
+    public int getMinLength() {
+        return minLength;
+    }
+
+    @Override
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    @Override
+    public int getTotalLength() {
+        return totalLength;
+    }
+
     @Override
     public String toString() {
         return "StringArrayImpl{" +
-                "id=" + id +
+                "key=" + key +
                 ", array=" + Arrays.toString(array) +
                 '}';
     }
@@ -48,11 +121,11 @@ public class StringArrayImpl implements StringArray {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         StringArrayImpl that = (StringArrayImpl) o;
-        return id.equals(that.id);
+        return key == that.key;
     }
 
     @Override
     public int hashCode() {
-        return id.hashCode();
+        return Long.hashCode(key);
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package main.java.com.filippovich.arrayapp.exception;
+
+public class SnapshotException extends Exception {
+    public SnapshotException(String message) {
+        super(message);
+    }
+
+    public SnapshotException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
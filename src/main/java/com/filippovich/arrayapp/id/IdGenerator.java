@@ -0,0 +1,15 @@
+package main.java.com.filippovich.arrayapp.id;
+
+public interface IdGenerator {
+
+    /**
+     * Returns a new id, unique among all ids returned by this generator and not below any observed key.
+     */
+    long nextId();
+
+    /**
+     * Makes sure ids generated from now on never collide with {@code existingKey}, e.g. one restored
+     * from a snapshot.
+     */
+    void observe(long existingKey);
+}
@@ -0,0 +1,35 @@
+package main.java.com.filippovich.arrayapp.id.impl;
+
+import main.java.com.filippovich.arrayapp.id.IdGenerator;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Holds the generator used for new entities. Time-ordered ids are the default because they stay unique
+ * across restarts without restoring any state.
+ */
+public final class IdGenerators {
+    private static final Logger logger = LoggerUtil.getLogger(IdGenerators.class);
+
+    private static volatile IdGenerator defaultGenerator = new TimeOrderedIdGenerator();
+
+    private IdGenerators() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    public static IdGenerator getDefault() {
+        return defaultGenerator;
+    }
+
+    public static void setDefault(IdGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("Id generator cannot be null");
+        }
+        logger.info("Switching id generator to {}", generator.getClass().getSimpleName());
+        defaultGenerator = generator;
+    }
+
+    public static long nextId() {
+        return defaultGenerator.nextId();
+    }
+}
@@ -0,0 +1,49 @@
+package main.java.com.filippovich.arrayapp.id.impl;
+
+import main.java.com.filippovich.arrayapp.id.IdGenerator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Hands out ids from a set of counters, one assigned round-robin to each thread on its first id: stripe {@code s} produces
+ * {@code s + 1, s + 1 + n, s + 1 + 2n, ...} for {@code n} stripes, so ids never collide and each stripe is
+ * monotonic. Counters are spaced a cache line apart so threads on different stripes do not contend.
+ * Ids start again from the bottom after a restart unless restored keys are {@link #observe observed}.
+ */
+public final class StripedCounterIdGenerator implements IdGenerator {
+    private static final int PADDING = 8;
+
+    private final int stripes;
+    private final AtomicLongArray counters;
+    private final AtomicInteger nextStripe = new AtomicInteger();
+    private final ThreadLocal<Integer> stripe;
+
+    public StripedCounterIdGenerator() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public StripedCounterIdGenerator(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + stripes);
+        }
+        this.stripes = stripes;
+        this.counters = new AtomicLongArray(stripes * PADDING);
+        this.stripe = ThreadLocal.withInitial(() -> Math.floorMod(nextStripe.getAndIncrement(), stripes));
+    }
+
+    @Override
+    public long nextId() {
+        int threadStripe = stripe.get();
+        long sequence = counters.getAndIncrement(threadStripe * PADDING);
+        return sequence * stripes + threadStripe + 1;
+    }
+
+    @Override
+    public void observe(long existingKey) {
+        long minimumSequence = Math.max(0, existingKey - 1) / stripes + 1;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            counters.accumulateAndGet(stripe * PADDING, minimumSequence, Math::max);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package main.java.com.filippovich.arrayapp.id.impl;
+
+import main.java.com.filippovich.arrayapp.id.IdGenerator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 64-bit time-ordered ids: 41 bits of milliseconds since {@link #EPOCH}, 10 bits of node id and a 12-bit
+ * sequence within the millisecond. When a millisecond's sequence is exhausted, or the clock moves
+ * backwards, the generator borrows the next millisecond instead of waiting, so ids stay strictly increasing
+ * and survive restarts without coordination.
+ */
+public final class TimeOrderedIdGenerator implements IdGenerator {
+    public static final long EPOCH = 1_704_067_200_000L;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final AtomicLong last = new AtomicLong();
+
+    public TimeOrderedIdGenerator() {
+        this(0);
+    }
+
+    public TimeOrderedIdGenerator(long node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be in [0, " + MAX_NODE + "]: " + node);
+        }
+        this.node = node;
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            long previous = last.get();
+            long previousMillis = previous >>> SEQUENCE_BITS;
+            long now = System.currentTimeMillis() - EPOCH;
+
+            long next;
+            if (now > previousMillis) {
+                next = now << SEQUENCE_BITS;
+            } else if ((previous & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = previous + 1;
+            } else {
+                next = (previousMillis + 1) << SEQUENCE_BITS;
+            }
+
+            if (last.compareAndSet(previous, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    @Override
+    public void observe(long existingKey) {
+        long millis = existingKey >>> (NODE_BITS + SEQUENCE_BITS);
+        long sequence = existingKey & SEQUENCE_MASK;
+        last.accumulateAndGet((millis << SEQUENCE_BITS) | sequence, Math::max);
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+}
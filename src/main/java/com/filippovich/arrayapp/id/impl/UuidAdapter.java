@@ -0,0 +1,30 @@
+package main.java.com.filippovich.arrayapp.id.impl;
+
+import java.util.UUID;
+
+/**
+ * Maps the 64-bit entity keys to and from {@link UUID} for callers that still work with UUIDs:
+ * the key is carried in the least significant bits under a fixed most significant half.
+ */
+public final class UuidAdapter {
+    public static final long MOST_SIGNIFICANT_BITS = 0L;
+
+    private UuidAdapter() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    public static UUID toUuid(long key) {
+        return new UUID(MOST_SIGNIFICANT_BITS, key);
+    }
+
+    public static boolean isAdapted(UUID id) {
+        return id != null && id.getMostSignificantBits() == MOST_SIGNIFICANT_BITS;
+    }
+
+    public static long toKey(UUID id) {
+        if (!isAdapted(id)) {
+            throw new IllegalArgumentException("Not an entity key: " + id);
+        }
+        return id.getLeastSignificantBits();
+    }
+}
@@ -0,0 +1,35 @@
+package main.java.com.filippovich.arrayapp.index;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maps words to the keys of the stored arrays containing them. Key arrays are returned in ascending order.
+ */
+public interface WordIndex {
+
+    enum Match {
+        EXACT,
+        IGNORE_CASE
+    }
+
+    long[] keysContaining(String word, Match match);
+
+    /**
+     * Keys of arrays containing every one of {@code words}.
+     */
+    long[] keysContainingAll(Collection<String> words, Match match);
+
+    /**
+     * Keys of arrays containing at least one of {@code words}.
+     */
+    long[] keysContainingAny(Collection<String> words, Match match);
+
+    List<StringArray> findContainingAll(Collection<String> words, Match match);
+
+    List<StringArray> findContainingAny(Collection<String> words, Match match);
+
+    int distinctWords(Match match);
+}
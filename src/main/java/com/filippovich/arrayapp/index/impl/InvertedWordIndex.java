@@ -0,0 +1,250 @@
+package main.java.com.filippovich.arrayapp.index.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.index.WordIndex;
+import main.java.com.filippovich.arrayapp.observer.Observer;
+import main.java.com.filippovich.arrayapp.observer.impl.BufferedObserver;
+import main.java.com.filippovich.arrayapp.repository.StringArrayRepository;
+import main.java.com.filippovich.arrayapp.repository.impl.StringArrayRepositoryImpl;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index over the repository, kept current from its ADD and REMOVE events. Every word maps to a
+ * compressed {@link PostingList} of array keys, once as written and once case-folded. Arrays evicted from a
+ * bounded repository are unindexed and indexed again if they are faulted back in.
+ */
+public final class InvertedWordIndex implements WordIndex, Observer {
+    private static final Logger logger = LoggerUtil.getLogger(InvertedWordIndex.class);
+    private static final long[] NO_KEYS = new long[0];
+
+    private static InvertedWordIndex instance;
+
+    private final StringArrayRepository repository;
+    private final Map<String, PostingList> exact = new ConcurrentHashMap<>();
+    private final Map<String, PostingList> folded = new ConcurrentHashMap<>();
+
+    private InvertedWordIndex(StringArrayRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Creates the index on first use, registers it with the repository and indexes the arrays already stored.
+     * Events published while those are indexed are replayed afterwards.
+     */
+    public static synchronized InvertedWordIndex getInstance() {
+        if (instance == null) {
+            StringArrayRepositoryImpl repository = StringArrayRepositoryImpl.getInstance();
+            InvertedWordIndex index = new InvertedWordIndex(repository);
+            BufferedObserver registration = new BufferedObserver(index);
+            repository.addObserver(registration);
+            List<StringArray> existing = repository.findAll();
+            existing.forEach(index::index);
+            registration.release();
+            instance = index;
+            logger.info("Inverted word index registered with Repository, {} arrays indexed.", existing.size());
+        }
+        return instance;
+    }
+
+    @Override
+    public void handleEvent(StringArray array, String eventType) {
+        if (array == null) return;
+
+        switch (eventType) {
+            case "ADD":
+            case "LOAD":
+                index(array);
+                break;
+            case "REMOVE":
+            case "EVICT":
+                unindex(array);
+                break;
+            default:
+                logger.warn("Unknown event type: {}", eventType);
+        }
+    }
+
+    private void index(StringArray array) {
+        long key = array.getKey();
+        for (String word : distinctWords(array)) {
+            index(exact, word, key);
+            index(folded, fold(word), key);
+        }
+    }
+
+    private static void index(Map<String, PostingList> postings, String word, long key) {
+        postings.compute(word, (w, posting) -> {
+            PostingList target = posting != null ? posting : new PostingList();
+            target.add(key);
+            return target;
+        });
+    }
+
+    private void unindex(StringArray array) {
+        long key = array.getKey();
+        for (String word : distinctWords(array)) {
+            unindex(exact, word, key);
+            unindex(folded, fold(word), key);
+        }
+    }
+
+    /**
+     * Postings are only changed inside {@code compute} calls, so dropping an emptied list cannot race with an
+     * insert into it.
+     */
+    private static void unindex(Map<String, PostingList> postings, String word, long key) {
+        postings.computeIfPresent(word, (w, posting) -> {
+            posting.remove(key);
+            return posting.isEmpty() ? null : posting;
+        });
+    }
+
+    private static Set<String> distinctWords(StringArray array) {
+        Set<String> words = new HashSet<>();
+        for (int i = 0; i < array.length(); i++) {
+            words.add(array.get(i));
+        }
+        return words;
+    }
+
+    private static String fold(String word) {
+        return word.toLowerCase(Locale.ROOT);
+    }
+
+    private PostingList posting(String word, Match match) {
+        return match == Match.IGNORE_CASE ? folded.get(fold(word)) : exact.get(word);
+    }
+
+    @Override
+    public long[] keysContaining(String word, Match match) {
+        PostingList posting = posting(word, match);
+        return posting != null ? posting.toArray() : NO_KEYS;
+    }
+
+    /**
+     * Intersects the posting lists by leapfrogging cursors from the shortest list: each candidate is sought in
+     * the longer lists, and a miss skips the shorter one ahead, so no list is decoded past the last match.
+     */
+    @Override
+    public long[] keysContainingAll(Collection<String> words, Match match) {
+        if (words.isEmpty()) {
+            return NO_KEYS;
+        }
+        List<PostingList.Cursor> cursors = new ArrayList<>(words.size());
+        for (String word : words) {
+            PostingList posting = posting(word, match);
+            if (posting == null) {
+                return NO_KEYS;
+            }
+            cursors.add(posting.cursor());
+        }
+        cursors.sort(Comparator.comparingInt(PostingList.Cursor::sizeEstimate));
+        return intersect(cursors);
+    }
+
+    @Override
+    public long[] keysContainingAny(Collection<String> words, Match match) {
+        long[] result = NO_KEYS;
+        for (String word : words) {
+            PostingList posting = posting(word, match);
+            if (posting != null) {
+                result = union(result, posting.toArray());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<StringArray> findContainingAll(Collection<String> words, Match match) {
+        return resolve(keysContainingAll(words, match));
+    }
+
+    @Override
+    public List<StringArray> findContainingAny(Collection<String> words, Match match) {
+        return resolve(keysContainingAny(words, match));
+    }
+
+    private List<StringArray> resolve(long[] keys) {
+        List<StringArray> arrays = new ArrayList<>(keys.length);
+        for (long key : keys) {
+            repository.findByKey(key).ifPresent(arrays::add);
+        }
+        return arrays;
+    }
+
+    @Override
+    public int distinctWords(Match match) {
+        return match == Match.IGNORE_CASE ? folded.size() : exact.size();
+    }
+
+    /**
+     * Total bytes of encoded postings in both maps, not counting the pending buffers.
+     */
+    public long encodedBytes() {
+        long total = 0;
+        for (PostingList posting : exact.values()) {
+            total += posting.encodedBytes();
+        }
+        for (PostingList posting : folded.values()) {
+            total += posting.encodedBytes();
+        }
+        return total;
+    }
+
+    private static long[] intersect(List<PostingList.Cursor> cursors) {
+        PostingList.Cursor lead = cursors.get(0);
+        long[] result = new long[lead.sizeEstimate()];
+        int size = 0;
+        boolean more = lead.next();
+        while (more) {
+            long candidate = lead.key();
+            long found = candidate;
+            for (int i = 1; i < cursors.size() && found == candidate; i++) {
+                PostingList.Cursor other = cursors.get(i);
+                if (!other.seek(candidate)) {
+                    return Arrays.copyOf(result, size);
+                }
+                found = other.key();
+            }
+            if (found == candidate) {
+                result[size++] = candidate;
+                more = lead.next();
+            } else {
+                more = lead.seek(found);
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static long[] union(long[] a, long[] b) {
+        long[] result = new long[a.length + b.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            long next;
+            if (j >= b.length || i < a.length && a[i] < b[j]) {
+                next = a[i++];
+            } else if (i >= a.length || b[j] < a[i]) {
+                next = b[j++];
+            } else {
+                next = a[i++];
+                j++;
+            }
+            result[size++] = next;
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
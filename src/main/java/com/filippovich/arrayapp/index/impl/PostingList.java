@@ -0,0 +1,281 @@
+package main.java.com.filippovich.arrayapp.index.impl;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of array keys stored as varint-encoded deltas. Keys larger than every encoded key are appended
+ * in place; other inserts wait in a small sorted buffer and removals of encoded keys are kept as tombstones.
+ * Both are folded into the encoded block once either buffer fills up. Encoded bytes are never changed in
+ * place, only appended to or replaced by a new block, so a {@link Cursor} can decode them lazily without
+ * holding the lock.
+ */
+final class PostingList {
+    private static final int BUFFER_LIMIT = 64;
+
+    private byte[] data = new byte[8];
+    private int bytes;
+    private int encoded;
+    private long last;
+
+    private long[] pending = new long[4];
+    private int pendingCount;
+    private long[] removed = new long[4];
+    private int removedCount;
+
+    synchronized void add(long key) {
+        removedCount = delete(removed, removedCount, key);
+        if (pendingCount == 0 && (encoded == 0 || key > last)) {
+            append(key);
+            return;
+        }
+        int index = search(pending, pendingCount, key);
+        if (index >= 0) {
+            return;
+        }
+        pending = insertAt(pending, pendingCount, -index - 1, key);
+        pendingCount++;
+        if (pendingCount >= BUFFER_LIMIT) {
+            compact();
+        }
+    }
+
+    synchronized void remove(long key) {
+        pendingCount = delete(pending, pendingCount, key);
+        if (encoded == 0 || key > last) {
+            return;
+        }
+        int index = search(removed, removedCount, key);
+        if (index >= 0) {
+            return;
+        }
+        removed = insertAt(removed, removedCount, -index - 1, key);
+        removedCount++;
+        if (removedCount >= BUFFER_LIMIT) {
+            compact();
+        }
+    }
+
+    synchronized boolean isEmpty() {
+        if (pendingCount > 0) {
+            return false;
+        }
+        if (removedCount >= encoded && removedCount > 0) {
+            compact();
+        }
+        return encoded == 0;
+    }
+
+    synchronized long[] toArray() {
+        return merge(decode(), pending, pendingCount, removed, removedCount);
+    }
+
+    /**
+     * Cursor over the keys present now, in ascending order.
+     */
+    synchronized Cursor cursor() {
+        return new Cursor(data, encoded, Arrays.copyOf(pending, pendingCount), Arrays.copyOf(removed, removedCount));
+    }
+
+    /**
+     * Upper bound of the number of keys, used to order intersections.
+     */
+    synchronized int sizeEstimate() {
+        return encoded + pendingCount;
+    }
+
+    synchronized int encodedBytes() {
+        return bytes;
+    }
+
+    private void append(long key) {
+        long delta = encoded == 0 ? key : key - last;
+        if (bytes + 10 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length << 1, bytes + 10));
+        }
+        while ((delta & ~0x7FL) != 0) {
+            data[bytes++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        data[bytes++] = (byte) delta;
+        last = key;
+        encoded++;
+    }
+
+    private long[] decode() {
+        long[] keys = new long[encoded];
+        long value = 0;
+        int position = 0;
+        for (int i = 0; i < encoded; i++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += delta;
+            keys[i] = value;
+        }
+        return keys;
+    }
+
+    private void compact() {
+        long[] keys = toArray();
+        data = new byte[Math.max(8, bytes)];
+        bytes = 0;
+        encoded = 0;
+        last = 0;
+        for (long key : keys) {
+            append(key);
+        }
+        pendingCount = 0;
+        removedCount = 0;
+    }
+
+    /**
+     * Merges the encoded keys with the pending ones, dropping duplicates and tombstoned keys.
+     */
+    private static long[] merge(long[] base, long[] extra, int extraCount, long[] dropped, int droppedCount) {
+        long[] result = new long[base.length + extraCount];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        int d = 0;
+        while (i < base.length || j < extraCount) {
+            long next = j >= extraCount || i < base.length && base[i] <= extra[j] ? base[i++] : extra[j++];
+            if (size > 0 && result[size - 1] == next) {
+                continue;
+            }
+            while (d < droppedCount && dropped[d] < next) {
+                d++;
+            }
+            if (d < droppedCount && dropped[d] == next) {
+                continue;
+            }
+            result[size++] = next;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private static int search(long[] keys, int count, long key) {
+        return Arrays.binarySearch(keys, 0, count, key);
+    }
+
+    private static long[] insertAt(long[] keys, int count, int index, long key) {
+        long[] target = count == keys.length ? Arrays.copyOf(keys, count << 1) : keys;
+        System.arraycopy(keys, index, target, index + 1, count - index);
+        target[index] = key;
+        return target;
+    }
+
+    private static int delete(long[] keys, int count, long key) {
+        int index = search(keys, count, key);
+        if (index < 0) {
+            return count;
+        }
+        System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+        return count - 1;
+    }
+
+    /**
+     * Merges the encoded keys, decoded one at a time, with the pending ones, skipping tombstoned keys.
+     */
+    static final class Cursor {
+        private final byte[] data;
+        private final int encoded;
+        private final long[] pending;
+        private final long[] removed;
+
+        private int position;
+        private int decoded;
+        private long value;
+        private int removedIndex;
+        private int pendingIndex;
+        private boolean hasEncoded;
+        private long encodedHead;
+        private boolean positioned;
+        private long key;
+
+        private Cursor(byte[] data, int encoded, long[] pending, long[] removed) {
+            this.data = data;
+            this.encoded = encoded;
+            this.pending = pending;
+            this.removed = removed;
+            this.hasEncoded = decodeNext();
+        }
+
+        /**
+         * Upper bound of the keys the cursor returns.
+         */
+        int sizeEstimate() {
+            return encoded + pending.length;
+        }
+
+        long key() {
+            return key;
+        }
+
+        /**
+         * Moves past the current key; returns {@code false} once the keys are exhausted.
+         */
+        boolean next() {
+            boolean hasPending = pendingIndex < pending.length;
+            if (!hasEncoded && !hasPending) {
+                positioned = false;
+                return false;
+            }
+            if (hasEncoded && (!hasPending || encodedHead <= pending[pendingIndex])) {
+                key = encodedHead;
+                if (hasPending && pending[pendingIndex] == key) {
+                    pendingIndex++;
+                }
+                hasEncoded = decodeNext();
+            } else {
+                key = pending[pendingIndex++];
+            }
+            positioned = true;
+            return true;
+        }
+
+        /**
+         * Moves to the first key not less than {@code target}, staying put if the current key qualifies;
+         * returns {@code false} if there is none.
+         */
+        boolean seek(long target) {
+            if (positioned && key >= target) {
+                return true;
+            }
+            while (hasEncoded && encodedHead < target) {
+                hasEncoded = decodeNext();
+            }
+            int index = Arrays.binarySearch(pending, pendingIndex, pending.length, target);
+            pendingIndex = index >= 0 ? index : -index - 1;
+            return next();
+        }
+
+        private boolean decodeNext() {
+            while (decoded < encoded) {
+                long delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    delta |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                value += delta;
+                decoded++;
+                while (removedIndex < removed.length && removed[removedIndex] < value) {
+                    removedIndex++;
+                }
+                if (removedIndex < removed.length && removed[removedIndex] == value) {
+                    continue;
+                }
+                encodedHead = value;
+                return true;
+            }
+            return false;
+        }
+    }
+}
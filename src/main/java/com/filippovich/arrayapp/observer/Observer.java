@@ -2,6 +2,18 @@ package main.java.com.filippovich.arrayapp.observer;
 
 import main.java.com.filippovich.arrayapp.entity.StringArray;
 
+import java.util.List;
+
 public interface Observer {
     void handleEvent(StringArray array, String eventType);
+
+    /**
+     * Receives one event for a whole batch of arrays. Observers that can do better than handling the
+     * arrays one by one override it.
+     */
+    default void handleEvents(List<? extends StringArray> arrays, String eventType) {
+        for (StringArray array : arrays) {
+            handleEvent(array, eventType);
+        }
+    }
 }
\ No newline at end of file
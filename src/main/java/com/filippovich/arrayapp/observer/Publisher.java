@@ -2,8 +2,11 @@ package main.java.com.filippovich.arrayapp.observer;
 
 import main.java.com.filippovich.arrayapp.entity.StringArray;
 
+import java.util.List;
+
 public interface Publisher {
     void addObserver(Observer o);
     void removeObserver(Observer o);
     void notifyObservers(StringArray array, String eventType);
+    void notifyObservers(List<? extends StringArray> arrays, String eventType);
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package main.java.com.filippovich.arrayapp.observer.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.observer.Observer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers an observer before it is back-filled from the publisher's current contents. Events published
+ * until {@link #release()} are held back; {@code release} replays them in order and then lets later events
+ * straight through, so a change made while the back-fill ran is applied after it rather than lost.
+ */
+public final class BufferedObserver implements Observer {
+    private final Observer target;
+    private List<Runnable> buffered = new ArrayList<>();
+    private volatile boolean released;
+
+    public BufferedObserver(Observer target) {
+        this.target = target;
+    }
+
+    public Observer getTarget() {
+        return target;
+    }
+
+    @Override
+    public void handleEvent(StringArray array, String eventType) {
+        if (!released && buffer(() -> target.handleEvent(array, eventType))) {
+            return;
+        }
+        target.handleEvent(array, eventType);
+    }
+
+    @Override
+    public void handleEvents(List<? extends StringArray> arrays, String eventType) {
+        if (!released && buffer(() -> target.handleEvents(arrays, eventType))) {
+            return;
+        }
+        target.handleEvents(arrays, eventType);
+    }
+
+    private synchronized boolean buffer(Runnable event) {
+        if (released) {
+            return false;
+        }
+        buffered.add(event);
+        return true;
+    }
+
+    /**
+     * Replays the held-back events; events published meanwhile wait and are delivered after them.
+     */
+    public synchronized void release() {
+        if (released) {
+            return;
+        }
+        for (Runnable event : buffered) {
+            event.run();
+        }
+        buffered = null;
+        released = true;
+    }
+}
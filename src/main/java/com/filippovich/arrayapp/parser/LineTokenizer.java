@@ -0,0 +1,13 @@
+package main.java.com.filippovich.arrayapp.parser;
+
+import main.java.com.filippovich.arrayapp.parser.impl.TokenizedLine;
+
+import java.nio.ByteBuffer;
+
+public interface LineTokenizer {
+    TokenizedLine tokenize(CharSequence line);
+
+    TokenizedLine tokenize(ByteBuffer buffer, int from, int to);
+
+    boolean isWord(CharSequence str);
+}
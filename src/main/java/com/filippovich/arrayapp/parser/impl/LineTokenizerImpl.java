@@ -0,0 +1,181 @@
+package main.java.com.filippovich.arrayapp.parser.impl;
+
+import main.java.com.filippovich.arrayapp.parser.LineTokenizer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Single-pass tokenizer equivalent to splitting by {@code DELIMITER_REGEX}, trimming each part
+ * and matching it against {@code WORD_REGEX}, driven by a precomputed character class table.
+ */
+public final class LineTokenizerImpl implements LineTokenizer {
+
+    static final byte OTHER = 0;
+    static final byte WORD = 1;
+    static final byte DELIMITER = 2;
+    static final byte TRIMMABLE = 3;
+    static final byte CYRILLIC_LEAD = 4;
+
+    private static final byte[] CHAR_CLASS = new byte['я' + 1];
+    private static final byte[] BYTE_CLASS = new byte[256];
+
+    static {
+        for (char c = 0; c <= ' '; c++) {
+            CHAR_CLASS[c] = TRIMMABLE;
+        }
+        for (char c : new char[]{',', ';', '-', ' ', '\t', '\n', '\u000B', '\f', '\r'}) {
+            CHAR_CLASS[c] = DELIMITER;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            CHAR_CLASS[c] = WORD;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            CHAR_CLASS[c] = WORD;
+        }
+        for (char c = 'А'; c <= 'я'; c++) {
+            CHAR_CLASS[c] = WORD;
+        }
+
+        System.arraycopy(CHAR_CLASS, 0, BYTE_CLASS, 0, 0x80);
+        BYTE_CLASS[0xD0] = CYRILLIC_LEAD;
+        BYTE_CLASS[0xD1] = CYRILLIC_LEAD;
+    }
+
+    // UTF-8 of 'А'..'п' is D0 90..D0 BF, of 'р'..'я' is D1 80..D1 8F
+    private static boolean isCyrillicLetter(int lead, int next) {
+        return lead == 0xD0 ? next >= 0x90 && next <= 0xBF : next >= 0x80 && next <= 0x8F;
+    }
+
+    static byte classOf(char c) {
+        return c < CHAR_CLASS.length ? CHAR_CLASS[c] : OTHER;
+    }
+
+    @Override
+    public TokenizedLine tokenize(CharSequence line) {
+        TokenizedLine result = new TokenizedLine(line);
+        if (line == null) {
+            return result;
+        }
+
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            char c = line.charAt(i);
+            byte cls = classOf(c);
+            if (c > ' ') {
+                result.markNotBlank();
+            }
+            if (cls == DELIMITER) {
+                i++;
+                continue;
+            }
+
+            int trimStart = -1;
+            int trimEnd = -1;
+            boolean valid = true;
+            boolean pendingTrimmable = false;
+
+            while (i < length) {
+                c = line.charAt(i);
+                cls = classOf(c);
+                if (cls == DELIMITER) {
+                    break;
+                }
+                if (cls == TRIMMABLE) {
+                    pendingTrimmable = trimStart >= 0;
+                } else {
+                    result.markNotBlank();
+                    if (trimStart < 0) {
+                        trimStart = i;
+                    }
+                    if (cls != WORD || pendingTrimmable) {
+                        valid = false;
+                    }
+                    pendingTrimmable = false;
+                    trimEnd = i + 1;
+                }
+                i++;
+            }
+
+            if (trimStart >= 0) {
+                result.addToken(trimStart, trimEnd, valid);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Same semantics as {@link #tokenize(CharSequence)} applied to the UTF-8 decoding of {@code [from, to)},
+     * but classifies bytes directly; only accepted words are ever turned into strings.
+     */
+    @Override
+    public TokenizedLine tokenize(ByteBuffer buffer, int from, int to) {
+        TokenizedLine result = new TokenizedLine(buffer, from, to);
+
+        int i = from;
+        while (i < to) {
+            int b = buffer.get(i) & 0xFF;
+            byte cls = BYTE_CLASS[b];
+            if (b > ' ') {
+                result.markNotBlank();
+            }
+            if (cls == DELIMITER) {
+                i++;
+                continue;
+            }
+
+            int trimStart = -1;
+            int trimEnd = -1;
+            boolean valid = true;
+            boolean pendingTrimmable = false;
+
+            while (i < to) {
+                b = buffer.get(i) & 0xFF;
+                cls = BYTE_CLASS[b];
+                if (cls == DELIMITER) {
+                    break;
+                }
+                if (cls == TRIMMABLE) {
+                    pendingTrimmable = trimStart >= 0;
+                    i++;
+                    continue;
+                }
+
+                result.markNotBlank();
+                if (trimStart < 0) {
+                    trimStart = i;
+                }
+                int width = 1;
+                if (cls == CYRILLIC_LEAD && i + 1 < to && isCyrillicLetter(b, buffer.get(i + 1) & 0xFF)) {
+                    width = 2;
+                } else if (cls != WORD) {
+                    valid = false;
+                }
+                if (pendingTrimmable) {
+                    valid = false;
+                }
+                pendingTrimmable = false;
+                i += width;
+                trimEnd = i;
+            }
+
+            if (trimStart >= 0) {
+                result.addToken(trimStart, trimEnd, valid);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isWord(CharSequence str) {
+        if (str == null || str.length() == 0) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (classOf(str.charAt(i)) != WORD) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
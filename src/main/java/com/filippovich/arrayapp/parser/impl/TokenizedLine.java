@@ -0,0 +1,116 @@
+package main.java.com.filippovich.arrayapp.parser.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public final class TokenizedLine {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private CharSequence source;
+    private final ByteBuffer byteSource;
+    private final int byteFrom;
+    private final int byteTo;
+    private int[] wordBounds = new int[INITIAL_CAPACITY * 2];
+    private int wordCount;
+    private int tokenCount;
+    private int firstInvalidTokenIndex = -1;
+    private int firstInvalidTokenOffset = -1;
+    private boolean blank = true;
+
+    TokenizedLine(CharSequence source) {
+        this.source = source;
+        this.byteSource = null;
+        this.byteFrom = 0;
+        this.byteTo = 0;
+    }
+
+    TokenizedLine(ByteBuffer byteSource, int from, int to) {
+        this.byteSource = byteSource;
+        this.byteFrom = from;
+        this.byteTo = to;
+    }
+
+    void markNotBlank() {
+        blank = false;
+    }
+
+    void addToken(int start, int end, boolean valid) {
+        if (valid) {
+            if (wordCount * 2 == wordBounds.length) {
+                wordBounds = Arrays.copyOf(wordBounds, wordBounds.length * 2);
+            }
+            wordBounds[wordCount * 2] = start;
+            wordBounds[wordCount * 2 + 1] = end;
+            wordCount++;
+        } else if (firstInvalidTokenIndex < 0) {
+            firstInvalidTokenIndex = tokenCount;
+            firstInvalidTokenOffset = start;
+        }
+        tokenCount++;
+    }
+
+    public CharSequence getSource() {
+        if (source == null && byteSource != null) {
+            source = decode(byteFrom, byteTo, null);
+        }
+        return source;
+    }
+
+    public boolean isBlank() {
+        return blank;
+    }
+
+    public boolean hasValidWord() {
+        return wordCount > 0;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public int getTokenCount() {
+        return tokenCount;
+    }
+
+    public int wordStart(int index) {
+        return wordBounds[index * 2];
+    }
+
+    public int wordEnd(int index) {
+        return wordBounds[index * 2 + 1];
+    }
+
+    public int getFirstInvalidTokenIndex() {
+        return firstInvalidTokenIndex;
+    }
+
+    public int getFirstInvalidTokenOffset() {
+        return firstInvalidTokenOffset < 0 ? firstInvalidTokenOffset : firstInvalidTokenOffset - byteFrom;
+    }
+
+    public String[] getWords() {
+        String[] words = new String[wordCount];
+        if (byteSource != null) {
+            byte[] scratch = null;
+            for (int i = 0; i < wordCount; i++) {
+                int length = wordEnd(i) - wordStart(i);
+                if (scratch == null || scratch.length < length) {
+                    scratch = new byte[Math.max(length, 32)];
+                }
+                words[i] = decode(wordStart(i), wordEnd(i), scratch);
+            }
+            return words;
+        }
+        for (int i = 0; i < wordCount; i++) {
+            words[i] = source.subSequence(wordStart(i), wordEnd(i)).toString();
+        }
+        return words;
+    }
+
+    private String decode(int from, int to, byte[] scratch) {
+        byte[] bytes = scratch != null ? scratch : new byte[to - from];
+        byteSource.get(from, bytes, 0, to - from);
+        return new String(bytes, 0, to - from, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,29 @@
+package main.java.com.filippovich.arrayapp.persistence;
+
+import main.java.com.filippovich.arrayapp.exception.SnapshotException;
+
+/**
+ * Durable storage of the repository: a write-ahead log of every ADD and REMOVE plus periodic snapshots that
+ * bound how much log has to be replayed on start-up.
+ */
+public interface RepositoryPersistence extends AutoCloseable {
+
+    /**
+     * Restores the repository from the latest snapshot and the log written after it, then starts logging
+     * new changes. Returns the number of arrays restored.
+     */
+    int open() throws SnapshotException;
+
+    /**
+     * Writes a snapshot of every logged array, resident in the repository or not, and deletes the log
+     * segments it makes redundant.
+     */
+    void snapshot() throws SnapshotException;
+
+    long getAppendedRecords();
+
+    long getSyncCount();
+
+    @Override
+    void close() throws SnapshotException;
+}
@@ -0,0 +1,13 @@
+package main.java.com.filippovich.arrayapp.persistence;
+
+/**
+ * When appended log records are forced to the storage device.
+ */
+public enum SyncPolicy {
+    /** Every record is written and forced on its own before its writer continues. */
+    PER_OPERATION,
+    /** Records queued while the previous force ran are written together and forced once (group commit). */
+    PER_BATCH,
+    /** Records are handed to the operating system without forcing; a crash may lose the latest ones. */
+    NONE
+}
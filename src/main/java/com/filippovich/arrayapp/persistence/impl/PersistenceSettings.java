@@ -0,0 +1,86 @@
+package main.java.com.filippovich.arrayapp.persistence.impl;
+
+import main.java.com.filippovich.arrayapp.persistence.SyncPolicy;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+public final class PersistenceSettings {
+    private static final int DEFAULT_MAX_BATCH_RECORDS = 4096;
+    private static final long DEFAULT_SNAPSHOT_INTERVAL_MILLIS = 10 * 60 * 1000L;
+    private static final long DEFAULT_MAX_LOG_BYTES = 64L * 1024 * 1024;
+
+    private final Path directory;
+    private final SyncPolicy syncPolicy;
+    private final int maxBatchRecords;
+    private final long maxBatchDelayMillis;
+    private final long snapshotIntervalMillis;
+    private final long maxLogBytes;
+
+    /**
+     * @param maxBatchRecords        upper bound of records written per force under {@link SyncPolicy#PER_BATCH}
+     * @param maxBatchDelayMillis    how long a batch may wait for more records before it is forced; 0 forces
+     *                               whatever queued up during the previous force
+     * @param snapshotIntervalMillis period of background snapshots; 0 disables them
+     * @param maxLogBytes            log size that triggers a snapshot; 0 disables the trigger
+     */
+    public PersistenceSettings(Path directory, SyncPolicy syncPolicy, int maxBatchRecords, long maxBatchDelayMillis,
+                               long snapshotIntervalMillis, long maxLogBytes) {
+        if (maxBatchRecords <= 0 || maxBatchDelayMillis < 0 || snapshotIntervalMillis < 0 || maxLogBytes < 0) {
+            throw new IllegalArgumentException("Batch size must be positive and delays and limits non-negative");
+        }
+        this.directory = Objects.requireNonNull(directory, "directory");
+        this.syncPolicy = Objects.requireNonNull(syncPolicy, "syncPolicy");
+        this.maxBatchRecords = maxBatchRecords;
+        this.maxBatchDelayMillis = maxBatchDelayMillis;
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+        this.maxLogBytes = maxLogBytes;
+    }
+
+    public static PersistenceSettings defaults(Path directory) {
+        return new PersistenceSettings(directory, SyncPolicy.PER_BATCH, DEFAULT_MAX_BATCH_RECORDS, 0,
+                DEFAULT_SNAPSHOT_INTERVAL_MILLIS, DEFAULT_MAX_LOG_BYTES);
+    }
+
+    public PersistenceSettings withSyncPolicy(SyncPolicy syncPolicy) {
+        return new PersistenceSettings(directory, syncPolicy, maxBatchRecords, maxBatchDelayMillis,
+                snapshotIntervalMillis, maxLogBytes);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public SyncPolicy getSyncPolicy() {
+        return syncPolicy;
+    }
+
+    public int getMaxBatchRecords() {
+        return maxBatchRecords;
+    }
+
+    public long getMaxBatchDelayMillis() {
+        return maxBatchDelayMillis;
+    }
+
+    public long getSnapshotIntervalMillis() {
+        return snapshotIntervalMillis;
+    }
+
+    public long getMaxLogBytes() {
+        return maxLogBytes;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", PersistenceSettings.class.getSimpleName() + "[", "]")
+                .add("directory=" + directory)
+                .add("syncPolicy=" + syncPolicy)
+                .add("maxBatchRecords=" + maxBatchRecords)
+                .add("maxBatchDelayMillis=" + maxBatchDelayMillis)
+                .add("snapshotIntervalMillis=" + snapshotIntervalMillis)
+                .add("maxLogBytes=" + maxLogBytes)
+                .toString();
+    }
+}
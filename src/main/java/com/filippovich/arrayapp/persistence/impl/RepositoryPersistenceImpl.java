@@ -0,0 +1,320 @@
+package main.java.com.filippovich.arrayapp.persistence.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.entity.impl.ArrayFactory;
+import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
+import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
+import main.java.com.filippovich.arrayapp.exception.SnapshotException;
+import main.java.com.filippovich.arrayapp.persistence.RepositoryPersistence;
+import main.java.com.filippovich.arrayapp.repository.ChangeJournal;
+import main.java.com.filippovich.arrayapp.repository.impl.StringArrayRepositoryImpl;
+import main.java.com.filippovich.arrayapp.snapshot.impl.ArraySnapshotCodec;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import main.java.com.filippovich.arrayapp.util.LongKeyMap;
+import main.java.com.filippovich.arrayapp.warehouse.impl.Warehouse;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persists the repository as a snapshot plus write-ahead log segments in one directory. The repository logs
+ * each change through this {@link ChangeJournal} before applying it and refuses the change if the record
+ * cannot be written. The snapshot uses the {@link ArraySnapshotCodec} layout; its header carries the first log
+ * generation not covered by the snapshot and the time it was taken. A snapshot rotates the log, then folds
+ * the previous snapshot and the segments before the new generation into a new snapshot, so it holds every
+ * logged array, including arrays a bounded repository evicted or spilled. Changes logged later are in later
+ * segments; replaying a change the snapshot already contains is harmless.
+ * <p>
+ * Call {@link #open()} on start-up before anything else writes to the repository: changes made between
+ * start-up and {@code open} are not logged.
+ */
+public class RepositoryPersistenceImpl implements RepositoryPersistence, ChangeJournal {
+    private static final Logger logger = LoggerUtil.getLogger(RepositoryPersistenceImpl.class);
+    private static final String SNAPSHOT_FILE = "repository.snapshot";
+
+    private final PersistenceSettings settings;
+    private final StringArrayRepositoryImpl repository;
+    private final AtomicBoolean snapshotPending = new AtomicBoolean();
+
+    private volatile WriteAheadLog wal;
+    private ScheduledExecutorService scheduler;
+
+    public RepositoryPersistenceImpl(PersistenceSettings settings) {
+        this(settings, StringArrayRepositoryImpl.getInstance());
+    }
+
+    public RepositoryPersistenceImpl(PersistenceSettings settings, StringArrayRepositoryImpl repository) {
+        this.settings = settings;
+        this.repository = repository;
+    }
+
+    @Override
+    public synchronized int open() throws SnapshotException {
+        if (wal != null) {
+            throw new IllegalStateException("Persistence is already open");
+        }
+        Warehouse.getInstance();
+        Path directory = settings.getDirectory();
+        try {
+            Files.createDirectories(directory);
+            LongKeyMap<StringArrayImpl> state = new LongKeyMap<>();
+            long generation = loadSnapshot(state);
+            int replayed = 0;
+            for (Path segment : segments()) {
+                long segmentGeneration = WriteAheadLog.generationOf(segment);
+                if (segmentGeneration < generation) {
+                    Files.deleteIfExists(segment);
+                    continue;
+                }
+                replayed += replay(segment, state);
+                generation = segmentGeneration;
+            }
+
+            List<StringArrayImpl> restored = state.values();
+            repository.addAll(restored);
+            logger.info("Recovered {} arrays from {} ({} log records replayed)", restored.size(), directory, replayed);
+
+            startScheduler();
+            wal = new WriteAheadLog(directory, generation, settings, this::requestSnapshot);
+            repository.setJournal(this);
+            return restored.size();
+        } catch (IOException | BufferUnderflowException e) {
+            logger.error("Cannot recover repository from {}: {}", directory, e.getMessage(), e);
+            throw new SnapshotException("Cannot recover repository from " + directory, e);
+        } catch (InvalidArrayException e) {
+            throw new SnapshotException("Invalid array in " + directory, e);
+        }
+    }
+
+    /**
+     * Returns the first log generation to replay on top of the snapshot, or 0 without a snapshot.
+     */
+    private long loadSnapshot(LongKeyMap<StringArrayImpl> state) throws IOException, InvalidArrayException {
+        Path snapshot = settings.getDirectory().resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshot)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ArraySnapshotCodec.Header header = ArraySnapshotCodec.readHeader(buffer);
+            int count = ArraySnapshotCodec.readArrays(buffer,
+                    (key, words) -> state.put(key, ArrayFactory.restoreDetached(key, words)));
+            logger.debug("Loaded {} arrays from snapshot {}", count, snapshot);
+            return header.getGeneration();
+        }
+    }
+
+    private int replay(Path segment, LongKeyMap<StringArrayImpl> state) throws IOException, InvalidArrayException {
+        int[] records = new int[1];
+        InvalidArrayException[] invalid = new InvalidArrayException[1];
+        long intact = WriteAheadLog.replay(segment, (type, key, words) -> {
+            records[0]++;
+            if (type == WriteAheadLog.REMOVE) {
+                state.remove(key);
+                return;
+            }
+            try {
+                state.put(key, ArrayFactory.restoreDetached(key, words));
+            } catch (InvalidArrayException e) {
+                invalid[0] = e;
+            }
+        });
+        if (invalid[0] != null) {
+            throw invalid[0];
+        }
+        long size = Files.size(segment);
+        if (intact < size) {
+            logger.warn("Truncating torn tail of {} at {} of {} bytes", segment, intact, size);
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.truncate(intact);
+                channel.force(true);
+            }
+        }
+        return records[0];
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(settings.getDirectory())) {
+            return files.filter(WriteAheadLog::isSegment)
+                    .sorted(Comparator.comparingLong(WriteAheadLog::generationOf))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private void startScheduler() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "repository-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = settings.getSnapshotIntervalMillis();
+        if (interval > 0) {
+            scheduler.scheduleWithFixedDelay(this::requestSnapshot, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs a snapshot in the background unless one is already pending.
+     */
+    private void requestSnapshot() {
+        if (!snapshotPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.execute(() -> {
+                try {
+                    snapshot();
+                } catch (SnapshotException | IllegalStateException e) {
+                    logger.warn("Background snapshot failed: {}", e.getMessage());
+                } finally {
+                    snapshotPending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            snapshotPending.set(false);
+        }
+    }
+
+    @Override
+    public synchronized void snapshot() throws SnapshotException {
+        checkOpen();
+        Path snapshot = settings.getDirectory().resolve(SNAPSHOT_FILE);
+        Path temp = snapshot.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try {
+            long generation = repository.rotateJournal();
+            List<StringArrayImpl> arrays = fold(generation);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ArraySnapshotCodec.write(channel, 0, System.currentTimeMillis(), generation, arrays);
+                channel.force(true);
+            }
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            int deleted = 0;
+            for (Path segment : segments()) {
+                if (WriteAheadLog.generationOf(segment) < generation) {
+                    Files.deleteIfExists(segment);
+                    deleted++;
+                }
+            }
+            logger.info("Wrote repository snapshot with {} arrays, dropped {} log segments", arrays.size(), deleted);
+        } catch (IOException | BufferUnderflowException e) {
+            logger.error("Cannot write repository snapshot {}: {}", snapshot, e.getMessage(), e);
+            throw new SnapshotException("Cannot write repository snapshot: " + snapshot, e);
+        }
+    }
+
+    /**
+     * The logged state before {@code generation}: the previous snapshot with the segments older than
+     * {@code generation} replayed on top of it.
+     */
+    private List<StringArrayImpl> fold(long generation) throws IOException, SnapshotException {
+        LongKeyMap<StringArrayImpl> state = new LongKeyMap<>();
+        try {
+            long covered = loadSnapshot(state);
+            for (Path segment : segments()) {
+                long segmentGeneration = WriteAheadLog.generationOf(segment);
+                if (segmentGeneration >= covered && segmentGeneration < generation) {
+                    replay(segment, state);
+                }
+            }
+        } catch (InvalidArrayException e) {
+            throw new SnapshotException("Invalid array in " + settings.getDirectory(), e);
+        }
+        return state.values();
+    }
+
+    private void checkOpen() {
+        if (wal == null) {
+            throw new IllegalStateException("Persistence is not open");
+        }
+    }
+
+    /**
+     * Runs on the writing thread and returns once the record is durable under the configured policy. A
+     * record whose write failed may still have reached the log and be replayed on restart.
+     */
+    @Override
+    public void logAdd(StringArray array) throws IOException {
+        log().append(WriteAheadLog.encodeAdd(array));
+    }
+
+    @Override
+    public void logAddAll(List<? extends StringArray> arrays) throws IOException {
+        List<ByteBuffer> records = new ArrayList<>(arrays.size());
+        for (StringArray array : arrays) {
+            records.add(WriteAheadLog.encodeAdd(array));
+        }
+        log().appendAll(records);
+    }
+
+    /**
+     * Eviction from a bounded repository is not a deletion and is never logged, so the log keeps evicted arrays.
+     */
+    @Override
+    public void logRemove(long key) throws IOException {
+        log().append(WriteAheadLog.encodeRemove(key));
+    }
+
+    @Override
+    public long rotate() throws IOException {
+        return log().rotate();
+    }
+
+    private WriteAheadLog log() throws IOException {
+        WriteAheadLog log = wal;
+        if (log == null) {
+            throw new IOException("Write-ahead log is closed");
+        }
+        return log;
+    }
+
+    @Override
+    public long getAppendedRecords() {
+        WriteAheadLog log = wal;
+        return log != null ? log.getAppended() : 0;
+    }
+
+    @Override
+    public long getSyncCount() {
+        WriteAheadLog log = wal;
+        return log != null ? log.getSyncs() : 0;
+    }
+
+    /**
+     * Stops logging and waits for queued records to reach the log.
+     */
+    @Override
+    public synchronized void close() throws SnapshotException {
+        if (wal == null) {
+            return;
+        }
+        repository.clearJournal();
+        scheduler.shutdownNow();
+        try {
+            wal.close();
+        } catch (IOException e) {
+            throw new SnapshotException("Cannot close write-ahead log in " + settings.getDirectory(), e);
+        } finally {
+            wal = null;
+        }
+    }
+}
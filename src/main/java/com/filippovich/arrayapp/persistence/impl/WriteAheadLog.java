@@ -0,0 +1,392 @@
+package main.java.com.filippovich.arrayapp.persistence.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.persistence.SyncPolicy;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log split into numbered segments. Each record is {@code [length][crc32][type][key][words]}; a
+ * record that is cut short or fails its checksum marks the end of the log. Writers hand records to a single
+ * flusher thread and, unless the policy is {@link SyncPolicy#NONE}, wait until their records are forced, so
+ * concurrent writers share one force per batch.
+ */
+final class WriteAheadLog implements AutoCloseable {
+    private static final Logger logger = LoggerUtil.getLogger(WriteAheadLog.class);
+
+    static final byte ADD = 1;
+    static final byte REMOVE = 2;
+
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES * 2;
+    private static final int MAX_RECORD_BYTES = 64 * 1024 * 1024;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        void visit(byte type, long key, String[] words);
+    }
+
+    private final Path directory;
+    private final PersistenceSettings settings;
+    private final Runnable onLogFull;
+    private final Object lock = new Object();
+    private final Object channelLock = new Object();
+    private final Thread flusher;
+
+    private FileChannel channel;
+    private long generation;
+    private List<ByteBuffer> queue = new ArrayList<>();
+    private long enqueued;
+    private long durable;
+    private long syncs;
+    private IOException failure;
+    private boolean closed;
+
+    /**
+     * Opens segment {@code generation} for appending; {@code onLogFull} runs on the flusher thread whenever the
+     * current segment exceeds the configured size.
+     */
+    WriteAheadLog(Path directory, long generation, PersistenceSettings settings, Runnable onLogFull) throws IOException {
+        this.directory = directory;
+        this.settings = settings;
+        this.onLogFull = onLogFull;
+        this.generation = generation;
+        this.channel = openSegment(generation);
+        this.flusher = new Thread(this::flushLoop, "wal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    private FileChannel openSegment(long segmentGeneration) throws IOException {
+        FileChannel opened = FileChannel.open(segmentPath(directory, segmentGeneration),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        opened.position(opened.size());
+        return opened;
+    }
+
+    static Path segmentPath(Path directory, long generation) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, generation, SEGMENT_SUFFIX));
+    }
+
+    static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    static long generationOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    void append(ByteBuffer record) throws IOException {
+        appendAll(List.of(record));
+    }
+
+    void appendAll(List<ByteBuffer> records) throws IOException {
+        synchronized (lock) {
+            checkUsable();
+            queue.addAll(records);
+            enqueued += records.size();
+            long sequence = enqueued;
+            lock.notifyAll();
+            if (settings.getSyncPolicy() == SyncPolicy.NONE) {
+                return;
+            }
+            try {
+                while (durable < sequence) {
+                    checkUsable();
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the log to be forced");
+            }
+        }
+    }
+
+    private void checkUsable() throws IOException {
+        if (failure != null) {
+            throw new IOException("Write-ahead log failed: " + failure.getMessage(), failure);
+        }
+        if (closed) {
+            throw new IOException("Write-ahead log is closed");
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            List<ByteBuffer> batch;
+            long last;
+            synchronized (lock) {
+                try {
+                    while (queue.isEmpty() && !closed) {
+                        lock.wait();
+                    }
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    awaitBatch();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                batch = queue;
+                queue = new ArrayList<>();
+                last = enqueued;
+            }
+
+            boolean full;
+            try {
+                full = write(batch);
+            } catch (IOException e) {
+                logger.error("Cannot write to the write-ahead log: {}", e.getMessage(), e);
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            }
+
+            synchronized (lock) {
+                durable = last;
+                lock.notifyAll();
+            }
+            if (full) {
+                onLogFull.run();
+            }
+        }
+    }
+
+    /**
+     * Under {@link SyncPolicy#PER_BATCH} with a delay, lets the batch grow until it is full or the delay ends.
+     */
+    private void awaitBatch() throws InterruptedException {
+        if (settings.getSyncPolicy() != SyncPolicy.PER_BATCH || settings.getMaxBatchDelayMillis() == 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + settings.getMaxBatchDelayMillis() * 1_000_000;
+        long remaining;
+        while (queue.size() < settings.getMaxBatchRecords() && !closed
+                && (remaining = deadline - System.nanoTime()) > 0) {
+            lock.wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+        }
+    }
+
+    private boolean write(List<ByteBuffer> batch) throws IOException {
+        synchronized (channelLock) {
+            SyncPolicy policy = settings.getSyncPolicy();
+            if (policy == SyncPolicy.PER_OPERATION) {
+                for (ByteBuffer record : batch) {
+                    writeFully(record);
+                    channel.force(false);
+                    countSync();
+                }
+            } else {
+                int from = 0;
+                while (from < batch.size()) {
+                    int to = Math.min(batch.size(), from + settings.getMaxBatchRecords());
+                    ByteBuffer[] slice = batch.subList(from, to).toArray(new ByteBuffer[0]);
+                    long remaining = 0;
+                    for (ByteBuffer record : slice) {
+                        remaining += record.remaining();
+                    }
+                    while (remaining > 0) {
+                        remaining -= channel.write(slice);
+                    }
+                    if (policy == SyncPolicy.PER_BATCH) {
+                        channel.force(false);
+                        countSync();
+                    }
+                    from = to;
+                }
+            }
+            return settings.getMaxLogBytes() > 0 && channel.size() > settings.getMaxLogBytes();
+        }
+    }
+
+    private void writeFully(ByteBuffer record) throws IOException {
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+    }
+
+    private void countSync() {
+        synchronized (lock) {
+            syncs++;
+        }
+    }
+
+    /**
+     * Closes the current segment and continues in the next one. Returns the new generation; every record
+     * appended after this call lands in it or a later one.
+     */
+    long rotate() throws IOException {
+        synchronized (channelLock) {
+            channel.force(false);
+            channel.close();
+            generation++;
+            channel = openSegment(generation);
+            logger.debug("Write-ahead log rotated to generation {}", generation);
+            return generation;
+        }
+    }
+
+    long getSyncs() {
+        synchronized (lock) {
+            return syncs;
+        }
+    }
+
+    long getAppended() {
+        synchronized (lock) {
+            return enqueued;
+        }
+    }
+
+    /**
+     * Waits for queued records to be written, then closes the segment.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (channelLock) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    static ByteBuffer encodeAdd(StringArray array) {
+        byte[][] words = new byte[array.length()][];
+        int payload = 1 + Long.BYTES + varIntSize(words.length);
+        for (int i = 0; i < words.length; i++) {
+            words[i] = array.get(i).getBytes(StandardCharsets.UTF_8);
+            payload += varIntSize(words[i].length) + words[i].length;
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload);
+        record.position(RECORD_HEADER_BYTES);
+        record.put(ADD).putLong(array.getKey());
+        putVarInt(record, words.length);
+        for (byte[] word : words) {
+            putVarInt(record, word.length);
+            record.put(word);
+        }
+        return seal(record, payload);
+    }
+
+    static ByteBuffer encodeRemove(long key) {
+        int payload = 1 + Long.BYTES;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload);
+        record.position(RECORD_HEADER_BYTES);
+        record.put(REMOVE).putLong(key);
+        return seal(record, payload);
+    }
+
+    private static ByteBuffer seal(ByteBuffer record, int payload) {
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), RECORD_HEADER_BYTES, payload);
+        record.putInt(0, payload).putInt(Integer.BYTES, (int) crc.getValue());
+        record.position(0);
+        return record;
+    }
+
+    /**
+     * Visits the intact records of {@code segment} and returns the length of the intact prefix, which is
+     * shorter than the file if the last write was torn.
+     */
+    static long replay(Path segment, RecordVisitor visitor) throws IOException {
+        byte[] bytes = Files.readAllBytes(segment);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+            int start = buffer.position();
+            int payload = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (payload <= 0 || payload > MAX_RECORD_BYTES || payload > buffer.remaining()) {
+                return start;
+            }
+            crc.reset();
+            crc.update(bytes, buffer.position(), payload);
+            if ((int) crc.getValue() != checksum) {
+                return start;
+            }
+            int end = buffer.position() + payload;
+            try {
+                byte type = buffer.get();
+                long key = buffer.getLong();
+                String[] words = null;
+                if (type == ADD) {
+                    words = new String[getVarInt(buffer)];
+                    for (int i = 0; i < words.length; i++) {
+                        byte[] word = new byte[getVarInt(buffer)];
+                        buffer.get(word);
+                        words[i] = new String(word, StandardCharsets.UTF_8);
+                    }
+                } else if (type != REMOVE) {
+                    return start;
+                }
+                if (buffer.position() != end) {
+                    return start;
+                }
+                visitor.visit(type, key, words);
+            } catch (RuntimeException e) {
+                return start;
+            }
+        }
+        return buffer.position();
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    throw new IllegalStateException("Negative varint");
+                }
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+}
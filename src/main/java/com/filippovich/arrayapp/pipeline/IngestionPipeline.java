@@ -0,0 +1,14 @@
+package main.java.com.filippovich.arrayapp.pipeline;
+
+import main.java.com.filippovich.arrayapp.exception.FileReadException;
+import main.java.com.filippovich.arrayapp.pipeline.impl.PipelineStatistics;
+
+public interface IngestionPipeline {
+    /**
+     * @throws FileReadException also if the calling thread is interrupted, so partial statistics are never
+     *                           returned; the interrupt status stays set
+     */
+    PipelineStatistics run(String filePath) throws FileReadException;
+
+    PipelineStatistics getStatistics();
+}
@@ -0,0 +1,8 @@
+package main.java.com.filippovich.arrayapp.pipeline;
+
+public enum PipelineStage {
+    READ,
+    TOKENIZE,
+    CONSTRUCT,
+    STORE
+}
@@ -0,0 +1,273 @@
+package main.java.com.filippovich.arrayapp.pipeline.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.entity.impl.EncodedStringArrayImpl;
+import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
+import main.java.com.filippovich.arrayapp.exception.FileReadException;
+import main.java.com.filippovich.arrayapp.parser.LineTokenizer;
+import main.java.com.filippovich.arrayapp.parser.impl.LineTokenizerImpl;
+import main.java.com.filippovich.arrayapp.parser.impl.TokenizedLine;
+import main.java.com.filippovich.arrayapp.pipeline.IngestionPipeline;
+import main.java.com.filippovich.arrayapp.pipeline.PipelineStage;
+import main.java.com.filippovich.arrayapp.reader.impl.ArrayFileReaderImpl;
+import main.java.com.filippovich.arrayapp.reader.impl.DecompressingInputStream;
+import main.java.com.filippovich.arrayapp.reader.impl.RejectedLineCollector;
+import main.java.com.filippovich.arrayapp.repository.StringArrayRepository;
+import main.java.com.filippovich.arrayapp.repository.impl.StringArrayRepositoryImpl;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import main.java.com.filippovich.arrayapp.validation.ValidationResult;
+import main.java.com.filippovich.arrayapp.validation.impl.ArrayValidatorImpl;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs ingestion as four stages (read, tokenize/validate, construct entity, store) connected by bounded
+ * queues. A full queue blocks the producing stage, so a slow stage throttles the ones before it instead of
+ * letting work pile up. With more than one worker per stage, arrays are stored in no particular order.
+ * A worker that fails with an unexpected exception cancels every stage, and {@link #run} reports the failure.
+ */
+public class IngestionPipelineImpl implements IngestionPipeline {
+    private static final Logger logger = LoggerUtil.getLogger(IngestionPipelineImpl.class);
+    private static final Object END = new Object();
+
+    private final PipelineSettings settings;
+    private final StringArrayRepository repository;
+    private final RejectedLineCollector rejectedLines = new RejectedLineCollector(ArrayFileReaderImpl.DEFAULT_REJECTED_SAMPLE_SIZE);
+    private volatile PipelineStatistics statistics;
+
+    public IngestionPipelineImpl() {
+        this(PipelineSettings.defaults());
+    }
+
+    public IngestionPipelineImpl(PipelineSettings settings) {
+        this(settings, StringArrayRepositoryImpl.getInstance());
+    }
+
+    public IngestionPipelineImpl(PipelineSettings settings, StringArrayRepository repository) {
+        this.settings = settings;
+        this.repository = repository;
+    }
+
+    @Override
+    public PipelineStatistics run(String filePath) throws FileReadException {
+        logger.info("Running ingestion pipeline on {} with {}", filePath, settings);
+        PipelineStatistics stats = new PipelineStatistics();
+        statistics = stats;
+        rejectedLines.reset();
+
+        BlockingQueue<Object> lines = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        BlockingQueue<Object> words = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        BlockingQueue<Object> arrays = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        stats.registerQueue(PipelineStage.TOKENIZE, lines);
+        stats.registerQueue(PipelineStage.CONSTRUCT, words);
+        stats.registerQueue(PipelineStage.STORE, arrays);
+
+        int tokenizers = settings.getParallelism(PipelineStage.TOKENIZE);
+        int constructors = settings.getParallelism(PipelineStage.CONSTRUCT);
+        int stores = settings.getParallelism(PipelineStage.STORE);
+        AtomicInteger activeTokenizers = new AtomicInteger(tokenizers);
+        AtomicInteger activeConstructors = new AtomicInteger(constructors);
+        AtomicReference<IOException> readFailure = new AtomicReference<>();
+        AtomicReference<Throwable> workerFailure = new AtomicReference<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(1 + tokenizers + constructors + stores, runnable -> {
+            Thread thread = new Thread(runnable, "ingestion-pipeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> futures = new ArrayList<>();
+        boolean interrupted = false;
+        try {
+            futures.add(submit(executor, workerFailure,
+                    () -> readStage(filePath, lines, tokenizers, stats, readFailure)));
+            for (int i = 0; i < tokenizers; i++) {
+                futures.add(submit(executor, workerFailure,
+                        () -> tokenizeStage(lines, words, activeTokenizers, constructors, stats)));
+            }
+            for (int i = 0; i < constructors; i++) {
+                futures.add(submit(executor, workerFailure,
+                        () -> constructStage(words, arrays, activeConstructors, stores, stats)));
+            }
+            for (int i = 0; i < stores; i++) {
+                futures.add(submit(executor, workerFailure, () -> storeStage(arrays, stats)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            interrupted = true;
+            logger.warn("Pipeline interrupted: {}", filePath);
+        } catch (ExecutionException e) {
+            logger.error("Pipeline worker failed: {}", e.getCause().getMessage(), e.getCause());
+        } catch (RejectedExecutionException e) {
+            logger.debug("Pipeline cancelled before all workers started: {}", filePath);
+        } finally {
+            executor.shutdownNow();
+            stats.finish();
+        }
+
+        if (interrupted) {
+            throw new FileReadException("Ingestion pipeline interrupted on " + filePath,
+                    new InterruptedIOException("Interrupted after " + stats));
+        }
+        if (readFailure.get() != null) {
+            throw new FileReadException("File not found or cannot be read: " + filePath, readFailure.get());
+        }
+        if (workerFailure.get() != null) {
+            throw new FileReadException("Ingestion pipeline failed on " + filePath, workerFailure.get());
+        }
+        logger.info("Pipeline finished: {}", stats);
+        return stats;
+    }
+
+    /**
+     * Runs a stage worker; an unexpected exception is recorded and interrupts every other worker, so no stage
+     * stays blocked on a queue that its failed neighbour no longer drains or fills.
+     */
+    private static Future<?> submit(ExecutorService executor, AtomicReference<Throwable> failure, Runnable stage) {
+        return executor.submit(() -> {
+            try {
+                stage.run();
+            } catch (RuntimeException | Error e) {
+                if (failure.compareAndSet(null, e)) {
+                    logger.error("Pipeline worker failed, cancelling all stages: {}", e.getMessage(), e);
+                }
+                executor.shutdownNow();
+            }
+        });
+    }
+
+    private void readStage(String filePath, BlockingQueue<Object> out, int consumers, PipelineStatistics stats,
+                           AtomicReference<IOException> failure) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(DecompressingInputStream.open(filePath), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                put(out, line, PipelineStage.TOKENIZE, stats);
+                stats.recordProcessed(PipelineStage.READ);
+            }
+        } catch (IOException e) {
+            logger.error("Error reading file: {} - {}", filePath, e.getMessage(), e);
+            stats.recordFailed(PipelineStage.READ);
+            failure.set(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            signalEnd(out, consumers);
+        }
+    }
+
+    private void tokenizeStage(BlockingQueue<Object> in, BlockingQueue<Object> out, AtomicInteger active,
+                               int consumers, PipelineStatistics stats) {
+        LineTokenizer tokenizer = new LineTokenizerImpl();
+        ArrayValidatorImpl validator = new ArrayValidatorImpl();
+        try {
+            Object item;
+            while ((item = in.take()) != END) {
+                TokenizedLine tokens = tokenizer.tokenize((String) item);
+                ValidationResult result = validator.checkLineFormat(tokens);
+                if (result.isValid()) {
+                    put(out, tokens.getWords(), PipelineStage.CONSTRUCT, stats);
+                } else {
+                    rejectedLines.record(result, tokens, -1, -1);
+                }
+                stats.recordProcessed(PipelineStage.TOKENIZE);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (active.decrementAndGet() == 0) {
+                signalEnd(out, consumers);
+            }
+        }
+    }
+
+    private void constructStage(BlockingQueue<Object> in, BlockingQueue<Object> out, AtomicInteger active,
+                                int consumers, PipelineStatistics stats) {
+        ArrayValidatorImpl validator = new ArrayValidatorImpl();
+        try {
+            Object item;
+            while ((item = in.take()) != END) {
+                StringArray array;
+                try {
+                    String[] words = (String[]) item;
+                    validator.validateArray(words);
+                    array = settings.isDictionaryEncoding()
+                            ? new EncodedStringArrayImpl(words)
+                            : new StringArrayImpl(words);
+                } catch (Exception e) {
+                    stats.recordFailed(PipelineStage.CONSTRUCT);
+                    logger.warn("Cannot construct array: {}", e.getMessage());
+                    continue;
+                }
+                put(out, array, PipelineStage.STORE, stats);
+                stats.recordProcessed(PipelineStage.CONSTRUCT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (active.decrementAndGet() == 0) {
+                signalEnd(out, consumers);
+            }
+        }
+    }
+
+    private void storeStage(BlockingQueue<Object> in, PipelineStatistics stats) {
+        try {
+            Object item;
+            while ((item = in.take()) != END) {
+                try {
+                    repository.add((StringArray) item);
+                    stats.recordProcessed(PipelineStage.STORE);
+                } catch (RuntimeException e) {
+                    stats.recordFailed(PipelineStage.STORE);
+                    logger.warn("Cannot store array: {}", e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void put(BlockingQueue<Object> queue, Object item, PipelineStage consumer,
+                            PipelineStatistics stats) throws InterruptedException {
+        queue.put(item);
+        stats.recordQueueDepth(consumer, queue.size());
+    }
+
+    private static void signalEnd(BlockingQueue<Object> queue, int consumers) {
+        try {
+            for (int i = 0; i < consumers; i++) {
+                queue.put(END);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public PipelineStatistics getStatistics() {
+        return statistics;
+    }
+
+    public RejectedLineCollector getRejectedLines() {
+        return rejectedLines;
+    }
+}
@@ -0,0 +1,68 @@
+package main.java.com.filippovich.arrayapp.pipeline.impl;
+
+import main.java.com.filippovich.arrayapp.pipeline.PipelineStage;
+
+import java.util.StringJoiner;
+
+public final class PipelineSettings {
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final int queueCapacity;
+    private final int tokenizeParallelism;
+    private final int constructParallelism;
+    private final int storeParallelism;
+    private final boolean dictionaryEncoding;
+
+    /**
+     * With {@code dictionaryEncoding} the construct stage builds dictionary-encoded arrays, so repeated words
+     * are stored once.
+     */
+    public PipelineSettings(int queueCapacity, int tokenizeParallelism, int constructParallelism, int storeParallelism,
+                            boolean dictionaryEncoding) {
+        if (queueCapacity <= 0 || tokenizeParallelism <= 0 || constructParallelism <= 0 || storeParallelism <= 0) {
+            throw new IllegalArgumentException("Queue capacity and stage parallelism must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        this.tokenizeParallelism = tokenizeParallelism;
+        this.constructParallelism = constructParallelism;
+        this.storeParallelism = storeParallelism;
+        this.dictionaryEncoding = dictionaryEncoding;
+    }
+
+    public static PipelineSettings defaults() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        return new PipelineSettings(DEFAULT_QUEUE_CAPACITY, Math.max(1, cores - 1), 1, 1, true);
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public boolean isDictionaryEncoding() {
+        return dictionaryEncoding;
+    }
+
+    public int getParallelism(PipelineStage stage) {
+        switch (stage) {
+            case TOKENIZE:
+                return tokenizeParallelism;
+            case CONSTRUCT:
+                return constructParallelism;
+            case STORE:
+                return storeParallelism;
+            default:
+                return 1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", PipelineSettings.class.getSimpleName() + "[", "]")
+                .add("queueCapacity=" + queueCapacity)
+                .add("tokenize=" + tokenizeParallelism)
+                .add("construct=" + constructParallelism)
+                .add("store=" + storeParallelism)
+                .add("dictionaryEncoding=" + dictionaryEncoding)
+                .toString();
+    }
+}
@@ -0,0 +1,96 @@
+package main.java.com.filippovich.arrayapp.pipeline.impl;
+
+import main.java.com.filippovich.arrayapp.pipeline.PipelineStage;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live per-stage counters of a pipeline run. The queue of a stage is the one it takes its input from.
+ */
+public final class PipelineStatistics {
+    private final Map<PipelineStage, LongAdder> processed = new EnumMap<>(PipelineStage.class);
+    private final Map<PipelineStage, LongAdder> failed = new EnumMap<>(PipelineStage.class);
+    private final Map<PipelineStage, AtomicInteger> maxQueueDepth = new EnumMap<>(PipelineStage.class);
+    private final Map<PipelineStage, BlockingQueue<?>> inputQueues = new EnumMap<>(PipelineStage.class);
+    private final long startNanos;
+    private volatile long endNanos;
+
+    PipelineStatistics() {
+        for (PipelineStage stage : PipelineStage.values()) {
+            processed.put(stage, new LongAdder());
+            failed.put(stage, new LongAdder());
+            maxQueueDepth.put(stage, new AtomicInteger());
+        }
+        this.startNanos = System.nanoTime();
+    }
+
+    void registerQueue(PipelineStage stage, BlockingQueue<?> queue) {
+        inputQueues.put(stage, queue);
+    }
+
+    void recordProcessed(PipelineStage stage) {
+        processed.get(stage).increment();
+    }
+
+    void recordFailed(PipelineStage stage) {
+        failed.get(stage).increment();
+    }
+
+    void recordQueueDepth(PipelineStage stage, int depth) {
+        maxQueueDepth.get(stage).accumulateAndGet(depth, Math::max);
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    public long getProcessed(PipelineStage stage) {
+        return processed.get(stage).sum();
+    }
+
+    public long getFailed(PipelineStage stage) {
+        return failed.get(stage).sum();
+    }
+
+    public double getThroughput(PipelineStage stage) {
+        double seconds = getElapsedNanos() / 1_000_000_000.0;
+        return seconds > 0 ? getProcessed(stage) / seconds : 0.0;
+    }
+
+    public int getQueueDepth(PipelineStage stage) {
+        BlockingQueue<?> queue = inputQueues.get(stage);
+        return queue != null ? queue.size() : 0;
+    }
+
+    public int getMaxQueueDepth(PipelineStage stage) {
+        return maxQueueDepth.get(stage).get();
+    }
+
+    public long getElapsedNanos() {
+        long end = endNanos;
+        return (end != 0 ? end : System.nanoTime()) - startNanos;
+    }
+
+    public boolean isFinished() {
+        return endNanos != 0;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", PipelineStatistics.class.getSimpleName() + "[", "]")
+                .add("elapsedMs=" + getElapsedNanos() / 1_000_000);
+        for (PipelineStage stage : PipelineStage.values()) {
+            joiner.add(stage + "{processed=" + getProcessed(stage)
+                    + ", failed=" + getFailed(stage)
+                    + ", perSec=" + Math.round(getThroughput(stage))
+                    + ", queue=" + getQueueDepth(stage)
+                    + ", maxQueue=" + getMaxQueueDepth(stage) + "}");
+        }
+        return joiner.toString();
+    }
+}
@@ -3,12 +3,22 @@ package main.java.com.filippovich.arrayapp.reader;
 import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
 import main.java.com.filippovich.arrayapp.exception.FileReadException;
 import main.java.com.filippovich.arrayapp.exception.InvalidDataException;
+import main.java.com.filippovich.arrayapp.reader.impl.RejectedLineCollector;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ArrayFileReader {
     List<StringArrayImpl> readArraysFromFile() throws FileReadException, InvalidDataException;
 
+    /**
+     * Lazily parses the file into arrays that are not registered in the repository; callers that want them
+     * stored add them themselves. The stream must be closed.
+     */
+    Stream<StringArrayImpl> streamArraysFromFile() throws FileReadException;
+
+    RejectedLineCollector getRejectedLines();
+
     void printFileStatistics();
 
     void clearCache();
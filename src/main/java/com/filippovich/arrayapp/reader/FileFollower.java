@@ -0,0 +1,17 @@
+package main.java.com.filippovich.arrayapp.reader;
+
+import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
+import main.java.com.filippovich.arrayapp.exception.FileReadException;
+
+import java.util.List;
+
+public interface FileFollower extends AutoCloseable {
+    void start() throws FileReadException;
+
+    List<StringArrayImpl> poll() throws FileReadException;
+
+    long getOffset();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,11 @@
+package main.java.com.filippovich.arrayapp.reader;
+
+import java.nio.file.Path;
+
+public interface IngestionListener {
+    void onFileStarted(Path file);
+
+    void onFileCompleted(Path file, int arrayCount);
+
+    void onFileFailed(Path file, Exception error);
+}
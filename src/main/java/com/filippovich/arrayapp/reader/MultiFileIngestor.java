@@ -0,0 +1,13 @@
+package main.java.com.filippovich.arrayapp.reader;
+
+import main.java.com.filippovich.arrayapp.exception.FileReadException;
+import main.java.com.filippovich.arrayapp.reader.impl.IngestionReport;
+
+import java.nio.file.Path;
+import java.util.Collection;
+
+public interface MultiFileIngestor {
+    IngestionReport ingest(Collection<Path> files);
+
+    IngestionReport ingestDirectory(Path directory, String glob) throws FileReadException;
+}
@@ -3,94 +3,178 @@ package main.java.com.filippovich.arrayapp.reader.impl;
 import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
 import main.java.com.filippovich.arrayapp.entity.impl.ArrayFactory;
 import main.java.com.filippovich.arrayapp.reader.ArrayFileReader;
-import main.java.com.filippovich.arrayapp.parser.impl.ArrayParserImpl;
+import main.java.com.filippovich.arrayapp.parser.LineTokenizer;
+import main.java.com.filippovich.arrayapp.parser.impl.LineTokenizerImpl;
+import main.java.com.filippovich.arrayapp.parser.impl.TokenizedLine;
+import main.java.com.filippovich.arrayapp.validation.ValidationResult;
 import main.java.com.filippovich.arrayapp.validation.impl.ArrayValidatorImpl;
 import main.java.com.filippovich.arrayapp.exception.FileReadException;
+import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
 import main.java.com.filippovich.arrayapp.exception.InvalidDataException;
 import main.java.com.filippovich.arrayapp.util.LoggerUtil;
 import org.apache.logging.log4j.Logger;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 public class ArrayFileReaderImpl implements ArrayFileReader {
     private static final Logger logger = LoggerUtil.getLogger(ArrayFileReaderImpl.class);
-    private static final String FILE_PATH = "src/main/java/com/filippovich/resources/data/words.txt";
-    private List<StringArrayImpl> cachedArrays;
+    public static final String FILE_PATH = "src/main/java/com/filippovich/resources/data/words.txt";
+    public static final int DEFAULT_REJECTED_SAMPLE_SIZE = 10;
+    private final String filePath;
+    private final LineTokenizer tokenizer = new LineTokenizerImpl();
+    private final ArrayValidatorImpl validator = new ArrayValidatorImpl();
+    private final RejectedLineCollector rejectedLines;
 
     public ArrayFileReaderImpl() {
-        this.cachedArrays = null;
+        this(FILE_PATH);
     }
 
+    public ArrayFileReaderImpl(String filePath) {
+        this(filePath, DEFAULT_REJECTED_SAMPLE_SIZE);
+    }
+
+    public ArrayFileReaderImpl(String filePath, int rejectedSampleSize) {
+        this.filePath = filePath;
+        this.rejectedLines = new RejectedLineCollector(rejectedSampleSize);
+    }
+
+    /**
+     * Served from the shared {@link ParsedFileCache}; the returned list is unmodifiable.
+     */
     @Override
     public List<StringArrayImpl> readArraysFromFile() throws FileReadException, InvalidDataException {
-        if (cachedArrays != null) {
-            logger.debug("Returning cached arrays");
-            return new ArrayList<>(cachedArrays);
-        }
+        return ParsedFileCache.getInstance().getOrLoad(filePath, rejectedLines, this::parseFile);
+    }
 
-        logger.info("Reading word arrays from file: {}", FILE_PATH);
-        List<StringArrayImpl> arrays = new ArrayList<>();
+    /**
+     * Accepted lines are collected first and registered through {@link ArrayFactory#createAll}, so the
+     * whole file costs one repository insert and one batched ADD event.
+     */
+    private List<StringArrayImpl> parseFile() throws FileReadException, InvalidDataException {
+        logger.info("Reading word arrays from file: {}", filePath);
+        List<String[]> accepted = new ArrayList<>();
+        rejectedLines.reset();
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(FILE_PATH))) {
+        try (BufferedReader reader = openReader()) {
             String line;
             int lineNumber = 0;
-            int validArraysCount = 0;
 
             while ((line = reader.readLine()) != null) {
                 lineNumber++;
-                if (processLine(line, lineNumber, arrays)) {
-                    validArraysCount++;
+                String[] words = acceptedWords(line, lineNumber);
+                if (words != null) {
+                    accepted.add(words);
                 }
             }
 
-            cachedArrays = new ArrayList<>(arrays);
-
             logger.info("Successfully processed {} valid word arrays from {} lines",
-                    validArraysCount, lineNumber);
+                    accepted.size(), lineNumber);
+            logRejectedLines();
 
         } catch (IOException e) {
-            logger.error("Error reading file: {} - {}", FILE_PATH, e.getMessage(), e);
-            throw new FileReadException("File not found or cannot be read: " + FILE_PATH, e);
-        } catch (InvalidDataException e) {
-            throw new InvalidDataException("Invalid data in: " + FILE_PATH);
+            logger.error("Error reading file: {} - {}", filePath, e.getMessage(), e);
+            throw new FileReadException("File not found or cannot be read: " + filePath, e);
         }
 
-        return arrays;
+        try {
+            return ArrayFactory.createAll(accepted);
+        } catch (InvalidArrayException e) {
+            throw new InvalidDataException("Cannot create arrays from " + filePath + ": " + e.getMessage());
+        }
     }
 
-    private boolean processLine(String line, int lineNumber, List<StringArrayImpl> arrays) throws InvalidDataException {
+    /**
+     * The arrays are detached: nothing is registered in the repository.
+     */
+    @Override
+    public Stream<StringArrayImpl> streamArraysFromFile() throws FileReadException {
+        logger.info("Streaming word arrays from file: {}", filePath);
+        BufferedReader reader;
         try {
-            if (line == null || line.trim().isEmpty()) {
-                logger.debug("Line {}: Empty line - skipped", lineNumber);
-                return false;
-            }
+            reader = openReader();
+        } catch (IOException e) {
+            logger.error("Error opening file: {} - {}", filePath, e.getMessage(), e);
+            throw new FileReadException("File not found or cannot be read: " + filePath, e);
+        }
 
-            logger.debug("Processing line {}: '{}'", lineNumber, line);
-            ArrayValidatorImpl arrayValidatorImpl = new ArrayValidatorImpl();
-            arrayValidatorImpl.validateLineFormat(line);
-            ArrayParserImpl parser = new ArrayParserImpl();
-            String[] words = parser.parseStringToArray(line);
-
-            if (words.length > 0) {
-                StringArrayImpl array = ArrayFactory.createFromArray(words);
-                arrays.add(array);
-                logger.debug("Line {}: Success - {}", lineNumber, array);
-                return true;
-            } else {
-                logger.debug("Line {}: No valid words found", lineNumber);
-                return false;
-            }
+        rejectedLines.reset();
+        AtomicInteger lineNumber = new AtomicInteger();
+        return reader.lines()
+                .map(line -> processLine(line, lineNumber.incrementAndGet()))
+                .filter(Objects::nonNull)
+                .onClose(() -> closeReader(reader));
+    }
 
-        } catch (Exception e) {
-            logger.error("Line {}: Unexpected error", lineNumber, e);
-            return false;
+    /**
+     * Compressed inputs ({@code .gz}, zlib, raw {@code .deflate}) are inflated on a background thread.
+     */
+    private BufferedReader openReader() throws IOException {
+        return new BufferedReader(
+                new InputStreamReader(DecompressingInputStream.open(filePath), StandardCharsets.UTF_8));
+    }
+
+    private void closeReader(BufferedReader reader) {
+        try {
+            reader.close();
+            logger.debug("Closed stream over file: {}", filePath);
+            logRejectedLines();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close file: " + filePath, e);
+        }
+    }
+
+    private String[] acceptedWords(String line, int lineNumber) {
+        TokenizedLine tokens = tokenizer.tokenize(line);
+        ValidationResult result = validator.checkLineFormat(tokens);
+        if (!result.isValid()) {
+            rejectedLines.record(result, tokens, -1, lineNumber);
+            logger.debug("Line {}: Rejected - {}", lineNumber, result);
+            return null;
+        }
+
+        logger.debug("Processing line {}: '{}'", lineNumber, line);
+        return tokens.getWords();
+    }
+
+    private StringArrayImpl processLine(String line, int lineNumber) {
+        String[] words = acceptedWords(line, lineNumber);
+        if (words == null) {
+            return null;
+        }
+
+        try {
+            StringArrayImpl array = ArrayFactory.createDetached(words);
+            logger.debug("Line {}: Success - {}", lineNumber, array);
+            return array;
+        } catch (InvalidArrayException e) {
+            logger.error("Line {}: Cannot create array - {}", lineNumber, e.getMessage());
+            return null;
         }
     }
 
+    private void logRejectedLines() {
+        if (rejectedLines.getTotal() > 0) {
+            logger.warn("Rejected {} lines in {}: {}", rejectedLines.getTotal(), filePath, rejectedLines.getCounts());
+            for (RejectedLineCollector.Sample sample : rejectedLines.getSamples()) {
+                logger.debug("Rejected sample: {}", sample);
+            }
+        }
+    }
+
+    @Override
+    public RejectedLineCollector getRejectedLines() {
+        return rejectedLines;
+    }
+
     @Override
     public void printFileStatistics() {
         try {
@@ -117,6 +201,6 @@ public class ArrayFileReaderImpl implements ArrayFileReader {
     @Override
     public void clearCache() {
         logger.debug("Clearing file cache");
-        cachedArrays = null;
+        ParsedFileCache.getInstance().invalidate(filePath);
     }
 }
\ No newline at end of file
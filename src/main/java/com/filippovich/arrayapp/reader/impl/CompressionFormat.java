@@ -0,0 +1,95 @@
+package main.java.com.filippovich.arrayapp.reader.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+public enum CompressionFormat {
+    NONE,
+    GZIP,
+    ZLIB,
+    DEFLATE;
+
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Gzip and zlib are recognised by their magic bytes; raw deflate has none and is only
+     * selected by the {@code .deflate} extension.
+     */
+    public static CompressionFormat detect(Path path) throws IOException {
+        byte[] magic = new byte[2];
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.wrap(magic);
+            while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                // fill the two header bytes
+            }
+            if (buffer.position() == 2) {
+                int first = magic[0] & 0xFF;
+                int second = magic[1] & 0xFF;
+                if (first == 0x1F && second == 0x8B) {
+                    return GZIP;
+                }
+                if (first == 0x78 && (second == 0x01 || second == 0x9C || second == 0xDA)) {
+                    return ZLIB;
+                }
+            }
+        }
+
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz") || name.endsWith(".gzip")) {
+            return GZIP;
+        }
+        if (name.endsWith(".zz") || name.endsWith(".zlib")) {
+            return ZLIB;
+        }
+        if (name.endsWith(".deflate")) {
+            return DEFLATE;
+        }
+        return NONE;
+    }
+
+    public InputStream wrap(InputStream source) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPInputStream(source, STREAM_BUFFER_SIZE);
+            case ZLIB:
+                return new OwnedInflaterInputStream(source, false);
+            case DEFLATE:
+                return new OwnedInflaterInputStream(source, true);
+            default:
+                return source;
+        }
+    }
+
+    /**
+     * An {@link InflaterInputStream} only ends an inflater it created itself, and its constructors that take
+     * a buffer size or {@code nowrap} inflater require passing one in, so this stream ends its own on close.
+     */
+    private static final class OwnedInflaterInputStream extends InflaterInputStream {
+        private boolean closed;
+
+        private OwnedInflaterInputStream(InputStream source, boolean nowrap) {
+            super(source, new Inflater(nowrap), STREAM_BUFFER_SIZE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                super.close();
+            } finally {
+                inf.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package main.java.com.filippovich.arrayapp.reader.impl;
+
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Decompresses a file on a dedicated daemon thread and hands the inflated bytes over through a small
+ * bounded queue, so inflating the next block overlaps with parsing the current one.
+ */
+public final class DecompressingInputStream extends InputStream {
+    private static final Logger logger = LoggerUtil.getLogger(DecompressingInputStream.class);
+    private static final int BLOCK_SIZE = 64 * 1024;
+    private static final int QUEUE_CAPACITY = 4;
+    private static final byte[] END = new byte[0];
+
+    private final InputStream source;
+    private final BlockingQueue<byte[]> blocks = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread worker;
+    private volatile IOException failure;
+    private byte[] current;
+    private int position;
+    private boolean closed;
+
+    private DecompressingInputStream(InputStream source, String name) {
+        this.source = source;
+        this.worker = new Thread(this::inflate, "decompress-" + name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Opens {@code filePath}, decompressing it in the background when {@link CompressionFormat#detect}
+     * recognises a compressed format; plain files are returned as an ordinary file stream.
+     */
+    public static InputStream open(String filePath) throws IOException {
+        Path path = Path.of(filePath);
+        CompressionFormat format = CompressionFormat.detect(path);
+        InputStream file = new FileInputStream(filePath);
+        if (format == CompressionFormat.NONE) {
+            return file;
+        }
+        logger.debug("Decompressing {} as {}", filePath, format);
+        try {
+            return new DecompressingInputStream(format.wrap(file), path.getFileName().toString());
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    private void inflate() {
+        try {
+            while (true) {
+                byte[] block = new byte[BLOCK_SIZE];
+                int filled = 0;
+                int read;
+                while (filled < BLOCK_SIZE && (read = source.read(block, filled, BLOCK_SIZE - filled)) > 0) {
+                    filled += read;
+                }
+                if (filled == 0) {
+                    break;
+                }
+                blocks.put(filled == BLOCK_SIZE ? block : Arrays.copyOf(block, filled));
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (RuntimeException | Error e) {
+            failure = new IOException("Cannot decompress: " + e, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            signalEnd();
+        }
+    }
+
+    /**
+     * The failure, if any, is set before END is queued, so the reader taking END sees it. Once the stream
+     * is closed the worker is interrupted and nobody waits for END.
+     */
+    private void signalEnd() {
+        try {
+            blocks.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean nextBlock() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (current == END) {
+            return false;
+        }
+        if (current != null && position < current.length) {
+            return true;
+        }
+        try {
+            current = blocks.take();
+            position = 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for decompressed data", e);
+        }
+        if (current == END) {
+            if (failure != null) {
+                throw failure;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return nextBlock() ? current[position++] & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!nextBlock()) {
+            return -1;
+        }
+        int count = Math.min(length, current.length - position);
+        System.arraycopy(current, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return current != null && current != END ? current.length - position : 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        worker.interrupt();
+        blocks.clear();
+        source.close();
+    }
+}
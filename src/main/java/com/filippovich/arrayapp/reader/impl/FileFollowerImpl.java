@@ -0,0 +1,294 @@
+package main.java.com.filippovich.arrayapp.reader.impl;
+
+import main.java.com.filippovich.arrayapp.entity.impl.ArrayFactory;
+import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
+import main.java.com.filippovich.arrayapp.exception.FileReadException;
+import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
+import main.java.com.filippovich.arrayapp.parser.LineTokenizer;
+import main.java.com.filippovich.arrayapp.parser.impl.LineTokenizerImpl;
+import main.java.com.filippovich.arrayapp.parser.impl.TokenizedLine;
+import main.java.com.filippovich.arrayapp.reader.FileFollower;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import main.java.com.filippovich.arrayapp.validation.ValidationResult;
+import main.java.com.filippovich.arrayapp.validation.impl.ArrayValidatorImpl;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Follows an append-only word file: only complete lines appended after the last consumed byte offset
+ * are parsed, and the resulting arrays are created through {@link ArrayFactory} (and so stored in the repository).
+ * Lines end with LF, CRLF or a lone CR, as for {@link java.io.BufferedReader#readLine()}.
+ */
+public class FileFollowerImpl implements FileFollower {
+    private static final Logger logger = LoggerUtil.getLogger(FileFollowerImpl.class);
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_BATCH_SIZE = 8 * 1024 * 1024;
+
+    private final Path file;
+    private final Path checkpointFile;
+    private final LineTokenizer tokenizer = new LineTokenizerImpl();
+    private final ArrayValidatorImpl validator = new ArrayValidatorImpl();
+    private final RejectedLineCollector rejectedLines =
+            new RejectedLineCollector(ArrayFileReaderImpl.DEFAULT_REJECTED_SAMPLE_SIZE);
+
+    private volatile long offset;
+    private volatile boolean running;
+    private volatile WatchService watchService;
+    private Thread watchThread;
+
+    public FileFollowerImpl(String filePath) {
+        this(filePath, null);
+    }
+
+    public FileFollowerImpl(String filePath, String checkpointPath) {
+        this.file = Path.of(filePath).toAbsolutePath();
+        this.checkpointFile = checkpointPath != null ? Path.of(checkpointPath) : null;
+        this.offset = loadCheckpoint();
+    }
+
+    @Override
+    public synchronized void start() throws FileReadException {
+        if (running) {
+            return;
+        }
+        WatchService service;
+        try {
+            service = file.getFileSystem().newWatchService();
+            watchService = service;
+            file.getParent().register(service,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            logger.error("Cannot watch file: {} - {}", file, e.getMessage(), e);
+            throw new FileReadException("Cannot watch file: " + file, e);
+        }
+
+        running = true;
+        poll();
+
+        watchThread = new Thread(() -> watchLoop(service), "file-follower-" + file.getFileName());
+        watchThread.setDaemon(true);
+        watchThread.start();
+        logger.info("Following file {} from offset {}", file, offset);
+    }
+
+    /**
+     * Works on the service it was started with, so {@link #close()} clearing the field cannot race with it;
+     * closing the service ends the loop.
+     */
+    private void watchLoop(WatchService service) {
+        while (running) {
+            WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                break;
+            }
+
+            boolean changed = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                        || file.getFileName().equals(event.context())) {
+                    changed = true;
+                }
+            }
+            if (changed) {
+                try {
+                    poll();
+                } catch (FileReadException e) {
+                    logger.error("Error following file {}: {}", file, e.getMessage());
+                }
+            }
+            if (!key.reset()) {
+                logger.warn("Watch key for {} is no longer valid, stopping follower", file.getParent());
+                break;
+            }
+        }
+        logger.debug("Follower thread for {} stopped", file);
+    }
+
+    @Override
+    public synchronized List<StringArrayImpl> poll() throws FileReadException {
+        List<StringArrayImpl> arrays = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return arrays;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < offset) {
+                logger.warn("File {} shrank from {} to {} bytes, restarting from the beginning", file, offset, size);
+                offset = 0;
+            }
+            long startOffset = offset;
+            long batchSize = MAX_BATCH_SIZE;
+            while (offset < size) {
+                long end = Math.min(size, offset + batchSize);
+                byte[] appended = readFrom(channel, offset, end);
+                if (appended.length > 0 && appended[0] == '\n' && endsWithCr(channel, offset)) {
+                    offset++;
+                    saveCheckpoint();
+                    continue;
+                }
+                int consumed = lastLineEnd(appended);
+                if (consumed == 0) {
+                    if (end == size) {
+                        logger.debug("No complete line appended to {} yet", file);
+                        break;
+                    }
+                    batchSize *= 2;
+                    continue;
+                }
+
+                processLines(ByteBuffer.wrap(appended, 0, consumed), arrays);
+                offset += consumed;
+                saveCheckpoint();
+                batchSize = MAX_BATCH_SIZE;
+            }
+
+            if (offset > startOffset) {
+                logger.info("Consumed {} new bytes from {}: {} arrays, offset {}",
+                        offset - startOffset, file, arrays.size(), offset);
+            }
+        } catch (IOException e) {
+            logger.error("Error reading file: {} - {}", file, e.getMessage(), e);
+            throw new FileReadException("File not found or cannot be read: " + file, e);
+        }
+        return arrays;
+    }
+
+    private byte[] readFrom(FileChannel channel, long position, long end) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(end - position, READ_BUFFER_SIZE));
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(READ_BUFFER_SIZE, end - position));
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            out.write(buffer.array(), 0, read);
+            position += read;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Whether the consumed part of the file ends with a CR, so an LF appended right after it completes a CRLF
+     * rather than an empty line.
+     */
+    private static boolean endsWithCr(FileChannel channel, long position) throws IOException {
+        if (position == 0) {
+            return false;
+        }
+        ByteBuffer previous = ByteBuffer.allocate(1);
+        return channel.read(previous, position - 1) == 1 && previous.get(0) == '\r';
+    }
+
+    private static int lastLineEnd(byte[] bytes) {
+        for (int i = bytes.length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n' || bytes[i] == '\r') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private void processLines(ByteBuffer bytes, List<StringArrayImpl> arrays) {
+        int lineStart = 0;
+        int length = bytes.limit();
+        for (int i = 0; i < length; i++) {
+            byte b = bytes.get(i);
+            if (b != '\n' && b != '\r') {
+                continue;
+            }
+            StringArrayImpl array = processLine(tokenizer.tokenize(bytes, lineStart, i));
+            if (array != null) {
+                arrays.add(array);
+            }
+            if (b == '\r' && i + 1 < length && bytes.get(i + 1) == '\n') {
+                i++;
+            }
+            lineStart = i + 1;
+        }
+    }
+
+    private StringArrayImpl processLine(TokenizedLine tokens) {
+        ValidationResult result = validator.checkLineFormat(tokens);
+        if (!result.isValid()) {
+            rejectedLines.record(result, tokens, offset, -1);
+            return null;
+        }
+        try {
+            return ArrayFactory.createFromArray(tokens.getWords());
+        } catch (InvalidArrayException e) {
+            logger.error("Cannot create array from appended line: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private long loadCheckpoint() {
+        if (checkpointFile == null || !Files.exists(checkpointFile)) {
+            return 0;
+        }
+        try {
+            long saved = Long.parseLong(Files.readString(checkpointFile, StandardCharsets.UTF_8).trim());
+            logger.info("Loaded checkpoint for {}: offset {}", file, saved);
+            return saved;
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Ignoring unreadable checkpoint {}: {}", checkpointFile, e.getMessage());
+            return 0;
+        }
+    }
+
+    private void saveCheckpoint() throws IOException {
+        if (checkpointFile == null) {
+            return;
+        }
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        Files.writeString(temp, Long.toString(offset), StandardCharsets.UTF_8);
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    public RejectedLineCollector getRejectedLines() {
+        return rejectedLines;
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Error closing watch service for {}: {}", file, e.getMessage());
+            }
+            watchService = null;
+        }
+        if (watchThread != null) {
+            watchThread.interrupt();
+            watchThread = null;
+        }
+        logger.info("Stopped following file {} at offset {}", file, offset);
+    }
+}
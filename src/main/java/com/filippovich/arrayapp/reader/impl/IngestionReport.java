@@ -0,0 +1,59 @@
+package main.java.com.filippovich.arrayapp.reader.impl;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class IngestionReport {
+    private final Map<Path, Integer> arrayCounts = new ConcurrentHashMap<>();
+    private final Map<Path, String> errors = new ConcurrentHashMap<>();
+    private volatile long elapsedMillis;
+
+    void recordSuccess(Path file, int arrayCount) {
+        arrayCounts.put(file, arrayCount);
+    }
+
+    void recordFailure(Path file, Exception error) {
+        errors.put(file, String.valueOf(error.getMessage()));
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Map<Path, Integer> getArrayCounts() {
+        return Collections.unmodifiableMap(arrayCounts);
+    }
+
+    public Map<Path, String> getErrors() {
+        return Collections.unmodifiableMap(errors);
+    }
+
+    public int getTotalArrays() {
+        return arrayCounts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public int getSucceededFiles() {
+        return arrayCounts.size();
+    }
+
+    public int getFailedFiles() {
+        return errors.size();
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", IngestionReport.class.getSimpleName() + "[", "]")
+                .add("succeeded=" + getSucceededFiles())
+                .add("failed=" + getFailedFiles())
+                .add("arrays=" + getTotalArrays())
+                .add("elapsedMs=" + elapsedMillis)
+                .toString();
+    }
+}
@@ -0,0 +1,303 @@
+package main.java.com.filippovich.arrayapp.reader.impl;
+
+import main.java.com.filippovich.arrayapp.entity.impl.ArrayFactory;
+import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
+import main.java.com.filippovich.arrayapp.exception.FileReadException;
+import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
+import main.java.com.filippovich.arrayapp.exception.InvalidDataException;
+import main.java.com.filippovich.arrayapp.parser.LineTokenizer;
+import main.java.com.filippovich.arrayapp.parser.impl.LineTokenizerImpl;
+import main.java.com.filippovich.arrayapp.parser.impl.TokenizedLine;
+import main.java.com.filippovich.arrayapp.reader.ArrayFileReader;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import main.java.com.filippovich.arrayapp.validation.ValidationResult;
+import main.java.com.filippovich.arrayapp.validation.impl.ArrayValidatorImpl;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * Memory-maps the input file, splits it into line-aligned chunks and parses the chunks
+ * in parallel on a fork-join pool. Arrays are returned in the order of the lines in the file.
+ */
+public class MappedArrayFileReaderImpl implements ArrayFileReader {
+    private static final Logger logger = LoggerUtil.getLogger(MappedArrayFileReaderImpl.class);
+    private static final long DEFAULT_CHUNK_SIZE = 8L * 1024 * 1024;
+    private static final int BOUNDARY_SCAN_BUFFER = 8 * 1024;
+
+    private final String filePath;
+    private final long chunkSize;
+    private final ForkJoinPool pool;
+    private final RejectedLineCollector rejectedLines;
+
+    public MappedArrayFileReaderImpl() {
+        this(ArrayFileReaderImpl.FILE_PATH);
+    }
+
+    public MappedArrayFileReaderImpl(String filePath) {
+        this(filePath, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    public MappedArrayFileReaderImpl(String filePath, long chunkSize, ForkJoinPool pool) {
+        if (chunkSize <= 0 || chunkSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Chunk size must be in (0, " + Integer.MAX_VALUE + "]: " + chunkSize);
+        }
+        this.filePath = filePath;
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+        this.rejectedLines = new RejectedLineCollector(ArrayFileReaderImpl.DEFAULT_REJECTED_SAMPLE_SIZE);
+    }
+
+    /**
+     * Served from the shared {@link ParsedFileCache}; the returned list is unmodifiable.
+     */
+    @Override
+    public List<StringArrayImpl> readArraysFromFile() throws FileReadException, InvalidDataException {
+        return ParsedFileCache.getInstance().getOrLoad(filePath, rejectedLines, this::parseFile);
+    }
+
+    private List<StringArrayImpl> parseFile() throws FileReadException, InvalidDataException {
+        logger.info("Reading word arrays from mapped file: {} (parallelism {})", filePath, pool.getParallelism());
+        List<String[]> parsedLines;
+        rejectedLines.reset();
+
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            List<long[]> chunks = splitIntoChunks(channel);
+            logger.debug("File {} split into {} chunks", filePath, chunks.size());
+
+            parsedLines = pool.invoke(new ChunkTask(channel, chunks, rejectedLines, 0, chunks.size()));
+            logger.info("Successfully processed {} valid word arrays from {} chunks",
+                    parsedLines.size(), chunks.size());
+            logRejectedLines();
+
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Error reading file: {} - {}", filePath, e.getMessage(), e);
+            throw new FileReadException("File not found or cannot be read: " + filePath, e);
+        }
+
+        try {
+            return ArrayFactory.createAll(parsedLines);
+        } catch (InvalidArrayException e) {
+            throw new InvalidDataException("Cannot create arrays from " + filePath + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses chunk by chunk on the calling thread, so at most one chunk of parsed lines is held at a time.
+     * The arrays are detached: nothing is registered in the repository.
+     */
+    @Override
+    public Stream<StringArrayImpl> streamArraysFromFile() throws FileReadException {
+        logger.info("Streaming word arrays from mapped file: {}", filePath);
+        FileChannel channel = null;
+        rejectedLines.reset();
+        try {
+            channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ);
+            FileChannel openChannel = channel;
+            return splitIntoChunks(channel).stream()
+                    .flatMap(chunk -> parseChunk(openChannel, chunk[0], chunk[1], rejectedLines).stream())
+                    .map(this::createArray)
+                    .filter(Objects::nonNull)
+                    .onClose(() -> closeChannel(openChannel));
+        } catch (IOException e) {
+            if (channel != null) {
+                closeChannel(channel);
+            }
+            logger.error("Error reading file: {} - {}", filePath, e.getMessage(), e);
+            throw new FileReadException("File not found or cannot be read: " + filePath, e);
+        }
+    }
+
+    private StringArrayImpl createArray(String[] words) {
+        try {
+            return ArrayFactory.createDetached(words);
+        } catch (InvalidArrayException e) {
+            logger.warn("Skipping invalid array: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void closeChannel(FileChannel channel) {
+        try {
+            channel.close();
+            logger.debug("Closed stream over file: {}", filePath);
+            logRejectedLines();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close file: " + filePath, e);
+        }
+    }
+
+    private List<long[]> splitIntoChunks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>();
+        long start = 0;
+
+        while (start < size) {
+            long end = start + chunkSize >= size ? size : findLineEnd(channel, start + chunkSize, size);
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Line longer than " + Integer.MAX_VALUE + " bytes at offset " + start);
+            }
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private long findLineEnd(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN_BUFFER);
+        long position = from;
+
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static List<String[]> parseChunk(FileChannel channel, long start, long end,
+                                             RejectedLineCollector rejectedLines) {
+        try {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            List<String[]> result = new ArrayList<>();
+            parseLines(mapped, 0, mapped.limit(), start, new LineTokenizerImpl(), new ArrayValidatorImpl(),
+                    rejectedLines, result);
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses the lines of {@code [from, to)}; a final line without a terminator is parsed too.
+     */
+    static void parseLines(ByteBuffer buffer, int from, int to, long chunkStart, LineTokenizer tokenizer,
+                           ArrayValidatorImpl validator, RejectedLineCollector rejectedLines,
+                           List<String[]> result) {
+        int lineStart = from;
+        int lineNumber = 0;
+
+        for (int i = from; i <= to; i++) {
+            byte b = i < to ? buffer.get(i) : (byte) '\n';
+            if (b != '\n' && b != '\r') {
+                continue;
+            }
+            if (i > lineStart || i < to) {
+                lineNumber++;
+                parseLine(tokenizer.tokenize(buffer, lineStart, i), chunkStart, lineNumber, validator,
+                        rejectedLines, result);
+            }
+            if (b == '\r' && i + 1 < to && buffer.get(i + 1) == '\n') {
+                i++;
+            }
+            lineStart = i + 1;
+        }
+    }
+
+    static void parseLine(TokenizedLine tokens, long chunkStart, int lineNumber,
+                          ArrayValidatorImpl validator, RejectedLineCollector rejectedLines,
+                          List<String[]> result) {
+        ValidationResult validation = validator.checkLineFormat(tokens);
+        if (!validation.isValid()) {
+            rejectedLines.record(validation, tokens, chunkStart, lineNumber);
+            return;
+        }
+        result.add(tokens.getWords());
+    }
+
+    private void logRejectedLines() {
+        if (rejectedLines.getTotal() > 0) {
+            logger.warn("Rejected {} lines in {}: {}", rejectedLines.getTotal(), filePath, rejectedLines.getCounts());
+            for (RejectedLineCollector.Sample sample : rejectedLines.getSamples()) {
+                logger.debug("Rejected sample: {}", sample);
+            }
+        }
+    }
+
+    @Override
+    public RejectedLineCollector getRejectedLines() {
+        return rejectedLines;
+    }
+
+    @Override
+    public void printFileStatistics() {
+        try {
+            List<StringArrayImpl> arrays = readArraysFromFile();
+
+            logger.info("=== MAPPED FILE STATISTICS ===");
+            logger.info("Total valid word arrays: {}", arrays.size());
+
+            for (int i = 0; i < arrays.size(); i++) {
+                StringArrayImpl array = arrays.get(i);
+                logger.info("Word Array {}: {} (words: {})", i + 1, array, array.length());
+            }
+        } catch (Exception e) {
+            logger.error("Error generating statistics: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        logger.debug("Clearing file cache");
+        ParsedFileCache.getInstance().invalidate(filePath);
+    }
+
+    private static final class ChunkTask extends RecursiveTask<List<String[]>> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final List<long[]> chunks;
+        private final RejectedLineCollector rejectedLines;
+        private final int from;
+        private final int to;
+
+        private ChunkTask(FileChannel channel, List<long[]> chunks, RejectedLineCollector rejectedLines,
+                          int from, int to) {
+            this.channel = channel;
+            this.chunks = chunks;
+            this.rejectedLines = rejectedLines;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<String[]> compute() {
+            if (to - from <= 1) {
+                if (from == to) {
+                    return new ArrayList<>();
+                }
+                long[] chunk = chunks.get(from);
+                return parseChunk(channel, chunk[0], chunk[1], rejectedLines);
+            }
+
+            int middle = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(channel, chunks, rejectedLines, from, middle);
+            ChunkTask right = new ChunkTask(channel, chunks, rejectedLines, middle, to);
+            left.fork();
+            List<String[]> rightResult = right.compute();
+            List<String[]> result = left.join();
+            result.addAll(rightResult);
+            return result;
+        }
+    }
+}
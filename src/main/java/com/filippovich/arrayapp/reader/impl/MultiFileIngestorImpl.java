@@ -0,0 +1,167 @@
+package main.java.com.filippovich.arrayapp.reader.impl;
+
+import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
+import main.java.com.filippovich.arrayapp.exception.FileReadException;
+import main.java.com.filippovich.arrayapp.reader.IngestionListener;
+import main.java.com.filippovich.arrayapp.reader.MultiFileIngestor;
+import main.java.com.filippovich.arrayapp.repository.StringArrayRepository;
+import main.java.com.filippovich.arrayapp.repository.impl.StringArrayRepositoryImpl;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Ingests many files concurrently, one task per file, with at most {@code concurrency} files open at a time.
+ * Tasks run on virtual threads when the runtime provides them, otherwise on a fixed pool of platform threads.
+ * Each file is streamed and its arrays reach the repository in batches as it is read, not after the whole
+ * run completes.
+ */
+public class MultiFileIngestorImpl implements MultiFileIngestor {
+    private static final Logger logger = LoggerUtil.getLogger(MultiFileIngestorImpl.class);
+    private static final int DEFAULT_CONCURRENCY = 32;
+    private static final int REGISTER_BATCH_SIZE = 1024;
+
+    private final int concurrency;
+    private final IngestionListener listener;
+    private final StringArrayRepository repository = StringArrayRepositoryImpl.getInstance();
+
+    public MultiFileIngestorImpl() {
+        this(DEFAULT_CONCURRENCY, null);
+    }
+
+    public MultiFileIngestorImpl(int concurrency, IngestionListener listener) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        this.concurrency = concurrency;
+        this.listener = listener;
+    }
+
+    @Override
+    public IngestionReport ingestDirectory(Path directory, String glob) throws FileReadException {
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(file -> matcher.matches(directory.relativize(file)))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            logger.error("Cannot list directory {}: {}", directory, e.getMessage(), e);
+            throw new FileReadException("Cannot list directory: " + directory, e);
+        }
+        logger.info("Found {} files matching '{}' in {}", files.size(), glob, directory);
+        return ingest(files);
+    }
+
+    @Override
+    public IngestionReport ingest(Collection<Path> files) {
+        IngestionReport report = new IngestionReport();
+        Semaphore permits = new Semaphore(concurrency);
+        long start = System.currentTimeMillis();
+
+        ExecutorService executor = newExecutor();
+        try {
+            List<Future<?>> futures = new ArrayList<>(files.size());
+            for (Path file : files) {
+                futures.add(executor.submit(() -> ingestFile(file, permits, report)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    logger.error("Ingestion task failed: {}", e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Ingestion interrupted, cancelling remaining files");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        logger.info("Ingestion finished: {}", report);
+        return report;
+    }
+
+    private void ingestFile(Path file, Semaphore permits, IngestionReport report) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        try {
+            if (listener != null) {
+                listener.onFileStarted(file);
+            }
+            int count = register(file);
+            report.recordSuccess(file, count);
+            logger.debug("Ingested {} arrays from {}", count, file);
+            if (listener != null) {
+                listener.onFileCompleted(file, count);
+            }
+        } catch (Exception e) {
+            report.recordFailure(file, e);
+            logger.warn("Failed to ingest {}: {}", file, e.getMessage());
+            if (listener != null) {
+                listener.onFileFailed(file, e);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private int register(Path file) throws FileReadException {
+        int count = 0;
+        List<StringArrayImpl> batch = new ArrayList<>(REGISTER_BATCH_SIZE);
+        try (Stream<StringArrayImpl> arrays = new ArrayFileReaderImpl(file.toString()).streamArraysFromFile()) {
+            Iterator<StringArrayImpl> iterator = arrays.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == REGISTER_BATCH_SIZE) {
+                    repository.addAll(batch);
+                    count += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            repository.addAll(batch);
+        }
+        return count + batch.size();
+    }
+
+    private ExecutorService newExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.debug("Virtual threads unavailable, using {} platform threads", concurrency);
+            return Executors.newFixedThreadPool(concurrency, runnable -> {
+                Thread thread = new Thread(runnable, "ingest-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
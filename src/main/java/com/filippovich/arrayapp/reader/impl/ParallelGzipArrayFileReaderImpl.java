@@ -0,0 +1,477 @@
+package main.java.com.filippovich.arrayapp.reader.impl;
+
+import main.java.com.filippovich.arrayapp.entity.impl.ArrayFactory;
+import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
+import main.java.com.filippovich.arrayapp.exception.FileReadException;
+import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
+import main.java.com.filippovich.arrayapp.exception.InvalidDataException;
+import main.java.com.filippovich.arrayapp.parser.LineTokenizer;
+import main.java.com.filippovich.arrayapp.parser.impl.LineTokenizerImpl;
+import main.java.com.filippovich.arrayapp.reader.ArrayFileReader;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import main.java.com.filippovich.arrayapp.validation.impl.ArrayValidatorImpl;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a gzip file made of several concatenated members (as written by pigz, bgzip or {@code cat a.gz b.gz})
+ * by inflating and parsing one member per worker. Member starts are found by scanning for gzip headers;
+ * a header-like byte sequence inside compressed data is inflated speculatively and then discarded, because
+ * only members that start exactly where the previous one ended are used. Each member is inflated in bounded
+ * slices whose complete lines are parsed as they arrive, so a worker never holds a member's whole inflated text.
+ * Lines split across members are stitched on the calling thread. Arrays are returned in file order.
+ */
+public class ParallelGzipArrayFileReaderImpl implements ArrayFileReader {
+    private static final Logger logger = LoggerUtil.getLogger(ParallelGzipArrayFileReaderImpl.class);
+    private static final int GZIP_HEADER_SIZE = 10;
+    private static final int GZIP_TRAILER_SIZE = 8;
+    private static final int FLAG_HCRC = 0x02;
+    private static final int FLAG_EXTRA = 0x04;
+    private static final int FLAG_NAME = 0x08;
+    private static final int FLAG_COMMENT = 0x10;
+    private static final int FLAG_RESERVED = 0xE0;
+    private static final int INFLATE_BUFFER_SIZE = 64 * 1024;
+
+    private final String filePath;
+    private final ForkJoinPool pool;
+    private final RejectedLineCollector rejectedLines;
+
+    public ParallelGzipArrayFileReaderImpl(String filePath) {
+        this(filePath, ForkJoinPool.commonPool());
+    }
+
+    public ParallelGzipArrayFileReaderImpl(String filePath, ForkJoinPool pool) {
+        this.filePath = filePath;
+        this.pool = pool;
+        this.rejectedLines = new RejectedLineCollector(ArrayFileReaderImpl.DEFAULT_REJECTED_SAMPLE_SIZE);
+    }
+
+    /**
+     * Served from the shared {@link ParsedFileCache}; the returned list is unmodifiable.
+     */
+    @Override
+    public List<StringArrayImpl> readArraysFromFile() throws FileReadException, InvalidDataException {
+        return ParsedFileCache.getInstance().getOrLoad(filePath, rejectedLines, this::parseFile);
+    }
+
+    private List<StringArrayImpl> parseFile() throws FileReadException, InvalidDataException {
+        logger.info("Reading word arrays from gzip members of: {} (parallelism {})", filePath, pool.getParallelism());
+        List<String[]> parsedLines = new ArrayList<>();
+        rejectedLines.reset();
+
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            MemberLineIterator lines = new MemberLineIterator(channel);
+            while (lines.hasNext()) {
+                parsedLines.add(lines.next());
+            }
+
+            logger.info("Successfully processed {} valid word arrays from {} gzip members",
+                    parsedLines.size(), lines.getMemberCount());
+            logRejectedLines();
+
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Error reading file: {} - {}", filePath, e.getMessage(), e);
+            throw new FileReadException("File not found or cannot be read: " + filePath, e);
+        }
+
+        try {
+            return ArrayFactory.createAll(parsedLines);
+        } catch (InvalidArrayException e) {
+            throw new InvalidDataException("Cannot create arrays from " + filePath + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Inflates at most {@code parallelism} members ahead of the consumer. The arrays are detached: nothing is
+     * registered in the repository.
+     */
+    @Override
+    public Stream<StringArrayImpl> streamArraysFromFile() throws FileReadException {
+        logger.info("Streaming word arrays from gzip members of: {}", filePath);
+        FileChannel channel = null;
+        rejectedLines.reset();
+        try {
+            channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ);
+            FileChannel openChannel = channel;
+            MemberLineIterator lines = new MemberLineIterator(channel);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(lines, Spliterator.ORDERED), false)
+                    .map(this::createArray)
+                    .filter(Objects::nonNull)
+                    .onClose(() -> closeChannel(openChannel));
+        } catch (IOException e) {
+            if (channel != null) {
+                closeChannel(channel);
+            }
+            logger.error("Error reading file: {} - {}", filePath, e.getMessage(), e);
+            throw new FileReadException("File not found or cannot be read: " + filePath, e);
+        }
+    }
+
+    private StringArrayImpl createArray(String[] words) {
+        try {
+            return ArrayFactory.createDetached(words);
+        } catch (InvalidArrayException e) {
+            logger.warn("Skipping invalid array: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void closeChannel(FileChannel channel) {
+        try {
+            channel.close();
+            logger.debug("Closed stream over file: {}", filePath);
+            logRejectedLines();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close file: " + filePath, e);
+        }
+    }
+
+    private static List<Integer> findMemberCandidates(MappedByteBuffer file) {
+        List<Integer> candidates = new ArrayList<>();
+        int limit = file.limit() - GZIP_HEADER_SIZE - GZIP_TRAILER_SIZE;
+        for (int i = 0; i <= limit; i++) {
+            if (file.get(i) == (byte) 0x1F && file.get(i + 1) == (byte) 0x8B && file.get(i + 2) == 8
+                    && (file.get(i + 3) & FLAG_RESERVED) == 0) {
+                candidates.add(i);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Inflates the single member starting at {@code start} and parses the lines that lie entirely inside it.
+     * Returns {@code null} if no valid member starts there. The slice buffer only grows past
+     * {@link #INFLATE_BUFFER_SIZE} to hold a longer line.
+     */
+    private Member inflateMember(MappedByteBuffer file, int start) {
+        ByteBuffer input = file.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        Inflater inflater = new Inflater(true);
+        try {
+            int dataStart = skipHeader(input, start);
+            if (dataStart < 0) {
+                return null;
+            }
+            input.limit(file.limit()).position(dataStart);
+            inflater.setInput(input.slice());
+
+            Member member = new Member(start, new RejectedLineCollector(rejectedLines.getSampleCapacity()));
+            byte[] buffer = new byte[INFLATE_BUFFER_SIZE];
+            int kept = 0;
+            CRC32 crc = new CRC32();
+            while (!inflater.finished()) {
+                if (kept == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                int inflated = inflater.inflate(buffer, kept, buffer.length - kept);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    return null;
+                }
+                crc.update(buffer, kept, inflated);
+                kept = member.accept(buffer, kept + inflated, false);
+            }
+            member.accept(buffer, kept, true);
+
+            int trailer = dataStart + (int) inflater.getBytesRead();
+            if (trailer + GZIP_TRAILER_SIZE > file.limit()
+                    || (input.getInt(trailer) & 0xFFFFFFFFL) != crc.getValue()
+                    || input.getInt(trailer + 4) != (int) inflater.getBytesWritten()) {
+                return null;
+            }
+            member.end = trailer + GZIP_TRAILER_SIZE;
+            return member;
+        } catch (DataFormatException | IndexOutOfBoundsException e) {
+            return null;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int skipHeader(ByteBuffer input, int start) {
+        int flags = input.get(start + 3) & 0xFF;
+        int position = start + GZIP_HEADER_SIZE;
+        if ((flags & FLAG_EXTRA) != 0) {
+            position += 2 + (input.getShort(position) & 0xFFFF);
+        }
+        if ((flags & FLAG_NAME) != 0) {
+            position = skipZeroTerminated(input, position);
+        }
+        if ((flags & FLAG_COMMENT) != 0) {
+            position = skipZeroTerminated(input, position);
+        }
+        if ((flags & FLAG_HCRC) != 0) {
+            position += 2;
+        }
+        return position < input.limit() ? position : -1;
+    }
+
+    private static int skipZeroTerminated(ByteBuffer input, int position) {
+        while (position < input.limit() && input.get(position) != 0) {
+            position++;
+        }
+        return position + 1;
+    }
+
+    private void logRejectedLines() {
+        if (rejectedLines.getTotal() > 0) {
+            logger.warn("Rejected {} lines in {}: {}", rejectedLines.getTotal(), filePath, rejectedLines.getCounts());
+            for (RejectedLineCollector.Sample sample : rejectedLines.getSamples()) {
+                logger.debug("Rejected sample: {}", sample);
+            }
+        }
+    }
+
+    @Override
+    public RejectedLineCollector getRejectedLines() {
+        return rejectedLines;
+    }
+
+    @Override
+    public void printFileStatistics() {
+        try {
+            List<StringArrayImpl> arrays = readArraysFromFile();
+
+            logger.info("=== GZIP FILE STATISTICS ===");
+            logger.info("Total valid word arrays: {}", arrays.size());
+
+            for (int i = 0; i < arrays.size(); i++) {
+                StringArrayImpl array = arrays.get(i);
+                logger.info("Word Array {}: {} (words: {})", i + 1, array, array.length());
+            }
+        } catch (Exception e) {
+            logger.error("Error generating statistics: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        logger.debug("Clearing file cache");
+        ParsedFileCache.getInstance().invalidate(filePath);
+    }
+
+    /**
+     * Inflated member: the complete lines it contains are parsed by the worker, the fragments before its
+     * first and after its last line break are left to be joined with the neighbouring members. Rejections are
+     * kept apart until the member is accepted, so a speculative member leaves no trace.
+     */
+    private static final class Member {
+        private final int start;
+        private final RejectedLineCollector rejectedLines;
+        private final LineTokenizer tokenizer = new LineTokenizerImpl();
+        private final ArrayValidatorImpl validator = new ArrayValidatorImpl();
+        private final List<String[]> lines = new ArrayList<>();
+        private int end;
+        private long consumed;
+        private byte[] head = new byte[0];
+        private byte[] tail = new byte[0];
+        private boolean hasLineBreak;
+        private boolean startsWithLf;
+        private boolean endsWithCr;
+
+        private Member(int start, RejectedLineCollector rejectedLines) {
+            this.start = start;
+            this.rejectedLines = rejectedLines;
+        }
+
+        /**
+         * Parses the complete lines among the first {@code length} bytes of {@code data} and moves the rest to
+         * its front, returning their count. A trailing carriage return is kept until the next byte shows
+         * whether it starts a CRLF pair; on the {@code last} slice everything left becomes the tail.
+         */
+        private int accept(byte[] data, int length, boolean last) {
+            if (!hasLineBreak && length > 0) {
+                startsWithLf = data[0] == '\n';
+            }
+            int limit = !last && length > 0 && data[length - 1] == '\r' ? length - 1 : length;
+            int from = 0;
+            if (!hasLineBreak) {
+                int first = 0;
+                while (first < limit && data[first] != '\n' && data[first] != '\r') {
+                    first++;
+                }
+                if (first == limit) {
+                    if (last) {
+                        head = Arrays.copyOf(data, length);
+                    }
+                    return last ? 0 : length;
+                }
+                hasLineBreak = true;
+                head = Arrays.copyOf(data, first);
+                from = data[first] == '\r' && first + 1 < length && data[first + 1] == '\n' ? first + 2 : first + 1;
+            }
+
+            int lastBreak = limit - 1;
+            while (lastBreak >= from && data[lastBreak] != '\n' && data[lastBreak] != '\r') {
+                lastBreak--;
+            }
+            if (lastBreak >= from) {
+                MappedArrayFileReaderImpl.parseLines(ByteBuffer.wrap(data), from, lastBreak + 1, start + consumed,
+                        tokenizer, validator, rejectedLines, lines);
+                from = lastBreak + 1;
+            }
+            if (last) {
+                tail = Arrays.copyOfRange(data, from, length);
+                endsWithCr = length > 0 && data[length - 1] == '\r';
+                return 0;
+            }
+            System.arraycopy(data, from, data, 0, length - from);
+            consumed += from;
+            return length - from;
+        }
+    }
+
+    /**
+     * Chains members in file order, keeping a window of in-flight inflations on the pool.
+     */
+    private final class MemberLineIterator implements Iterator<String[]> {
+        private final MappedByteBuffer file;
+        private final List<Integer> candidates;
+        private final Deque<CompletableFuture<Member>> inFlight = new ArrayDeque<>();
+        private final LineTokenizer tokenizer = new LineTokenizerImpl();
+        private final ArrayValidatorImpl validator = new ArrayValidatorImpl();
+        private final Deque<String[]> ready = new ArrayDeque<>();
+        private int nextCandidate;
+        private int position;
+        private byte[] carry = new byte[0];
+        private boolean previousEndedWithCr;
+        private int memberCount;
+        private boolean finished;
+
+        private MemberLineIterator(FileChannel channel) throws IOException {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Gzip file larger than " + Integer.MAX_VALUE + " bytes: " + filePath);
+            }
+            this.file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            this.candidates = findMemberCandidates(file);
+            if (file.limit() > 0 && (candidates.isEmpty() || candidates.get(0) != 0)) {
+                throw new IOException("Not a gzip file: " + filePath);
+            }
+            logger.debug("File {} has {} gzip member candidates", filePath, candidates.size());
+            fillWindow();
+        }
+
+        private void fillWindow() {
+            while (inFlight.size() < pool.getParallelism() && nextCandidate < candidates.size()) {
+                int start = candidates.get(nextCandidate++);
+                if (start < position) {
+                    continue;
+                }
+                inFlight.add(CompletableFuture.supplyAsync(() -> inflateMember(file, start), pool));
+            }
+        }
+
+        private void advance() {
+            while (ready.isEmpty() && !finished) {
+                if (position == file.limit()) {
+                    finishLastLine();
+                    return;
+                }
+                if (inFlight.isEmpty()) {
+                    throw new UncheckedIOException(new IOException(
+                            "Trailing data after gzip member at offset " + position + " in " + filePath));
+                }
+                Member member = await(inFlight.poll());
+                fillWindow();
+                if (member == null || member.start < position) {
+                    continue;
+                }
+                if (member.start > position) {
+                    throw new UncheckedIOException(new IOException(
+                            "Corrupt gzip member at offset " + position + " in " + filePath));
+                }
+                append(member);
+            }
+        }
+
+        private Member await(CompletableFuture<Member> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                throw new UncheckedIOException(new IOException("Cannot inflate gzip member", e.getCause()));
+            }
+        }
+
+        private void append(Member member) {
+            memberCount++;
+            position = member.end;
+            rejectedLines.addAll(member.rejectedLines);
+            if (!member.hasLineBreak) {
+                carry = concat(carry, member.head);
+                return;
+            }
+            boolean lfOfSplitCrLf = previousEndedWithCr && member.startsWithLf && carry.length == 0;
+            if (!lfOfSplitCrLf) {
+                parseFragment(concat(carry, member.head), member.start);
+            }
+            ready.addAll(member.lines);
+            carry = member.tail;
+            previousEndedWithCr = member.endsWithCr;
+        }
+
+        private void finishLastLine() {
+            finished = true;
+            if (carry.length > 0) {
+                parseFragment(carry, position);
+            }
+        }
+
+        private void parseFragment(byte[] line, long offset) {
+            List<String[]> parsed = new ArrayList<>(1);
+            MappedArrayFileReaderImpl.parseLine(tokenizer.tokenize(ByteBuffer.wrap(line), 0, line.length), offset,
+                    0, validator, rejectedLines, parsed);
+            ready.addAll(parsed);
+        }
+
+        private byte[] concat(byte[] first, byte[] second) {
+            if (first.length == 0) {
+                return second;
+            }
+            byte[] joined = Arrays.copyOf(first, first.length + second.length);
+            System.arraycopy(second, 0, joined, first.length, second.length);
+            return joined;
+        }
+
+        private int getMemberCount() {
+            return memberCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            advance();
+            return !ready.isEmpty();
+        }
+
+        @Override
+        public String[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return ready.poll();
+        }
+    }
+}
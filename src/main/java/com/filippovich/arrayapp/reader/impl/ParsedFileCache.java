@@ -0,0 +1,240 @@
+package main.java.com.filippovich.arrayapp.reader.impl;
+
+import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
+import main.java.com.filippovich.arrayapp.exception.FileReadException;
+import main.java.com.filippovich.arrayapp.exception.InvalidDataException;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of parsed files keyed by canonical path. An entry is served only while the file's size
+ * and modification time are unchanged; entries are evicted least-recently-used first once their estimated
+ * heap footprint exceeds the memory budget. Concurrent readers of the same file wait for a single parse; the
+ * lock they share is dropped once the last of them is done, so locks are kept only for files being loaded.
+ */
+public final class ParsedFileCache {
+    private static final Logger logger = LoggerUtil.getLogger(ParsedFileCache.class);
+    public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    private static final int ARRAY_OVERHEAD_BYTES = 96;
+    private static final int WORD_OVERHEAD_BYTES = 44;
+
+    private static ParsedFileCache instance;
+
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Path, LoadLock> loadLocks = new ConcurrentHashMap<>();
+    private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+    private long usedMemory;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    private ParsedFileCache() {
+    }
+
+    public static synchronized ParsedFileCache getInstance() {
+        if (instance == null) {
+            instance = new ParsedFileCache();
+        }
+        return instance;
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        List<StringArrayImpl> load() throws FileReadException, InvalidDataException;
+    }
+
+    /**
+     * Returns the cached arrays of {@code filePath} as an unmodifiable list, parsing the file with
+     * {@code loader} if it is not cached or has changed. The rejected-line statistics of the parse that
+     * produced the entry are copied into {@code rejectedLines}.
+     */
+    public List<StringArrayImpl> getOrLoad(String filePath, RejectedLineCollector rejectedLines, Loader loader)
+            throws FileReadException, InvalidDataException {
+        Path key;
+        long size;
+        long modified;
+        try {
+            key = Path.of(filePath).toRealPath();
+            size = Files.size(key);
+            modified = Files.getLastModifiedTime(key).toMillis();
+        } catch (IOException e) {
+            logger.error("Error reading file: {} - {}", filePath, e.getMessage(), e);
+            throw new FileReadException("File not found or cannot be read: " + filePath, e);
+        }
+
+        Entry cached = lookup(key, size, modified);
+        if (cached == null) {
+            LoadLock lock = loadLocks.compute(key, (k, held) -> (held != null ? held : new LoadLock()).acquire());
+            try {
+                synchronized (lock) {
+                    cached = lookup(key, size, modified);
+                    if (cached == null) {
+                        return load(key, size, modified, rejectedLines, loader).arrays;
+                    }
+                }
+            } finally {
+                loadLocks.computeIfPresent(key, (k, held) -> held.release() ? null : held);
+            }
+        }
+        rejectedLines.reset();
+        rejectedLines.addAll(cached.rejectedLines);
+        return cached.arrays;
+    }
+
+    private synchronized Entry lookup(Path key, long size, long modified) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.size != size || entry.modified != modified) {
+            logger.debug("Cached parse of {} is stale, dropping it", key);
+            remove(key);
+            return null;
+        }
+        hits++;
+        logger.debug("Returning cached arrays of {}", key);
+        return entry;
+    }
+
+    private Entry load(Path key, long size, long modified, RejectedLineCollector rejectedLines, Loader loader)
+            throws FileReadException, InvalidDataException {
+        List<StringArrayImpl> arrays = loader.load();
+        RejectedLineCollector rejects = new RejectedLineCollector(rejectedLines.getSampleCapacity());
+        rejects.addAll(rejectedLines);
+        Entry entry = new Entry(Collections.unmodifiableList(arrays), size, modified, estimate(arrays), rejects);
+
+        synchronized (this) {
+            misses++;
+            remove(key);
+            if (entry.footprint > memoryBudget) {
+                logger.debug("Parsed {} ({} bytes) exceeds the cache budget, not caching it", key, entry.footprint);
+            } else {
+                entries.put(key, entry);
+                usedMemory += entry.footprint;
+                evictToBudget();
+            }
+        }
+        return entry;
+    }
+
+    private void remove(Path key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            usedMemory -= removed.footprint;
+        }
+    }
+
+    private void evictToBudget() {
+        Iterator<Map.Entry<Path, Entry>> eldest = entries.entrySet().iterator();
+        while (usedMemory > memoryBudget && eldest.hasNext()) {
+            Map.Entry<Path, Entry> evicted = eldest.next();
+            eldest.remove();
+            usedMemory -= evicted.getValue().footprint;
+            evictions++;
+            logger.debug("Evicted cached parse of {} ({} bytes)", evicted.getKey(), evicted.getValue().footprint);
+        }
+    }
+
+    private static long estimate(List<StringArrayImpl> arrays) {
+        long bytes = 0;
+        for (StringArrayImpl array : arrays) {
+            bytes += ARRAY_OVERHEAD_BYTES + (long) WORD_OVERHEAD_BYTES * array.length() + 2L * array.lengths().sum();
+        }
+        return bytes;
+    }
+
+    public void invalidate(String filePath) {
+        try {
+            Path key = Path.of(filePath).toRealPath();
+            synchronized (this) {
+                remove(key);
+            }
+        } catch (IOException e) {
+            logger.debug("Nothing to invalidate for {}: {}", filePath, e.getMessage());
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        usedMemory = 0;
+    }
+
+    public synchronized void setMemoryBudget(long memoryBudget) {
+        if (memoryBudget < 0) {
+            throw new IllegalArgumentException("Memory budget cannot be negative: " + memoryBudget);
+        }
+        this.memoryBudget = memoryBudget;
+        evictToBudget();
+    }
+
+    public synchronized long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public synchronized long getUsedMemory() {
+        return usedMemory;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Counts the readers using it; only changed inside {@code loadLocks} compute calls.
+     */
+    private static final class LoadLock {
+        private int users;
+
+        private LoadLock acquire() {
+            users++;
+            return this;
+        }
+
+        /**
+         * Returns whether this was the last user.
+         */
+        private boolean release() {
+            return --users == 0;
+        }
+    }
+
+    private static final class Entry {
+        private final List<StringArrayImpl> arrays;
+        private final long size;
+        private final long modified;
+        private final long footprint;
+        private final RejectedLineCollector rejectedLines;
+
+        private Entry(List<StringArrayImpl> arrays, long size, long modified, long footprint,
+                      RejectedLineCollector rejectedLines) {
+            this.arrays = arrays;
+            this.size = size;
+            this.modified = modified;
+            this.footprint = footprint;
+            this.rejectedLines = rejectedLines;
+        }
+    }
+}
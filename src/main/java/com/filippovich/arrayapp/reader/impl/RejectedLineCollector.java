@@ -0,0 +1,159 @@
+package main.java.com.filippovich.arrayapp.reader.impl;
+
+import main.java.com.filippovich.arrayapp.parser.impl.TokenizedLine;
+import main.java.com.filippovich.arrayapp.validation.RejectReason;
+import main.java.com.filippovich.arrayapp.validation.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Aggregates rejected lines by reason and keeps a bounded sample of them. Safe for concurrent use.
+ */
+public final class RejectedLineCollector {
+    private static final int MAX_SAMPLE_LINE_LENGTH = 200;
+    private static final RejectReason[] REASONS = RejectReason.values();
+
+    private final AtomicLongArray counters = new AtomicLongArray(REASONS.length);
+    private final int sampleCapacity;
+    private final List<Sample> samples = new ArrayList<>();
+
+    public RejectedLineCollector(int sampleCapacity) {
+        if (sampleCapacity < 0) {
+            throw new IllegalArgumentException("Sample capacity cannot be negative: " + sampleCapacity);
+        }
+        this.sampleCapacity = sampleCapacity;
+    }
+
+    public void record(ValidationResult result, TokenizedLine line, long chunkOffset, int lineNumber) {
+        counters.incrementAndGet(result.getReason().ordinal());
+        if (sampleCapacity == 0) {
+            return;
+        }
+        synchronized (samples) {
+            if (samples.size() < sampleCapacity) {
+                samples.add(new Sample(chunkOffset, lineNumber, result, truncate(line.getSource())));
+            }
+        }
+    }
+
+    /**
+     * Adds the counts of {@code other} and as many of its samples as still fit.
+     */
+    public void addAll(RejectedLineCollector other) {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.addAndGet(i, other.counters.get(i));
+        }
+        List<Sample> otherSamples = other.getSamples();
+        synchronized (samples) {
+            for (Sample sample : otherSamples) {
+                if (samples.size() >= sampleCapacity) {
+                    break;
+                }
+                samples.add(sample);
+            }
+        }
+    }
+
+    public int getSampleCapacity() {
+        return sampleCapacity;
+    }
+
+    public long getCount(RejectReason reason) {
+        return counters.get(reason.ordinal());
+    }
+
+    public long getTotal() {
+        long total = 0;
+        for (int i = 0; i < counters.length(); i++) {
+            total += counters.get(i);
+        }
+        return total;
+    }
+
+    public Map<RejectReason, Long> getCounts() {
+        Map<RejectReason, Long> counts = new EnumMap<>(RejectReason.class);
+        for (RejectReason reason : REASONS) {
+            counts.put(reason, getCount(reason));
+        }
+        return counts;
+    }
+
+    public List<Sample> getSamples() {
+        synchronized (samples) {
+            return Collections.unmodifiableList(new ArrayList<>(samples));
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+        synchronized (samples) {
+            samples.clear();
+        }
+    }
+
+    private static String truncate(CharSequence line) {
+        if (line == null) {
+            return null;
+        }
+        return line.length() <= MAX_SAMPLE_LINE_LENGTH
+                ? line.toString()
+                : line.subSequence(0, MAX_SAMPLE_LINE_LENGTH) + "...";
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RejectedLineCollector.class.getSimpleName() + "[", "]")
+                .add("total=" + getTotal())
+                .add("byReason=" + getCounts())
+                .add("samples=" + getSamples().size())
+                .toString();
+    }
+
+    public static final class Sample {
+        private final long chunkOffset;
+        private final int lineNumber;
+        private final ValidationResult result;
+        private final String line;
+
+        private Sample(long chunkOffset, int lineNumber, ValidationResult result, String line) {
+            this.chunkOffset = chunkOffset;
+            this.lineNumber = lineNumber;
+            this.result = result;
+            this.line = line;
+        }
+
+        public long getChunkOffset() {
+            return chunkOffset;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public ValidationResult getResult() {
+            return result;
+        }
+
+        public String getLine() {
+            return line;
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", Sample.class.getSimpleName() + "[", "]")
+                    .add("chunkOffset=" + chunkOffset)
+                    .add("line=" + lineNumber)
+                    .add("result=" + result)
+                    .add("text='" + line + "'")
+                    .toString();
+        }
+    }
+}
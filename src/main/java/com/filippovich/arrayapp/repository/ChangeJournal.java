@@ -0,0 +1,28 @@
+package main.java.com.filippovich.arrayapp.repository;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Durable record of repository changes. The repository calls it before it applies a change, under the write
+ * lock of the changed key, and refuses the change if logging fails.
+ */
+public interface ChangeJournal {
+
+    /**
+     * Returns once the record is durable under the journal's own policy.
+     */
+    void logAdd(StringArray array) throws IOException;
+
+    void logAddAll(List<? extends StringArray> arrays) throws IOException;
+
+    void logRemove(long key) throws IOException;
+
+    /**
+     * Starts a new part of the journal and returns its position. Called while no change is between being
+     * logged and being applied, so every change logged before the returned position is already applied.
+     */
+    long rotate() throws IOException;
+}
@@ -0,0 +1,70 @@
+package main.java.com.filippovich.arrayapp.repository;
+
+import java.util.Objects;
+
+/**
+ * Position in the repository's key order. Results resumed from a cursor start with the first array whose
+ * key is greater than the last one returned, so inserts and removals between pages never shift a page.
+ */
+public final class Cursor {
+    public static final Cursor START = new Cursor(false, 0);
+
+    private final boolean positioned;
+    private final long lastKey;
+
+    private Cursor(boolean positioned, long lastKey) {
+        this.positioned = positioned;
+        this.lastKey = lastKey;
+    }
+
+    public static Cursor after(long key) {
+        return new Cursor(true, key);
+    }
+
+    public boolean isStart() {
+        return !positioned;
+    }
+
+    public long getLastKey() {
+        if (!positioned) {
+            throw new IllegalStateException("The start cursor has no last key");
+        }
+        return lastKey;
+    }
+
+    /**
+     * Compact form for passing the cursor through a request, e.g. a URL parameter.
+     */
+    public String encode() {
+        return positioned ? Long.toString(lastKey) : "";
+    }
+
+    public static Cursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return START;
+        }
+        try {
+            return after(Long.parseLong(token));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Cursor that = (Cursor) o;
+        return positioned == that.positioned && lastKey == that.lastKey;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(positioned, lastKey);
+    }
+
+    @Override
+    public String toString() {
+        return positioned ? "Cursor{after=" + lastKey + '}' : "Cursor{START}";
+    }
+}
@@ -0,0 +1,16 @@
+package main.java.com.filippovich.arrayapp.repository;
+
+/**
+ * Which array a bounded repository gives up when it exceeds its budget.
+ */
+public enum EvictionPolicy {
+    /** The array read or written least recently. */
+    LRU,
+    /** The array read least often since it was added; ties go to the one added first. */
+    LFU,
+    /**
+     * A small LRU window in front of a segmented LRU main area; an array leaving the window only displaces a
+     * main-area array that a decaying frequency sketch estimates to be used less often.
+     */
+    W_TINY_LFU
+}
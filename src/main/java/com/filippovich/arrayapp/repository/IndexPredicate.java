@@ -0,0 +1,67 @@
+package main.java.com.filippovich.arrayapp.repository;
+
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Inclusive range {@code [from, to]} on an {@link IndexedAttribute}; a {@code null} bound is open. Equality
+ * is a range whose bounds are equal. Bounds must have the attribute's {@link IndexedAttribute#getValueType()
+ * value type}, otherwise the factory methods throw {@link IllegalArgumentException}.
+ */
+public final class IndexPredicate {
+    private final IndexedAttribute attribute;
+    private final Comparable<?> from;
+    private final Comparable<?> to;
+
+    private IndexPredicate(IndexedAttribute attribute, Comparable<?> from, Comparable<?> to) {
+        this.attribute = Objects.requireNonNull(attribute, "attribute");
+        this.from = checkType(attribute, from);
+        this.to = checkType(attribute, to);
+    }
+
+    private static Comparable<?> checkType(IndexedAttribute attribute, Comparable<?> bound) {
+        if (bound != null && !attribute.getValueType().isInstance(bound)) {
+            throw new IllegalArgumentException(attribute + " values are " + attribute.getValueType().getSimpleName()
+                    + ", not " + bound.getClass().getSimpleName() + ": " + bound);
+        }
+        return bound;
+    }
+
+    public static IndexPredicate equalTo(IndexedAttribute attribute, Comparable<?> value) {
+        Objects.requireNonNull(value, "value");
+        return new IndexPredicate(attribute, value, value);
+    }
+
+    public static IndexPredicate between(IndexedAttribute attribute, Comparable<?> from, Comparable<?> to) {
+        return new IndexPredicate(attribute, from, to);
+    }
+
+    public static IndexPredicate atLeast(IndexedAttribute attribute, Comparable<?> from) {
+        return new IndexPredicate(attribute, Objects.requireNonNull(from, "from"), null);
+    }
+
+    public static IndexPredicate atMost(IndexedAttribute attribute, Comparable<?> to) {
+        return new IndexPredicate(attribute, null, Objects.requireNonNull(to, "to"));
+    }
+
+    public IndexedAttribute getAttribute() {
+        return attribute;
+    }
+
+    public Comparable<?> getFrom() {
+        return from;
+    }
+
+    public Comparable<?> getTo() {
+        return to;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", IndexPredicate.class.getSimpleName() + "[", "]")
+                .add("attribute=" + attribute)
+                .add("from=" + from)
+                .add("to=" + to)
+                .toString();
+    }
+}
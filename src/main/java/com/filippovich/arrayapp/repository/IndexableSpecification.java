@@ -0,0 +1,12 @@
+package main.java.com.filippovich.arrayapp.repository;
+
+import java.util.List;
+
+/**
+ * A specification that declares predicates the repository can answer from its secondary indexes. Every
+ * array it specifies must satisfy all declared predicates; {@link #specified} is still applied to the
+ * candidates, so the predicates may be looser than the specification itself.
+ */
+public interface IndexableSpecification extends Specification {
+    List<IndexPredicate> indexPredicates();
+}
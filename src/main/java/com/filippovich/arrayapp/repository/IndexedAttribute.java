@@ -0,0 +1,45 @@
+package main.java.com.filippovich.arrayapp.repository;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+
+/**
+ * Attributes of an array that the repository maintains secondary indexes on. Values are compared in their
+ * natural order; {@link #FIRST_WORD} has no value for an empty array.
+ */
+public enum IndexedAttribute {
+    WORD_COUNT(Integer.class),
+    MAX_LENGTH(Integer.class),
+    MIN_LENGTH(Integer.class),
+    TOTAL_LENGTH(Integer.class),
+    FIRST_WORD(String.class);
+
+    private final Class<? extends Comparable<?>> valueType;
+
+    IndexedAttribute(Class<? extends Comparable<?>> valueType) {
+        this.valueType = valueType;
+    }
+
+    /**
+     * Type of the values {@link #valueOf} returns; predicate bounds must have this type.
+     */
+    public Class<? extends Comparable<?>> getValueType() {
+        return valueType;
+    }
+
+    public Comparable<?> valueOf(StringArray array) {
+        switch (this) {
+            case WORD_COUNT:
+                return array.length();
+            case MAX_LENGTH:
+                return array.getMaxLength();
+            case MIN_LENGTH:
+                return array.getMinLength();
+            case TOTAL_LENGTH:
+                return array.getTotalLength();
+            case FIRST_WORD:
+                return array.isEmpty() ? null : array.get(0);
+            default:
+                throw new AssertionError("Unknown attribute: " + this);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package main.java.com.filippovich.arrayapp.repository;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * One page of query results in key order, with the cursor to request the next page from.
+ */
+public final class Page {
+    private final List<StringArray> items;
+    private final Cursor next;
+    private final boolean hasMore;
+
+    public Page(List<StringArray> items, Cursor next, boolean hasMore) {
+        this.items = Collections.unmodifiableList(items);
+        this.next = next;
+        this.hasMore = hasMore;
+    }
+
+    public List<StringArray> getItems() {
+        return items;
+    }
+
+    /**
+     * Cursor after the last item of this page; passing it back yields the following page.
+     */
+    public Cursor getNext() {
+        return next;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", Page.class.getSimpleName() + "[", "]")
+                .add("items=" + items.size())
+                .add("next=" + next)
+                .add("hasMore=" + hasMore)
+                .toString();
+    }
+}
@@ -1,15 +1,57 @@
 package main.java.com.filippovich.arrayapp.repository;
 
 import main.java.com.filippovich.arrayapp.entity.StringArray;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface StringArrayRepository {
     void add(StringArray stringArray);
+    void addAll(Collection<? extends StringArray> arrays);
     Optional<StringArray> findById(UUID id);
+    Optional<StringArray> findByKey(long key);
     List<StringArray> findAll();
     boolean remove(StringArray stringArray);
 
     List<StringArray> query(Specification spec);
+
+    /**
+     * Lazily matches arrays in ascending key order, starting after {@code from}; a limit on the stream stops
+     * the walk early.
+     */
+    Stream<StringArray> stream(Specification spec, Cursor from);
+
+    default List<StringArray> query(Specification spec, int offset, int limit) {
+        checkPaging(offset, limit);
+        return stream(spec, Cursor.START)
+                .skip(offset)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fetches one extra match to tell whether another page follows.
+     */
+    default Page query(Specification spec, Cursor from, int limit) {
+        checkPaging(0, limit);
+        List<StringArray> items = stream(spec, from)
+                .limit(limit + 1L)
+                .collect(Collectors.toList());
+        boolean hasMore = items.size() > limit;
+        if (hasMore) {
+            items.remove(limit);
+        }
+        Cursor next = items.isEmpty() ? from : Cursor.after(items.get(items.size() - 1).getKey());
+        return new Page(items, next, hasMore);
+    }
+
+    private static void checkPaging(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative: " + offset + ", " + limit);
+        }
+    }
 }
\ No newline at end of file
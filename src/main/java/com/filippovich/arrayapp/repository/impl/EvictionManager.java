@@ -0,0 +1,163 @@
+package main.java.com.filippovich.arrayapp.repository.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Budget accounting and eviction order of a bounded {@link StringArrayRepositoryImpl}, plus the optional
+ * spill tier. Writes are always recorded; reads are recorded only when the lock is free, so readers never
+ * wait for each other and a contended read merely loses its effect on the eviction order.
+ */
+final class EvictionManager implements AutoCloseable {
+    private static final Logger logger = LoggerUtil.getLogger(EvictionManager.class);
+
+    private final RepositoryBounds bounds;
+    private final EvictionTracker tracker;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final MappedArrayStore spill;
+
+    private long entries;
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder faults = new LongAdder();
+
+    EvictionManager(RepositoryBounds bounds) throws IOException {
+        this.bounds = bounds;
+        this.tracker = EvictionTracker.create(bounds.getPolicy(), bounds.getMaxEntries());
+        this.spill = bounds.spills()
+                ? new MappedArrayStore(bounds.getSpillDirectory(), "spill", MappedArrayStore.DEFAULT_SEGMENT_BYTES)
+                : null;
+        logger.info("Repository bounded: {}", bounds);
+    }
+
+    /**
+     * Rough heap footprint of an array held as one {@code String} per word.
+     */
+    static long weightOf(StringArray array) {
+        return 64 + 48L * array.length() + 2L * array.getTotalLength();
+    }
+
+    RepositoryBounds getBounds() {
+        return bounds;
+    }
+
+    void onAdd(StringArray array) {
+        lock.lock();
+        try {
+            tracker.add(array.getKey());
+            entries++;
+            bytes += weightOf(array);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onRemove(StringArray array) {
+        lock.lock();
+        try {
+            tracker.remove(array.getKey());
+            entries--;
+            bytes -= weightOf(array);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onHit(long key) {
+        hits.increment();
+        if (lock.tryLock()) {
+            try {
+                tracker.access(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    void onMiss() {
+        misses.increment();
+    }
+
+    /**
+     * Picks the next array to evict while the budget is exceeded.
+     */
+    OptionalLong nextVictim() {
+        lock.lock();
+        try {
+            boolean over = bounds.getMaxEntries() > 0 && entries > bounds.getMaxEntries()
+                    || bounds.getMaxBytes() > 0 && bytes > bounds.getMaxBytes();
+            return over && !tracker.isEmpty() ? OptionalLong.of(tracker.poll()) : OptionalLong.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Keeps an evicted array in the spill tier, if there is one.
+     */
+    void onEvict(StringArray array) {
+        evictions.increment();
+        if (spill != null) {
+            spill.put(array, null);
+        }
+    }
+
+    boolean spills() {
+        return spill != null;
+    }
+
+    /**
+     * Removes and returns the spilled copy of {@code key}, or {@code null}.
+     */
+    StringArray unspill(long key) {
+        return spill != null ? spill.remove(key, null) : null;
+    }
+
+    boolean isSpilled(long key) {
+        return spill != null && spill.contains(key);
+    }
+
+    void onFault() {
+        faults.increment();
+    }
+
+    /**
+     * Removes and returns every spilled array.
+     */
+    List<StringArray> drainSpilled() {
+        List<StringArray> drained = new ArrayList<>();
+        if (spill != null) {
+            for (long key : spill.sortedKeys()) {
+                StringArray spilled = spill.remove(key, null);
+                if (spilled != null) {
+                    drained.add(spilled);
+                }
+            }
+        }
+        return drained;
+    }
+
+    EvictionStatistics statistics() {
+        return new EvictionStatistics(hits.sum(), misses.sum(), evictions.sum(), faults.sum(),
+                spill != null ? spill.size() : 0);
+    }
+
+    @Override
+    public void close() {
+        logger.info("Eviction stopped: {}", statistics());
+        if (spill != null) {
+            spill.close();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package main.java.com.filippovich.arrayapp.repository.impl;
+
+import java.util.StringJoiner;
+
+/**
+ * Counters of a bounded repository since it was bounded.
+ */
+public final class EvictionStatistics {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long faults;
+    private final int spilled;
+
+    EvictionStatistics(long hits, long misses, long evictions, long faults, int spilled) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.faults = faults;
+        this.spilled = spilled;
+    }
+
+    /**
+     * Lookups by key answered from memory.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Lookups by key not answered from memory, including those then answered from the spill tier.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Arrays read back from the spill tier.
+     */
+    public long getFaults() {
+        return faults;
+    }
+
+    /**
+     * Arrays currently in the spill tier.
+     */
+    public int getSpilled() {
+        return spilled;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", EvictionStatistics.class.getSimpleName() + "[", "]")
+                .add("hits=" + hits)
+                .add("misses=" + misses)
+                .add(String.format("hitRate=%.3f", getHitRate()))
+                .add("evictions=" + evictions)
+                .add("faults=" + faults)
+                .add("spilled=" + spilled)
+                .toString();
+    }
+}
@@ -0,0 +1,39 @@
+package main.java.com.filippovich.arrayapp.repository.impl;
+
+import main.java.com.filippovich.arrayapp.repository.EvictionPolicy;
+
+/**
+ * Order in which resident keys are evicted under one {@link EvictionPolicy}. Not thread-safe; the
+ * {@link EvictionManager} calls it under its lock.
+ */
+interface EvictionTracker {
+
+    void add(long key);
+
+    void access(long key);
+
+    void remove(long key);
+
+    boolean isEmpty();
+
+    /**
+     * Forgets and returns the key to evict next; only called when not empty.
+     */
+    long poll();
+
+    /**
+     * @param expectedEntries sizes the frequency sketch of {@link EvictionPolicy#W_TINY_LFU}; 0 if unknown
+     */
+    static EvictionTracker create(EvictionPolicy policy, long expectedEntries) {
+        switch (policy) {
+            case LRU:
+                return new LruEvictionTracker();
+            case LFU:
+                return new LfuEvictionTracker();
+            case W_TINY_LFU:
+                return new TinyLfuEvictionTracker(expectedEntries);
+            default:
+                throw new IllegalArgumentException("Unsupported eviction policy: " + policy);
+        }
+    }
+}
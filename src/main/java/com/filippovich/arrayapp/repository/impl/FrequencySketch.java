@@ -0,0 +1,80 @@
+package main.java.com.filippovich.arrayapp.repository.impl;
+
+/**
+ * Count-min sketch of recent access frequency with four rows of saturating counters. After ten accesses
+ * per counter column every count is halved, so frequencies decay and old favourites can be displaced.
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {
+            0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+    private static final int MAX_COUNT = 15;
+    private static final int MIN_WIDTH = 16;
+
+    private byte[] table;
+    private int width;
+    private int sampleSize;
+    private int additions;
+
+    FrequencySketch(long expectedEntries) {
+        allocate(widthFor(expectedEntries));
+    }
+
+    private static int widthFor(long expectedEntries) {
+        int width = MIN_WIDTH;
+        while (width < expectedEntries && width < (1 << 28)) {
+            width <<= 1;
+        }
+        return width;
+    }
+
+    private void allocate(int newWidth) {
+        width = newWidth;
+        table = new byte[SEEDS.length * width];
+        sampleSize = 10 * width;
+        additions = 0;
+    }
+
+    /**
+     * Widens the sketch when the number of tracked keys outgrows it; the counts start over.
+     */
+    void ensureCapacity(long expectedEntries) {
+        int needed = widthFor(expectedEntries);
+        if (needed > width) {
+            allocate(needed);
+        }
+    }
+
+    private int indexOf(long key, int row) {
+        long h = (key ^ (key >>> 29)) * SEEDS[row];
+        return row * width + ((int) (h >>> 32) & (width - 1));
+    }
+
+    void increment(long key) {
+        boolean incremented = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int index = indexOf(key, row);
+            if (table[index] < MAX_COUNT) {
+                table[index]++;
+                incremented = true;
+            }
+        }
+        if (incremented && ++additions >= sampleSize) {
+            halve();
+        }
+    }
+
+    int frequency(long key) {
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < SEEDS.length; row++) {
+            frequency = Math.min(frequency, table[indexOf(key, row)]);
+        }
+        return frequency;
+    }
+
+    private void halve() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>= 1;
+        }
+        additions >>= 1;
+    }
+}
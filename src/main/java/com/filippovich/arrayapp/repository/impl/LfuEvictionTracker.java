@@ -0,0 +1,71 @@
+package main.java.com.filippovich.arrayapp.repository.impl;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keys grouped by access count; each group keeps insertion order, so ties are evicted oldest first.
+ */
+final class LfuEvictionTracker implements EvictionTracker {
+    private final Map<Long, Integer> counts = new HashMap<>();
+    private final TreeMap<Integer, LinkedHashSet<Long>> buckets = new TreeMap<>();
+
+    @Override
+    public void add(long key) {
+        Integer count = counts.get(key);
+        if (count != null) {
+            access(key);
+            return;
+        }
+        counts.put(key, 1);
+        buckets.computeIfAbsent(1, c -> new LinkedHashSet<>()).add(key);
+    }
+
+    @Override
+    public void access(long key) {
+        Integer count = counts.get(key);
+        if (count == null || count == Integer.MAX_VALUE) {
+            return;
+        }
+        unlink(key, count);
+        counts.put(key, count + 1);
+        buckets.computeIfAbsent(count + 1, c -> new LinkedHashSet<>()).add(key);
+    }
+
+    @Override
+    public void remove(long key) {
+        Integer count = counts.remove(key);
+        if (count != null) {
+            unlink(key, count);
+        }
+    }
+
+    private void unlink(long key, int count) {
+        LinkedHashSet<Long> bucket = buckets.get(count);
+        bucket.remove(key);
+        if (bucket.isEmpty()) {
+            buckets.remove(count);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return counts.isEmpty();
+    }
+
+    @Override
+    public long poll() {
+        Map.Entry<Integer, LinkedHashSet<Long>> rarest = buckets.firstEntry();
+        Iterator<Long> oldest = rarest.getValue().iterator();
+        long key = oldest.next();
+        oldest.remove();
+        if (rarest.getValue().isEmpty()) {
+            buckets.remove(rarest.getKey());
+        }
+        counts.remove(key);
+        return key;
+    }
+}
@@ -0,0 +1,36 @@
+package main.java.com.filippovich.arrayapp.repository.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+final class LruEvictionTracker implements EvictionTracker {
+    private final LinkedHashMap<Long, Boolean> order = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Override
+    public void add(long key) {
+        order.put(key, Boolean.TRUE);
+    }
+
+    @Override
+    public void access(long key) {
+        order.get(key);
+    }
+
+    @Override
+    public void remove(long key) {
+        order.remove(key);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return order.isEmpty();
+    }
+
+    @Override
+    public long poll() {
+        Iterator<Long> eldest = order.keySet().iterator();
+        long key = eldest.next();
+        eldest.remove();
+        return key;
+    }
+}
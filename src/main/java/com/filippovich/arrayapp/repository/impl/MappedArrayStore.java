@@ -0,0 +1,405 @@
+package main.java.com.filippovich.arrayapp.repository.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import main.java.com.filippovich.arrayapp.util.LongLongMap;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Arrays stored outside the heap in memory-mapped segment files. Each record is
+ * {@code [key][count][min][max][end offsets][UTF-16 chars]} and is written once; the heap only holds a
+ * primitive map from key to record location, so the garbage collector never sees the stored words. Reads
+ * return {@link MappedStringArray} views over the record.
+ * <p>
+ * Once more than half of a full segment is taken by replaced and removed records, its live records are
+ * copied to the current segment and its file is deleted. Views handed out earlier stay valid, since a
+ * mapping outlives its file until the last view referencing it is garbage-collected. Segment numbers are
+ * never reused, so record locations stay stable. The remaining segment files are deleted on {@link #close()}.
+ * Callbacks passed to the write methods run under the write lock.
+ */
+final class MappedArrayStore implements AutoCloseable {
+    private static final Logger logger = LoggerUtil.getLogger(MappedArrayStore.class);
+
+    static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final String prefix;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongLongMap locations = new LongLongMap();
+    private final List<Segment> segments = new ArrayList<>();
+
+    private Segment current;
+    private long mappedBytes;
+    private long liveBytes;
+    private long compactions;
+    private boolean closed;
+
+    /**
+     * Segment files are named {@code <prefix>-<n>.seg}, so several stores can share a directory.
+     */
+    MappedArrayStore(Path directory, String prefix, int segmentBytes) throws IOException {
+        if (segmentBytes <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive: " + segmentBytes);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.prefix = prefix;
+        this.segmentBytes = segmentBytes;
+    }
+
+    StringArray get(long key) {
+        ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            checkOpen();
+            return view(key, locations.get(key));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    boolean contains(long key) {
+        ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return !closed && locations.containsKey(key);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Writes {@code array} and, if {@code onPut} is not null, passes it the view of the replaced record (or
+     * {@code null}) and the view of the new one. Returns the view of the new record.
+     */
+    StringArray put(StringArray array, BiConsumer<? super StringArray, ? super StringArray> onPut) {
+        ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            checkOpen();
+            long location = write(array);
+            long replacedAt = locations.put(array.getKey(), location);
+            StringArray previous = view(array.getKey(), replacedAt);
+            StringArray stored = view(array.getKey(), location);
+            if (onPut != null) {
+                onPut.accept(previous, stored);
+            }
+            release(replacedAt, previous);
+            return stored;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Writes all arrays under one lock and runs {@code onPut} once with the views of the replaced and of the
+     * new records. Each replaced record is released as soon as it is replaced, since a later write in the batch
+     * may compact the segment holding it.
+     */
+    void putAll(Collection<? extends StringArray> arrays,
+                BiConsumer<? super List<StringArray>, ? super List<StringArray>> onPut) {
+        List<StringArray> replaced = new ArrayList<>();
+        List<StringArray> stored = new ArrayList<>(arrays.size());
+        ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            checkOpen();
+            locations.ensureCapacity(locations.size() + arrays.size());
+            for (StringArray array : arrays) {
+                if (array == null) {
+                    continue;
+                }
+                long location = write(array);
+                long previousAt = locations.put(array.getKey(), location);
+                StringArray previous = view(array.getKey(), previousAt);
+                if (previous != null) {
+                    replaced.add(previous);
+                    release(previousAt, previous);
+                }
+                stored.add(view(array.getKey(), locations.get(array.getKey())));
+            }
+            if (onPut != null && !stored.isEmpty()) {
+                onPut.accept(replaced, stored);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Drops {@code key} and, if it was stored and {@code onRemove} is not null, passes the view of its record
+     * to {@code onRemove}. Returns that view, or {@code null}.
+     */
+    StringArray remove(long key, Consumer<? super StringArray> onRemove) {
+        ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            checkOpen();
+            long location = locations.remove(key);
+            StringArray removed = view(key, location);
+            if (removed != null) {
+                if (onRemove != null) {
+                    onRemove.accept(removed);
+                }
+                release(location, removed);
+            }
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Stored keys in ascending order, copied so that callers can walk them without holding the lock.
+     */
+    long[] sortedKeys() {
+        long[] keys;
+        ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            checkOpen();
+            keys = locations.keys();
+        } finally {
+            readLock.unlock();
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    int size() {
+        ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return locations.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Bytes of all mapped segments, including unused tails and dead records.
+     */
+    long getMappedBytes() {
+        ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return mappedBytes;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Bytes of the records currently stored.
+     */
+    long getLiveBytes() {
+        ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return liveBytes;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Number of segments compacted away.
+     */
+    long getCompactions() {
+        ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return compactions;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private StringArray view(long key, long location) {
+        if (location == LongLongMap.NO_VALUE) {
+            return null;
+        }
+        return new MappedStringArray(key, segments.get((int) (location >>> 32)).buffer, (int) location);
+    }
+
+    /**
+     * Accounts for the record at {@code location} no longer being live and compacts its segment once more
+     * than half of it is dead.
+     */
+    private void release(long location, StringArray record) {
+        if (record == null) {
+            return;
+        }
+        int bytes = recordBytes(record);
+        Segment segment = segments.get((int) (location >>> 32));
+        segment.live -= bytes;
+        liveBytes -= bytes;
+        if (segment != current && segment.live < segment.used / 2) {
+            compact((int) (location >>> 32), segment);
+        }
+    }
+
+    /**
+     * Copies the live records of {@code segment} to the current segment, then forgets it and deletes its file.
+     */
+    private void compact(int index, Segment segment) {
+        int offset = 0;
+        int moved = 0;
+        while (offset < segment.used) {
+            long key = segment.buffer.getLong(offset);
+            int bytes = recordBytes(new MappedStringArray(key, segment.buffer, offset));
+            if (locations.get(key) == ((long) index << 32 | offset)) {
+                ByteBuffer record = segment.buffer.duplicate();
+                record.position(offset).limit(offset + bytes);
+                locations.put(key, append(record, bytes));
+                moved++;
+            }
+            offset += bytes;
+        }
+        liveBytes -= segment.live;
+        segments.set(index, null);
+        mappedBytes -= segment.buffer.capacity();
+        compactions++;
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            logger.warn("Cannot delete compacted segment {}: {}", segment.file, e.getMessage());
+        }
+        logger.debug("Compacted segment {}: moved {} records", segment.file, moved);
+    }
+
+    private static int recordBytes(StringArray view) {
+        return MappedStringArray.recordBytes(view.length(), view.getTotalLength());
+    }
+
+    private long write(StringArray array) {
+        int count = array.length();
+        long size = MappedStringArray.HEADER_BYTES + (long) Integer.BYTES * count + 2L * array.getTotalLength();
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Array " + array.getKey() + " is too large to map: " + size + " bytes");
+        }
+        int bytes = (int) size;
+        ByteBuffer record = ByteBuffer.allocate(bytes);
+        record.putLong(array.getKey())
+                .putInt(count)
+                .putInt(array.getMinLength())
+                .putInt(array.getMaxLength());
+        int end = 0;
+        for (int i = 0; i < count; i++) {
+            end += array.lengthAt(i);
+            record.putInt(end);
+        }
+        for (int i = 0; i < count; i++) {
+            CharSequence word = array.view(i);
+            for (int c = 0; c < word.length(); c++) {
+                record.putChar(word.charAt(c));
+            }
+        }
+        record.flip();
+        return append(record, bytes);
+    }
+
+    /**
+     * Copies an encoded record of {@code bytes} bytes to the current segment and returns its location. A
+     * segment sealed on the way is compacted at once if it is already mostly dead.
+     */
+    private long append(ByteBuffer record, int bytes) {
+        Segment sealed = null;
+        int sealedIndex = segments.size() - 1;
+        if (current == null || current.buffer.capacity() - current.used < bytes) {
+            sealed = current;
+            openSegment(Math.max(segmentBytes, bytes));
+        }
+        int offset = current.used;
+        ByteBuffer target = current.buffer.duplicate();
+        target.position(offset);
+        target.put(record);
+        current.used += bytes;
+        current.live += bytes;
+        liveBytes += bytes;
+        long location = (long) (segments.size() - 1) << 32 | offset;
+        if (sealed != null && sealed.live < sealed.used / 2) {
+            compact(sealedIndex, sealed);
+        }
+        return location;
+    }
+
+    private void openSegment(int bytes) {
+        Path file = directory.resolve(String.format("%s-%05d.seg", prefix, segments.size()));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            current = new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes));
+        } catch (IOException e) {
+            logger.error("Cannot map segment {}: {}", file, e.getMessage(), e);
+            throw new UncheckedIOException("Cannot map segment " + file, e);
+        }
+        segments.add(current);
+        mappedBytes += bytes;
+        logger.debug("Mapped segment {} of {} bytes", file, bytes);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Mapped store in " + directory + " is closed");
+        }
+    }
+
+    /**
+     * Forgets every record and deletes the segment files. The mappings themselves are released once the
+     * last view referencing them is garbage-collected.
+     */
+    @Override
+    public void close() {
+        ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            locations.clear();
+            for (Segment segment : segments) {
+                if (segment == null) {
+                    continue;
+                }
+                try {
+                    Files.deleteIfExists(segment.file);
+                } catch (IOException e) {
+                    logger.warn("Cannot delete segment {}: {}", segment.file, e.getMessage());
+                }
+            }
+            segments.clear();
+            current = null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private int used;
+        private int live;
+
+        private Segment(Path file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+        }
+    }
+}
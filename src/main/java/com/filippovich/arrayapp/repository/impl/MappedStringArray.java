@@ -0,0 +1,196 @@
+package main.java.com.filippovich.arrayapp.repository.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.id.impl.UuidAdapter;
+
+import java.nio.ByteBuffer;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only view of one record of a {@link MappedArrayStore}. Every accessor reads the mapped bytes
+ * directly; only {@link #get(int)} and {@link #getArray()} create strings.
+ */
+final class MappedStringArray implements StringArray {
+    static final int HEADER_BYTES = Long.BYTES + 3 * Integer.BYTES;
+
+    private static final int COUNT = Long.BYTES;
+    private static final int MIN = COUNT + Integer.BYTES;
+    private static final int MAX = MIN + Integer.BYTES;
+
+    private final long key;
+    private final ByteBuffer segment;
+    private final int offset;
+    private final int count;
+    private final int chars;
+
+    MappedStringArray(long key, ByteBuffer segment, int offset) {
+        this.key = key;
+        this.segment = segment;
+        this.offset = offset;
+        this.count = segment.getInt(offset + COUNT);
+        this.chars = offset + HEADER_BYTES + Integer.BYTES * count;
+    }
+
+    static int recordBytes(int count, int totalLength) {
+        return HEADER_BYTES + Integer.BYTES * count + 2 * totalLength;
+    }
+
+    private int end(int index) {
+        return segment.getInt(offset + HEADER_BYTES + Integer.BYTES * index);
+    }
+
+    private int start(int index) {
+        return index == 0 ? 0 : end(index - 1);
+    }
+
+    @Override
+    public long getKey() {
+        return key;
+    }
+
+    @Override
+    public UUID getId() {
+        return UuidAdapter.toUuid(key);
+    }
+
+    @Override
+    public String[] getArray() {
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            words[i] = get(i);
+        }
+        return words;
+    }
+
+    @Override
+    public int length() {
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    @Override
+    public String get(int index) {
+        return view(index).toString();
+    }
+
+    @Override
+    public int lengthAt(int index) {
+        checkIndex(index);
+        return end(index) - start(index);
+    }
+
+    @Override
+    public CharSequence view(int index) {
+        checkIndex(index);
+        int start = start(index);
+        return new WordView(segment, chars + 2 * start, end(index) - start);
+    }
+
+    @Override
+    public void forEach(Consumer<? super CharSequence> action) {
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            int end = end(i);
+            action.accept(new WordView(segment, chars + 2 * start, end - start));
+            start = end;
+        }
+    }
+
+    @Override
+    public IntStream lengths() {
+        return IntStream.range(0, count).map(i -> end(i) - start(i));
+    }
+
+    @Override
+    public int getMinLength() {
+        return segment.getInt(offset + MIN);
+    }
+
+    @Override
+    public int getMaxLength() {
+        return segment.getInt(offset + MAX);
+    }
+
+    @Override
+    public int getTotalLength() {
+        return count == 0 ? 0 : end(count - 1);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + count);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner words = new StringJoiner(", ", "[", "]");
+        forEach(words::add);
+        return "MappedStringArray{" +
+                "key=" + key +
+                ", array=" + words +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MappedStringArray that = (MappedStringArray) o;
+        return key == that.key;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(key);
+    }
+
+    private static final class WordView implements CharSequence {
+        private final ByteBuffer segment;
+        private final int position;
+        private final int length;
+
+        private WordView(ByteBuffer segment, int position, int length) {
+            this.segment = segment;
+            this.position = position;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+            }
+            return segment.getChar(position + 2 * index);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > length || from > to) {
+                throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+            }
+            return new WordView(segment, position + 2 * from, to - from);
+        }
+
+        @Override
+        public String toString() {
+            char[] result = new char[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = segment.getChar(position + 2 * i);
+            }
+            return new String(result);
+        }
+    }
+}
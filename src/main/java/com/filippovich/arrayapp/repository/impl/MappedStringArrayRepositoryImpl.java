@@ -0,0 +1,171 @@
+package main.java.com.filippovich.arrayapp.repository.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.id.impl.UuidAdapter;
+import main.java.com.filippovich.arrayapp.observer.Observer;
+import main.java.com.filippovich.arrayapp.observer.Publisher;
+import main.java.com.filippovich.arrayapp.repository.Cursor;
+import main.java.com.filippovich.arrayapp.repository.Specification;
+import main.java.com.filippovich.arrayapp.repository.StringArrayRepository;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import main.java.com.filippovich.arrayapp.util.SortedLongSet;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Repository for corpora too large for the heap. Words and offsets live in memory-mapped segment files of a
+ * {@link MappedArrayStore}; the heap holds one primitive key-to-location entry per array, and arrays are
+ * returned as short-lived views over the mapped bytes, plus a {@link SortedLongSet} of the keys. There are no
+ * secondary indexes, so every query is a scan in key order. The key set is updated and events are published
+ * while the store is write-locked, and events carry the stored views.
+ */
+public class MappedStringArrayRepositoryImpl implements StringArrayRepository, Publisher, AutoCloseable {
+    private static final Logger logger = LoggerUtil.getLogger(MappedStringArrayRepositoryImpl.class);
+
+    private final MappedArrayStore store;
+    private final SortedLongSet keys = new SortedLongSet();
+    private final List<Observer> observers = new CopyOnWriteArrayList<>();
+
+    public MappedStringArrayRepositoryImpl(Path directory) throws IOException {
+        this(directory, MappedArrayStore.DEFAULT_SEGMENT_BYTES);
+    }
+
+    public MappedStringArrayRepositoryImpl(Path directory, int segmentBytes) throws IOException {
+        this.store = new MappedArrayStore(directory, "arrays", segmentBytes);
+        logger.info("Mapped repository opened in {} with {} byte segments", directory, segmentBytes);
+    }
+
+    @Override
+    public void addObserver(Observer o) {
+        if (o != null) {
+            observers.add(o);
+        }
+    }
+
+    @Override
+    public void removeObserver(Observer o) {
+        observers.remove(o);
+    }
+
+    @Override
+    public void notifyObservers(StringArray array, String eventType) {
+        for (Observer observer : observers) {
+            observer.handleEvent(array, eventType);
+        }
+    }
+
+    @Override
+    public void notifyObservers(List<? extends StringArray> arrays, String eventType) {
+        for (Observer observer : observers) {
+            observer.handleEvents(arrays, eventType);
+        }
+    }
+
+    @Override
+    public void add(StringArray stringArray) {
+        if (stringArray != null) {
+            store.put(stringArray, (previous, stored) -> {
+                keys.add(stored.getKey());
+                notifyObservers(stored, "ADD");
+            });
+        }
+    }
+
+    /**
+     * Writes all arrays under one lock and delivers a single batched ADD event.
+     */
+    @Override
+    public void addAll(Collection<? extends StringArray> arrays) {
+        store.putAll(arrays, (replaced, stored) -> {
+            keys.addAll(stored.stream().mapToLong(StringArray::getKey).toArray());
+            notifyObservers(stored, "ADD");
+        });
+    }
+
+    @Override
+    public boolean remove(StringArray stringArray) {
+        if (stringArray == null) {
+            return false;
+        }
+        return store.remove(stringArray.getKey(), removed -> {
+            keys.remove(removed.getKey());
+            notifyObservers(removed, "REMOVE");
+        }) != null;
+    }
+
+    @Override
+    public Optional<StringArray> findById(UUID id) {
+        if (!UuidAdapter.isAdapted(id)) {
+            return Optional.empty();
+        }
+        return findByKey(UuidAdapter.toKey(id));
+    }
+
+    @Override
+    public Optional<StringArray> findByKey(long key) {
+        return Optional.ofNullable(store.get(key));
+    }
+
+    /**
+     * All arrays in ascending key order, as views.
+     */
+    @Override
+    public List<StringArray> findAll() {
+        return stream(Cursor.START).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<StringArray> query(Specification spec) {
+        return stream(spec, Cursor.START).collect(Collectors.toList());
+    }
+
+    /**
+     * Walks the sorted key set and materializes one view at a time; arrays removed since their key was read
+     * are skipped.
+     */
+    @Override
+    public Stream<StringArray> stream(Specification spec, Cursor from) {
+        return stream(from).filter(spec::specified);
+    }
+
+    private Stream<StringArray> stream(Cursor from) {
+        LongStream ordered = from.isStart() ? keys.stream() : keys.streamAfter(from.getLastKey());
+        return ordered.mapToObj(store::get).filter(Objects::nonNull);
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * Bytes mapped for segments, including space of replaced and removed arrays.
+     */
+    public long getMappedBytes() {
+        return store.getMappedBytes();
+    }
+
+    public long getLiveBytes() {
+        return store.getLiveBytes();
+    }
+
+    /**
+     * Drops every array without publishing events and deletes the segment files.
+     */
+    @Override
+    public void close() {
+        store.close();
+        keys.clear();
+        logger.info("Mapped repository closed");
+    }
+}
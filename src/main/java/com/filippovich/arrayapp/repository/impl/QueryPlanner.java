@@ -0,0 +1,118 @@
+package main.java.com.filippovich.arrayapp.repository.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.repository.IndexPredicate;
+import main.java.com.filippovich.arrayapp.repository.IndexableSpecification;
+import main.java.com.filippovich.arrayapp.repository.IndexedAttribute;
+import main.java.com.filippovich.arrayapp.repository.Specification;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Maintains one {@link SecondaryIndex} per {@link IndexedAttribute} and answers specifications from them.
+ * For an {@link IndexableSpecification} the predicate with the fewest candidates drives the query and the
+ * specification filters those candidates; any other specification falls back to a full scan.
+ */
+final class QueryPlanner {
+    private static final Logger logger = LoggerUtil.getLogger(QueryPlanner.class);
+
+    private final Map<IndexedAttribute, SecondaryIndex> indexes = new EnumMap<>(IndexedAttribute.class);
+
+    QueryPlanner() {
+        for (IndexedAttribute attribute : IndexedAttribute.values()) {
+            indexes.put(attribute, new SecondaryIndex(attribute));
+        }
+    }
+
+    void add(StringArray array) {
+        for (SecondaryIndex index : indexes.values()) {
+            index.add(array);
+        }
+    }
+
+    void addAll(Collection<? extends StringArray> arrays) {
+        for (StringArray array : arrays) {
+            add(array);
+        }
+    }
+
+    void remove(StringArray array) {
+        for (SecondaryIndex index : indexes.values()) {
+            index.remove(array);
+        }
+    }
+
+    void removeAll(Collection<? extends StringArray> arrays) {
+        for (StringArray array : arrays) {
+            remove(array);
+        }
+    }
+
+    List<StringArray> execute(Specification spec, Supplier<? extends Collection<StringArray>> scan) {
+        IndexPredicate driver = choose(spec);
+        List<StringArray> result = new ArrayList<>();
+        if (driver == null) {
+            logger.debug("Full scan for {}", spec.getClass().getSimpleName());
+            for (StringArray array : scan.get()) {
+                if (spec.specified(array)) {
+                    result.add(array);
+                }
+            }
+            return result;
+        }
+
+        logger.debug("Index scan on {} for {}", driver, spec.getClass().getSimpleName());
+        indexes.get(driver.getAttribute()).forEachMatch(driver, array -> {
+            if (spec.specified(array)) {
+                result.add(array);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Unfiltered candidates of {@code spec} if an index narrows it to at most {@code threshold} arrays,
+     * otherwise {@code null}; callers then walk the store themselves.
+     */
+    List<StringArray> selectiveCandidates(Specification spec, long threshold) {
+        IndexPredicate driver = choose(spec);
+        if (driver == null || indexes.get(driver.getAttribute()).estimate(driver, threshold + 1) > threshold) {
+            return null;
+        }
+        List<StringArray> candidates = new ArrayList<>();
+        indexes.get(driver.getAttribute()).forEachMatch(driver, candidates::add);
+        return candidates;
+    }
+
+    /**
+     * Describes how {@code spec} would be executed, e.g. for logging slow queries.
+     */
+    String explain(Specification spec) {
+        IndexPredicate driver = choose(spec);
+        return driver == null ? "FULL SCAN" : "INDEX SCAN " + driver;
+    }
+
+    private IndexPredicate choose(Specification spec) {
+        if (!(spec instanceof IndexableSpecification)) {
+            return null;
+        }
+        List<IndexPredicate> predicates = ((IndexableSpecification) spec).indexPredicates();
+        IndexPredicate best = null;
+        long bestCount = Long.MAX_VALUE;
+        for (IndexPredicate predicate : predicates) {
+            long count = indexes.get(predicate.getAttribute()).estimate(predicate, bestCount);
+            if (count < bestCount) {
+                best = predicate;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+}
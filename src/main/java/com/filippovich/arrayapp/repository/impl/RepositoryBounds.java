@@ -0,0 +1,71 @@
+package main.java.com.filippovich.arrayapp.repository.impl;
+
+import main.java.com.filippovich.arrayapp.repository.EvictionPolicy;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+public final class RepositoryBounds {
+    private final long maxEntries;
+    private final long maxBytes;
+    private final EvictionPolicy policy;
+    private final Path spillDirectory;
+
+    /**
+     * @param maxEntries     most arrays held in memory; 0 for no limit
+     * @param maxBytes       estimated heap bytes of the arrays held in memory; 0 for no limit
+     * @param spillDirectory where evicted arrays are kept until they are read again; {@code null} drops them
+     */
+    public RepositoryBounds(long maxEntries, long maxBytes, EvictionPolicy policy, Path spillDirectory) {
+        if (maxEntries < 0 || maxBytes < 0 || maxEntries == 0 && maxBytes == 0) {
+            throw new IllegalArgumentException("At least one non-negative limit is required: " + maxEntries + ", " + maxBytes);
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.policy = Objects.requireNonNull(policy, "policy");
+        this.spillDirectory = spillDirectory;
+    }
+
+    public static RepositoryBounds ofEntries(long maxEntries, EvictionPolicy policy) {
+        return new RepositoryBounds(maxEntries, 0, policy, null);
+    }
+
+    public static RepositoryBounds ofBytes(long maxBytes, EvictionPolicy policy) {
+        return new RepositoryBounds(0, maxBytes, policy, null);
+    }
+
+    public RepositoryBounds withSpillDirectory(Path spillDirectory) {
+        return new RepositoryBounds(maxEntries, maxBytes, policy, spillDirectory);
+    }
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public EvictionPolicy getPolicy() {
+        return policy;
+    }
+
+    public Path getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public boolean spills() {
+        return spillDirectory != null;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RepositoryBounds.class.getSimpleName() + "[", "]")
+                .add("maxEntries=" + maxEntries)
+                .add("maxBytes=" + maxBytes)
+                .add("policy=" + policy)
+                .add("spillDirectory=" + spillDirectory)
+                .toString();
+    }
+}
@@ -0,0 +1,113 @@
+package main.java.com.filippovich.arrayapp.repository.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.repository.IndexPredicate;
+import main.java.com.filippovich.arrayapp.repository.IndexedAttribute;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Ordered index of one {@link IndexedAttribute}: each attribute value maps to the set of arrays having it.
+ * Safe for concurrent use. Changes to a bucket hold its monitor; the removal that empties a bucket retires
+ * it before dropping it from the map, and an insert that finds a retired bucket retries against a new one.
+ * Readers iterate buckets without locking.
+ */
+final class SecondaryIndex {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Comparator<Object> NATURAL_ORDER = (a, b) -> ((Comparable) a).compareTo(b);
+
+    private final IndexedAttribute attribute;
+    private final ConcurrentSkipListMap<Object, Bucket> buckets = new ConcurrentSkipListMap<>(NATURAL_ORDER);
+
+    SecondaryIndex(IndexedAttribute attribute) {
+        this.attribute = attribute;
+    }
+
+    IndexedAttribute getAttribute() {
+        return attribute;
+    }
+
+    void add(StringArray array) {
+        Object value = attribute.valueOf(array);
+        if (value == null) {
+            return;
+        }
+        while (true) {
+            Bucket bucket = buckets.computeIfAbsent(value, v -> new Bucket());
+            synchronized (bucket) {
+                if (!bucket.retired) {
+                    bucket.arrays.add(array);
+                    return;
+                }
+            }
+            buckets.remove(value, bucket);
+        }
+    }
+
+    void remove(StringArray array) {
+        Object value = attribute.valueOf(array);
+        if (value == null) {
+            return;
+        }
+        Bucket bucket = buckets.get(value);
+        if (bucket == null) {
+            return;
+        }
+        synchronized (bucket) {
+            if (!bucket.arrays.remove(array) || !bucket.arrays.isEmpty()) {
+                return;
+            }
+            bucket.retired = true;
+        }
+        buckets.remove(value, bucket);
+    }
+
+    /**
+     * Number of arrays matching {@code predicate}, counting no further than {@code limit}.
+     */
+    long estimate(IndexPredicate predicate, long limit) {
+        long count = 0;
+        for (Bucket bucket : range(predicate).values()) {
+            count += bucket.arrays.size();
+            if (count >= limit) {
+                return count;
+            }
+        }
+        return count;
+    }
+
+    void forEachMatch(IndexPredicate predicate, Consumer<? super StringArray> action) {
+        for (Bucket bucket : range(predicate).values()) {
+            bucket.arrays.forEach(action);
+        }
+    }
+
+    private NavigableMap<Object, Bucket> range(IndexPredicate predicate) {
+        Object from = predicate.getFrom();
+        Object to = predicate.getTo();
+        if (from != null && to != null) {
+            if (NATURAL_ORDER.compare(from, to) > 0) {
+                return Collections.emptyNavigableMap();
+            }
+            return buckets.subMap(from, true, to, true);
+        }
+        if (from != null) {
+            return buckets.tailMap(from, true);
+        }
+        if (to != null) {
+            return buckets.headMap(to, true);
+        }
+        return buckets;
+    }
+
+    private static final class Bucket {
+        private final Set<StringArray> arrays = ConcurrentHashMap.newKeySet();
+        private boolean retired;
+    }
+}
@@ -1,24 +1,58 @@
 package main.java.com.filippovich.arrayapp.repository.impl;
 
 import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.entity.impl.ArrayFactory;
+import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
+import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
+import main.java.com.filippovich.arrayapp.id.impl.UuidAdapter;
 import main.java.com.filippovich.arrayapp.observer.Observer;
 import main.java.com.filippovich.arrayapp.observer.Publisher;
+import main.java.com.filippovich.arrayapp.repository.ChangeJournal;
+import main.java.com.filippovich.arrayapp.repository.Cursor;
+import main.java.com.filippovich.arrayapp.repository.IndexableSpecification;
 import main.java.com.filippovich.arrayapp.repository.Specification;
 import main.java.com.filippovich.arrayapp.repository.StringArrayRepository;
+import main.java.com.filippovich.arrayapp.util.KeyLocks;
+import main.java.com.filippovich.arrayapp.util.StripedLongKeyMap;
+import main.java.com.filippovich.arrayapp.util.StripedSortedLongSet;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
+/**
+ * Thread-safe repository. Arrays live in a lock-striped map, so writers of different arrays do not contend
+ * and readers only share locks with writers of the same stripe, for as long as one map operation takes.
+ * Writes to one key are ordered by a separate striped write lock that readers never take; events are
+ * published under it after the map's stripe is released, which keeps ADD and REMOVE of one array in order
+ * without making readers wait for observers. Observers are held in a copy-on-write list and may be
+ * registered or removed while an event is being published. A sorted set of the stored keys, striped like
+ * the map, backs {@link #findAll()} and the paged and streaming queries, so results can be resumed from a
+ * {@link Cursor}.
+ * The repository can be bounded, see {@link #bound(RepositoryBounds)}, and journaled, see
+ * {@link #setJournal(ChangeJournal)}.
+ */
 public class StringArrayRepositoryImpl implements StringArrayRepository, Publisher {
 
-    private final Map<UUID, StringArray> storage = new HashMap<>();
+    private static final int SELECTIVE_FRACTION = 16;
+
+    private final StripedLongKeyMap<StringArray> storage = new StripedLongKeyMap<>();
+    private final KeyLocks writeLocks = new KeyLocks();
+    private final StripedSortedLongSet keys = new StripedSortedLongSet();
+    private final QueryPlanner planner = new QueryPlanner();
+    private volatile EvictionManager eviction;
+    private volatile ChangeJournal journal;
     private static final StringArrayRepositoryImpl instance = new StringArrayRepositoryImpl();
     private StringArrayRepositoryImpl() {}
     public static StringArrayRepositoryImpl getInstance() {
         return instance;
     }
 
-    private final List<Observer> observers = new ArrayList<>();
+    private final List<Observer> observers = new CopyOnWriteArrayList<>();
 
     @Override
     public void addObserver(Observer o) {
@@ -39,43 +73,361 @@ public class StringArrayRepositoryImpl implements StringArrayRepository, Publish
         }
     }
 
+    @Override
+    public void notifyObservers(List<? extends StringArray> arrays, String eventType) {
+        for (Observer observer : observers) {
+            observer.handleEvents(arrays, eventType);
+        }
+    }
+
     @Override
     public void add(StringArray stringArray) {
-        if (stringArray != null && stringArray.getId() != null) {
-            storage.put(stringArray.getId(), stringArray);
+        if (stringArray == null) {
+            return;
+        }
+        long key = stringArray.getKey();
+        writeLocks.lock(key);
+        try {
+            journal(current -> current.logAdd(stringArray));
+            stored(storage.put(key, stringArray), stringArray);
             notifyObservers(stringArray, "ADD");
+        } finally {
+            writeLocks.unlock(key);
+        }
+        evictIfNeeded();
+    }
+
+    /**
+     * Runs under the write lock of the key once {@code added} replaced {@code previous}, or nothing.
+     */
+    private void stored(StringArray previous, StringArray added) {
+        if (previous != null) {
+            planner.remove(previous);
+        }
+        keys.add(added.getKey());
+        planner.add(added);
+        EvictionManager manager = eviction;
+        if (manager != null) {
+            if (previous != null) {
+                manager.onRemove(previous);
+            } else {
+                manager.unspill(added.getKey());
+            }
+            manager.onAdd(added);
+        }
+    }
+
+    /**
+     * Inserts all arrays under the write locks of their keys and delivers a single batched ADD event. Map
+     * stripes are locked one at a time, so readers are not held up by the batch or its observers.
+     */
+    @Override
+    public void addAll(Collection<? extends StringArray> arrays) {
+        addAll(arrays, true);
+    }
+
+    private void addAll(Collection<? extends StringArray> arrays, boolean journaled) {
+        List<StringArray> added = new ArrayList<>(arrays.size());
+        for (StringArray array : arrays) {
+            if (array != null) {
+                added.add(array);
+            }
+        }
+        if (added.isEmpty()) {
+            return;
+        }
+        int[] held = writeLocks.lockAll(added.stream().mapToLong(StringArray::getKey).toArray());
+        try {
+            if (journaled) {
+                journal(current -> current.logAddAll(added));
+            }
+            List<StringArray> replaced = storage.putAll(added, StringArray::getKey);
+            planner.removeAll(replaced);
+            keys.addAll(added.stream().mapToLong(StringArray::getKey).toArray());
+            planner.addAll(added);
+            EvictionManager manager = eviction;
+            if (manager != null) {
+                replaced.forEach(manager::onRemove);
+                for (StringArray array : added) {
+                    manager.unspill(array.getKey());
+                    manager.onAdd(array);
+                }
+            }
+            notifyObservers(added, "ADD");
+        } finally {
+            writeLocks.unlockAll(held);
         }
+        evictIfNeeded();
     }
 
+    /**
+     * With a spill tier, an array that was evicted is removed from it and published as REMOVE as well.
+     */
     @Override
     public boolean remove(StringArray stringArray) {
-        if (stringArray == null || stringArray.getId() == null) {
+        if (stringArray == null) {
             return false;
         }
-        StringArray removed = storage.remove(stringArray.getId());
-        if (removed != null) {
-            notifyObservers(removed, "REMOVE");
-            return true;
+        long key = stringArray.getKey();
+        writeLocks.lock(key);
+        try {
+            EvictionManager manager = eviction;
+            if (storage.get(key) == null && (manager == null || !manager.isSpilled(key))) {
+                return false;
+            }
+            journal(current -> current.logRemove(key));
+            return removeResident(key) || manager != null && manager.spills() && removeSpilled(manager, key);
+        } finally {
+            writeLocks.unlock(key);
+        }
+    }
+
+    private boolean removeResident(long key) {
+        StringArray removed = storage.remove(key);
+        if (removed == null) {
+            return false;
+        }
+        keys.remove(key);
+        planner.remove(removed);
+        EvictionManager manager = eviction;
+        if (manager != null) {
+            manager.onRemove(removed);
+        }
+        notifyObservers(removed, "REMOVE");
+        return true;
+    }
+
+    private boolean removeSpilled(EvictionManager manager, long key) {
+        StringArray spilled = manager.unspill(key);
+        if (spilled == null) {
+            return false;
+        }
+        notifyObservers(spilled, "REMOVE");
+        return true;
+    }
+
+    /**
+     * Logs a change before it is applied, under the write lock of its key. A change the journal cannot record
+     * is refused and the repository stays as it was.
+     */
+    private void journal(JournalEntry entry) {
+        ChangeJournal current = journal;
+        if (current == null) {
+            return;
+        }
+        try {
+            entry.logTo(current);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Change refused, journal failed: " + e.getMessage(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface JournalEntry {
+        void logTo(ChangeJournal journal) throws IOException;
+    }
+
+    /**
+     * Sends every later add and remove through {@code journal} before applying it. Like
+     * {@link #bound(RepositoryBounds)}, call it while no other thread writes to the repository.
+     */
+    public synchronized void setJournal(ChangeJournal journal) {
+        if (this.journal != null) {
+            throw new IllegalStateException("Repository is already journaled");
+        }
+        this.journal = journal;
+    }
+
+    public synchronized void clearJournal() {
+        journal = null;
+    }
+
+    /**
+     * Rotates the journal while holding every write lock, so each change logged before the returned position
+     * is already visible to readers and each later one is logged after it.
+     */
+    public long rotateJournal() throws IOException {
+        ChangeJournal current = journal;
+        if (current == null) {
+            throw new IllegalStateException("Repository is not journaled");
+        }
+        int[] held = writeLocks.lockEvery();
+        try {
+            return current.rotate();
+        } finally {
+            writeLocks.unlockAll(held);
         }
-        return false;
     }
 
+    /**
+     * Limits the arrays held in memory to {@code bounds}, evicting at once if the repository is over budget.
+     * Evicted arrays are published as EVICT events: observers drop what they derived from an array as on
+     * REMOVE, but persistence keeps it, since eviction is not a deletion. Lookups by key fault spilled
+     * arrays back in as {@link StringArrayImpl} copies, published as LOAD events: observers rebuild what they
+     * derive as on ADD, but nothing is journaled, since the array never left the journal. Other queries only
+     * see the arrays in memory. The spill tier reclaims the space of faulted-in arrays by compaction.
+     * <p>
+     * Like {@link #unbound()}, call it while no other thread writes to the repository.
+     */
+    public synchronized void bound(RepositoryBounds bounds) throws IOException {
+        if (eviction != null) {
+            throw new IllegalStateException("Repository is already bounded by " + eviction.getBounds());
+        }
+        EvictionManager manager = new EvictionManager(bounds);
+        storage.forEachValue(manager::onAdd);
+        eviction = manager;
+        evictIfNeeded();
+    }
 
+    /**
+     * Lifts the bounds; spilled arrays are loaded back with one batched ADD event. They are not journaled
+     * again, since eviction never removed them from the journal.
+     */
+    public synchronized void unbound() {
+        EvictionManager manager = eviction;
+        if (manager == null) {
+            return;
+        }
+        eviction = null;
+        List<StringArray> restored = new ArrayList<>();
+        for (StringArray spilled : manager.drainSpilled()) {
+            restored.add(copyOf(spilled));
+        }
+        manager.close();
+        addAll(restored, false);
+    }
+
+    public Optional<EvictionStatistics> getEvictionStatistics() {
+        EvictionManager manager = eviction;
+        return manager != null ? Optional.of(manager.statistics()) : Optional.empty();
+    }
+
+    private void evictIfNeeded() {
+        EvictionManager manager = eviction;
+        if (manager == null) {
+            return;
+        }
+        OptionalLong victim;
+        while ((victim = manager.nextVictim()).isPresent()) {
+            long key = victim.getAsLong();
+            writeLocks.lock(key);
+            try {
+                StringArray evicted = storage.remove(key);
+                if (evicted != null) {
+                    keys.remove(key);
+                    planner.remove(evicted);
+                    manager.onRemove(evicted);
+                    manager.onEvict(evicted);
+                    notifyObservers(evicted, "EVICT");
+                }
+            } finally {
+                writeLocks.unlock(key);
+            }
+        }
+    }
+
+    /**
+     * Moves a spilled array back into memory and makes room for it.
+     */
+    private StringArray faultIn(EvictionManager manager, long key) {
+        StringArray restored;
+        writeLocks.lock(key);
+        try {
+            StringArray resident = storage.get(key);
+            if (resident != null) {
+                return resident;
+            }
+            StringArray spilled = manager.unspill(key);
+            if (spilled == null) {
+                return null;
+            }
+            restored = copyOf(spilled);
+            stored(storage.put(key, restored), restored);
+            manager.onFault();
+            notifyObservers(restored, "LOAD");
+        } finally {
+            writeLocks.unlock(key);
+        }
+        evictIfNeeded();
+        return restored;
+    }
+
+    private static StringArray copyOf(StringArray spilled) {
+        try {
+            return ArrayFactory.restoreDetached(spilled.getKey(), spilled.getArray());
+        } catch (InvalidArrayException e) {
+            throw new IllegalStateException("Spilled array " + spilled.getKey() + " is invalid", e);
+        }
+    }
+
+    /**
+     * Specifications implementing {@link IndexableSpecification} are answered from the secondary indexes;
+     * any other specification is checked against every stored array.
+     */
     @Override
     public List<StringArray> query(Specification spec) {
-        return storage.values().stream()
-                .filter(spec::specified)
-                .collect(Collectors.toList());
+        return planner.execute(spec, storage::values);
+    }
+
+    /**
+     * Walks the key-ordered view, unless an index narrows the specification to a small candidate set, which
+     * is then filtered and sorted by key instead.
+     */
+    @Override
+    public Stream<StringArray> stream(Specification spec, Cursor from) {
+        List<StringArray> candidates = planner.selectiveCandidates(spec, storage.size() / SELECTIVE_FRACTION);
+        if (candidates != null) {
+            return candidates.stream()
+                    .filter(array -> from.isStart() || array.getKey() > from.getLastKey())
+                    .filter(spec::specified)
+                    .sorted(Comparator.comparingLong(StringArray::getKey));
+        }
+        LongStream tail = from.isStart() ? keys.stream() : keys.streamAfter(from.getLastKey());
+        return resolve(tail).filter(spec::specified);
+    }
+
+    public String explain(Specification spec) {
+        return planner.explain(spec);
     }
 
 
     @Override
     public Optional<StringArray> findById(UUID id) {
-        return Optional.ofNullable(storage.get(id));
+        if (!UuidAdapter.isAdapted(id)) {
+            return Optional.empty();
+        }
+        return findByKey(UuidAdapter.toKey(id));
     }
 
+    @Override
+    public Optional<StringArray> findByKey(long key) {
+        StringArray array = storage.get(key);
+        EvictionManager manager = eviction;
+        if (manager != null) {
+            if (array != null) {
+                manager.onHit(key);
+            } else {
+                manager.onMiss();
+                if (manager.spills()) {
+                    array = faultIn(manager, key);
+                }
+            }
+        }
+        return Optional.ofNullable(array);
+    }
+
+    /**
+     * All arrays in ascending key order.
+     */
     @Override
     public List<StringArray> findAll() {
-        return new ArrayList<>(storage.values());
+        return resolve(keys.stream()).collect(Collectors.toList());
+    }
+
+    /**
+     * Looks up the arrays of ascending keys, skipping keys removed since they were read.
+     */
+    private Stream<StringArray> resolve(LongStream ordered) {
+        return ordered.mapToObj(storage::get).filter(Objects::nonNull);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package main.java.com.filippovich.arrayapp.repository.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+
+/**
+ * W-TinyLFU: new keys enter an LRU window of about one percent of the tracked keys. Keys pushed out of the
+ * window join the probation segment of a segmented LRU as admission candidates; a second access promotes a
+ * probation key to the protected segment, which holds up to eighty percent of the main area. At eviction
+ * the oldest candidate competes with the probation key at the LRU end, and the one the frequency sketch
+ * estimates as used less often is evicted.
+ */
+final class TinyLfuEvictionTracker implements EvictionTracker {
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+
+    private final LinkedHashMap<Long, Boolean> window = new LinkedHashMap<>();
+    private final LinkedHashMap<Long, Boolean> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<Long, Boolean> protectedKeys = new LinkedHashMap<>();
+    private final LinkedHashSet<Long> candidates = new LinkedHashSet<>();
+    private final FrequencySketch sketch;
+
+    TinyLfuEvictionTracker(long expectedEntries) {
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    private int size() {
+        return window.size() + probation.size() + protectedKeys.size();
+    }
+
+    @Override
+    public void add(long key) {
+        if (window.containsKey(key) || probation.containsKey(key) || protectedKeys.containsKey(key)) {
+            access(key);
+            return;
+        }
+        sketch.ensureCapacity(size() + 1L);
+        sketch.increment(key);
+        window.put(key, Boolean.TRUE);
+        int windowLimit = Math.max(1, size() * WINDOW_PERCENT / 100);
+        while (window.size() > windowLimit) {
+            long leaving = first(window.keySet().iterator());
+            probation.put(leaving, Boolean.TRUE);
+            candidates.add(leaving);
+        }
+    }
+
+    @Override
+    public void access(long key) {
+        sketch.increment(key);
+        if (window.remove(key) != null) {
+            window.put(key, Boolean.TRUE);
+        } else if (probation.remove(key) != null) {
+            candidates.remove(key);
+            protectedKeys.put(key, Boolean.TRUE);
+            int protectedLimit = (protectedKeys.size() + probation.size()) * PROTECTED_PERCENT / 100;
+            while (protectedKeys.size() > Math.max(1, protectedLimit)) {
+                probation.put(first(protectedKeys.keySet().iterator()), Boolean.TRUE);
+            }
+        } else if (protectedKeys.remove(key) != null) {
+            protectedKeys.put(key, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void remove(long key) {
+        if (window.remove(key) == null && protectedKeys.remove(key) == null && probation.remove(key) != null) {
+            candidates.remove(key);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public long poll() {
+        if (probation.isEmpty()) {
+            return first(!protectedKeys.isEmpty() ? protectedKeys.keySet().iterator() : window.keySet().iterator());
+        }
+        long victim = probation.keySet().iterator().next();
+        Iterator<Long> pending = candidates.iterator();
+        if (!pending.hasNext()) {
+            return evictFromProbation(victim);
+        }
+        long candidate = pending.next();
+        pending.remove();
+        if (candidate == victim || sketch.frequency(candidate) > sketch.frequency(victim)) {
+            return evictFromProbation(victim);
+        }
+        return evictFromProbation(candidate);
+    }
+
+    private long evictFromProbation(long key) {
+        probation.remove(key);
+        candidates.remove(key);
+        return key;
+    }
+
+    /**
+     * Removes and returns the first key of {@code keys}.
+     */
+    private static long first(Iterator<Long> keys) {
+        long key = keys.next();
+        keys.remove();
+        return key;
+    }
+}
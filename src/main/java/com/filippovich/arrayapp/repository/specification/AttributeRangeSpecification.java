@@ -0,0 +1,50 @@
+package main.java.com.filippovich.arrayapp.repository.specification;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.repository.IndexPredicate;
+import main.java.com.filippovich.arrayapp.repository.IndexableSpecification;
+import main.java.com.filippovich.arrayapp.repository.IndexedAttribute;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Conjunction of ranges on indexed attributes, e.g. "between 3 and 5 words and longest word at least 8".
+ */
+public class AttributeRangeSpecification implements IndexableSpecification {
+
+    private final List<IndexPredicate> predicates = new ArrayList<>();
+
+    public AttributeRangeSpecification where(IndexPredicate predicate) {
+        predicates.add(predicate);
+        return this;
+    }
+
+    public AttributeRangeSpecification equalTo(IndexedAttribute attribute, Comparable<?> value) {
+        return where(IndexPredicate.equalTo(attribute, value));
+    }
+
+    public AttributeRangeSpecification between(IndexedAttribute attribute, Comparable<?> from, Comparable<?> to) {
+        return where(IndexPredicate.between(attribute, from, to));
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public boolean specified(StringArray array) {
+        for (IndexPredicate predicate : predicates) {
+            Comparable value = predicate.getAttribute().valueOf(array);
+            if (value == null
+                    || predicate.getFrom() != null && value.compareTo(predicate.getFrom()) < 0
+                    || predicate.getTo() != null && value.compareTo(predicate.getTo()) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public List<IndexPredicate> indexPredicates() {
+        return Collections.unmodifiableList(predicates);
+    }
+}
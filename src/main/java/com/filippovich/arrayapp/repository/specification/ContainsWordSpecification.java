@@ -0,0 +1,45 @@
+package main.java.com.filippovich.arrayapp.repository.specification;
+
+import main.java.com.filippovich.arrayapp.dictionary.WordDictionary;
+import main.java.com.filippovich.arrayapp.dictionary.impl.WordDictionaryImpl;
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.entity.impl.EncodedStringArrayImpl;
+import main.java.com.filippovich.arrayapp.repository.Specification;
+
+/**
+ * Matches arrays containing {@code word}. Dictionary-encoded arrays are checked by comparing word ids; the
+ * id is looked up per array, since a word's id is reassigned once no array holds the word any more.
+ */
+public class ContainsWordSpecification implements Specification {
+
+    private final String word;
+
+    public ContainsWordSpecification(String word) {
+        this.word = word;
+    }
+
+    @Override
+    public boolean specified(StringArray array) {
+        if (array instanceof EncodedStringArrayImpl
+                && ((EncodedStringArrayImpl) array).getDictionary() == WordDictionaryImpl.getInstance()) {
+            int id = WordDictionaryImpl.getInstance().lookup(word);
+            if (id == WordDictionary.NOT_FOUND) {
+                return false;
+            }
+            EncodedStringArrayImpl encoded = (EncodedStringArrayImpl) array;
+            for (int i = 0; i < encoded.length(); i++) {
+                if (encoded.idAt(i) == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        for (int i = 0; i < array.length(); i++) {
+            if (array.get(i).equals(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
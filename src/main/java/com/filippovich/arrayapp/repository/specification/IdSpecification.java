@@ -1,19 +1,30 @@
 package main.java.com.filippovich.arrayapp.repository.specification;
 
 import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.id.impl.UuidAdapter;
 import main.java.com.filippovich.arrayapp.repository.Specification;
 
 import java.util.UUID;
 
 public class IdSpecification implements Specification {
-    private final UUID id;
+    private final long key;
+    private final boolean matchesAny;
 
+    /**
+     * An id not adapted by {@link UuidAdapter} names no entity, so the specification matches nothing.
+     */
     public IdSpecification(UUID id) {
-        this.id = id;
+        this.matchesAny = UuidAdapter.isAdapted(id);
+        this.key = matchesAny ? UuidAdapter.toKey(id) : 0L;
+    }
+
+    public IdSpecification(long key) {
+        this.key = key;
+        this.matchesAny = true;
     }
 
     @Override
     public boolean specified(StringArray array) {
-        return array.getId().equals(id);
+        return matchesAny && array.getKey() == key;
     }
 }
\ No newline at end of file
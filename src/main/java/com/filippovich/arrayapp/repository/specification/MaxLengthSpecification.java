@@ -1,13 +1,13 @@
 package main.java.com.filippovich.arrayapp.repository.specification;
 
 import main.java.com.filippovich.arrayapp.entity.StringArray;
-import main.java.com.filippovich.arrayapp.repository.Specification;
-import main.java.com.filippovich.arrayapp.warehouse.impl.ArrayStatisticsImpl;
-import main.java.com.filippovich.arrayapp.warehouse.impl.Warehouse;
+import main.java.com.filippovich.arrayapp.repository.IndexPredicate;
+import main.java.com.filippovich.arrayapp.repository.IndexableSpecification;
+import main.java.com.filippovich.arrayapp.repository.IndexedAttribute;
 
-import java.util.Optional;
+import java.util.List;
 
-public class MaxLengthSpecification implements Specification {
+public class MaxLengthSpecification implements IndexableSpecification {
 
     private final int targetMaxLength;
 
@@ -17,8 +17,11 @@ public class MaxLengthSpecification implements Specification {
 
     @Override
     public boolean specified(StringArray array) {
-        Warehouse warehouse = Warehouse.getInstance();
-        Optional<ArrayStatisticsImpl> stats = warehouse.getStatistics(array.getId());
-        return stats.isPresent() && stats.get().getMaxLength() == targetMaxLength;
+        return array.getMaxLength() == targetMaxLength;
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<IndexPredicate> indexPredicates() {
+        return List.of(IndexPredicate.equalTo(IndexedAttribute.MAX_LENGTH, targetMaxLength));
+    }
+}
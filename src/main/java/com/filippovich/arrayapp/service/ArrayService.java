@@ -1,24 +1,28 @@
 package main.java.com.filippovich.arrayapp.service;
 
+import main.java.com.filippovich.arrayapp.entity.StringArray;
 import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
 import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
 
 public interface ArrayService {
 
-    String findShortestWord(StringArrayImpl array);
-    String findLongestWord(StringArrayImpl array);
+    String findShortestWord(StringArray array);
+    String findLongestWord(StringArray array);
 
-    double calculateAverageLength(StringArrayImpl array);
-    int calculateTotalCharacters(StringArrayImpl array);
+    double calculateAverageLength(StringArray array);
+    int calculateTotalCharacters(StringArray array);
 
-    int countWordsLongerThan(StringArrayImpl array, int minLength);
-    int countWordsShorterThan(StringArrayImpl array, int maxLength);
+    int countWordsLongerThan(StringArray array, int minLength);
+    int countWordsShorterThan(StringArray array, int maxLength);
 
-    StringArrayImpl replaceWords(StringArrayImpl array, String oldWord, String newWord) throws InvalidArrayException;
-    StringArrayImpl replaceWordsByLength(StringArrayImpl array, int targetLength, String newWord) throws InvalidArrayException;
+    StringArrayImpl replaceWords(StringArray array, String oldWord, String newWord) throws InvalidArrayException;
+    StringArrayImpl replaceWordsByLength(StringArray array, int targetLength, String newWord) throws InvalidArrayException;
 
-    String findFirstAlphabetically(StringArrayImpl array);
-    String findLastAlphabetically(StringArrayImpl array);
-    int countWordsStartingWith(StringArrayImpl array, char letter);
-    int countWordsEndingWith(StringArrayImpl array, char letter);
+    String findFirstAlphabetically(StringArray array);
+    String findLastAlphabetically(StringArray array);
+    int countWordsStartingWith(StringArray array, char letter);
+    int countWordsEndingWith(StringArray array, char letter);
+
+    int countDistinctWords(StringArray array);
+    int countOccurrences(StringArray array, String word);
 }
\ No newline at end of file
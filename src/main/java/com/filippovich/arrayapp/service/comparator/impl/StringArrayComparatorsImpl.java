@@ -12,7 +12,7 @@ public class StringArrayComparatorsImpl implements StringArrayComparators {
 
     @Override
     public Comparator<StringArray> byId() {
-        return Comparator.comparing(StringArray::getId);
+        return Comparator.comparingLong(StringArray::getKey);
     }
 
 
@@ -28,8 +28,8 @@ public class StringArrayComparatorsImpl implements StringArrayComparators {
             if (arr1.isEmpty()) return -1;
             if (arr2.isEmpty()) return 1;
 
-            String first1 = arr1.getArray()[0];
-            String first2 = arr2.getArray()[0];
+            String first1 = arr1.get(0);
+            String first2 = arr2.get(0);
             return first1.compareToIgnoreCase(first2);
         };
     }
@@ -1,17 +1,23 @@
 package main.java.com.filippovich.arrayapp.service.impl;
 
+import main.java.com.filippovich.arrayapp.entity.StringArray;
 import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
 import main.java.com.filippovich.arrayapp.entity.impl.ArrayFactory;
+import main.java.com.filippovich.arrayapp.entity.impl.EncodedStringArrayImpl;
 import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
 import main.java.com.filippovich.arrayapp.service.ArrayService;
 import main.java.com.filippovich.arrayapp.util.LoggerUtil;
 import org.apache.logging.log4j.Logger;
 
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
 public class ArrayServiceImpl implements ArrayService {
     private static final Logger logger = LoggerUtil.getLogger(ArrayServiceImpl.class);
 
     @Override
-    public String findShortestWord(StringArrayImpl array) {
+    public String findShortestWord(StringArray array) {
         logger.debug("Finding shortest word in array: {}", array);
 
         if (array.isEmpty()) {
@@ -19,20 +25,18 @@ public class ArrayServiceImpl implements ArrayService {
             return "";
         }
 
-        String[] arr = array.getArray();
-        String shortest = arr[0];
-        for (int i = 1; i < arr.length; i++) {
-            if (arr[i].length() < shortest.length()) {
-                shortest = arr[i];
-            }
+        int shortestIndex = 0;
+        while (array.lengthAt(shortestIndex) != array.getMinLength()) {
+            shortestIndex++;
         }
+        String shortest = array.get(shortestIndex);
 
         logger.debug("Shortest word found: '{}' (length: {})", shortest, shortest.length());
         return shortest;
     }
 
     @Override
-    public String findLongestWord(StringArrayImpl array) {
+    public String findLongestWord(StringArray array) {
         logger.debug("Finding longest word in array: {}", array);
 
         if (array.isEmpty()) {
@@ -40,20 +44,18 @@ public class ArrayServiceImpl implements ArrayService {
             return "";
         }
 
-        String[] arr = array.getArray();
-        String longest = arr[0];
-        for (int i = 1; i < arr.length; i++) {
-            if (arr[i].length() > longest.length()) {
-                longest = arr[i];
-            }
+        int longestIndex = 0;
+        while (array.lengthAt(longestIndex) != array.getMaxLength()) {
+            longestIndex++;
         }
+        String longest = array.get(longestIndex);
 
         logger.debug("Longest word found: '{}' (length: {})", longest, longest.length());
         return longest;
     }
 
     @Override
-    public double calculateAverageLength(StringArrayImpl array) {
+    public double calculateAverageLength(StringArray array) {
         logger.debug("Calculating average word length in array: {}", array);
 
         if (array.isEmpty()) {
@@ -61,40 +63,33 @@ public class ArrayServiceImpl implements ArrayService {
             return 0.0;
         }
 
-        String[] arr = array.getArray();
-        int totalLength = 0;
-        for (String word : arr) {
-            totalLength += word.length();
-        }
-
-        double average = (double) totalLength / array.length();
+        double average = (double) array.getTotalLength() / array.length();
         logger.debug("Average word length: {}", average);
         return average;
     }
 
     @Override
-    public int calculateTotalCharacters(StringArrayImpl array) {
+    public int calculateTotalCharacters(StringArray array) {
         logger.debug("Calculating total characters in array: {}", array);
 
-        String[] arr = array.getArray();
-        int total = 0;
-        for (String word : arr) {
-            total += word.length();
-        }
+        int total = array.getTotalLength();
 
         logger.debug("Total characters: {}", total);
         return total;
     }
 
     @Override
-    public int countWordsLongerThan(StringArrayImpl array, int minLength) {
+    public int countWordsLongerThan(StringArray array, int minLength) {
         logger.debug("Counting words longer than {} in array: {}", minLength, array);
 
-        String[] arr = array.getArray();
         int count = 0;
-        for (String word : arr) {
-            if (word.length() > minLength) {
-                count++;
+        if (array.getMinLength() > minLength) {
+            count = array.length();
+        } else if (array.getMaxLength() > minLength) {
+            for (int i = 0; i < array.length(); i++) {
+                if (array.lengthAt(i) > minLength) {
+                    count++;
+                }
             }
         }
 
@@ -103,14 +98,17 @@ public class ArrayServiceImpl implements ArrayService {
     }
 
     @Override
-    public int countWordsShorterThan(StringArrayImpl array, int maxLength) {
+    public int countWordsShorterThan(StringArray array, int maxLength) {
         logger.debug("Counting words shorter than {} in array: {}", maxLength, array);
 
-        String[] arr = array.getArray();
         int count = 0;
-        for (String word : arr) {
-            if (word.length() < maxLength) {
-                count++;
+        if (array.getMaxLength() < maxLength) {
+            count = array.length();
+        } else if (array.getMinLength() < maxLength) {
+            for (int i = 0; i < array.length(); i++) {
+                if (array.lengthAt(i) < maxLength) {
+                    count++;
+                }
             }
         }
 
@@ -119,39 +117,46 @@ public class ArrayServiceImpl implements ArrayService {
     }
 
     @Override
-    public StringArrayImpl replaceWords(StringArrayImpl array, String oldWord, String newWord) throws InvalidArrayException {
+    public StringArrayImpl replaceWords(StringArray array, String oldWord, String newWord) throws InvalidArrayException {
         logger.debug("Replacing words in array: {}, oldWord: '{}', newWord: '{}'", array, oldWord, newWord);
 
-        String[] arr = array.getArray();
-        String[] result = new String[arr.length];
+        String[] result = new String[array.length()];
 
-        for (int i = 0; i < arr.length; i++) {
-            result[i] = arr[i].equals(oldWord) ? newWord : arr[i];
+        if (array instanceof EncodedStringArrayImpl) {
+            EncodedStringArrayImpl encoded = (EncodedStringArrayImpl) array;
+            int oldId = encoded.getDictionary().lookup(oldWord);
+            for (int i = 0; i < result.length; i++) {
+                result[i] = encoded.idAt(i) == oldId ? newWord : encoded.get(i);
+            }
+        } else {
+            for (int i = 0; i < result.length; i++) {
+                String word = array.get(i);
+                result[i] = word.equals(oldWord) ? newWord : word;
+            }
         }
 
-        StringArrayImpl replacedArray = ArrayFactory.createFromArray(result);
+        StringArrayImpl replacedArray = ArrayFactory.createDetached(result);
         logger.debug("Words replaced. Result: {}", replacedArray);
         return replacedArray;
     }
 
     @Override
-    public StringArrayImpl replaceWordsByLength(StringArrayImpl array, int targetLength, String newWord) throws InvalidArrayException {
+    public StringArrayImpl replaceWordsByLength(StringArray array, int targetLength, String newWord) throws InvalidArrayException {
         logger.debug("Replacing words with length {} with '{}' in array: {}", targetLength, newWord, array);
 
-        String[] arr = array.getArray();
-        String[] result = new String[arr.length];
+        String[] result = new String[array.length()];
 
-        for (int i = 0; i < arr.length; i++) {
-            result[i] = (arr[i].length() == targetLength) ? newWord : arr[i];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (array.lengthAt(i) == targetLength) ? newWord : array.get(i);
         }
 
-        StringArrayImpl replacedArray = ArrayFactory.createFromArray(result);
+        StringArrayImpl replacedArray = ArrayFactory.createDetached(result);
         logger.debug("Words replaced by length. Result: {}", replacedArray);
         return replacedArray;
     }
 
     @Override
-    public String findFirstAlphabetically(StringArrayImpl array) {
+    public String findFirstAlphabetically(StringArray array) {
         logger.debug("Finding first word alphabetically in array: {}", array);
 
         if (array.isEmpty()) {
@@ -159,11 +164,11 @@ public class ArrayServiceImpl implements ArrayService {
             return "";
         }
 
-        String[] arr = array.getArray();
-        String first = arr[0];
-        for (int i = 1; i < arr.length; i++) {
-            if (arr[i].compareToIgnoreCase(first) < 0) {
-                first = arr[i];
+        String first = array.get(0);
+        for (int i = 1; i < array.length(); i++) {
+            String word = array.get(i);
+            if (word.compareToIgnoreCase(first) < 0) {
+                first = word;
             }
         }
 
@@ -172,7 +177,7 @@ public class ArrayServiceImpl implements ArrayService {
     }
 
     @Override
-    public String findLastAlphabetically(StringArrayImpl array) {
+    public String findLastAlphabetically(StringArray array) {
         logger.debug("Finding last word alphabetically in array: {}", array);
 
         if (array.isEmpty()) {
@@ -180,11 +185,11 @@ public class ArrayServiceImpl implements ArrayService {
             return "";
         }
 
-        String[] arr = array.getArray();
-        String last = arr[0];
-        for (int i = 1; i < arr.length; i++) {
-            if (arr[i].compareToIgnoreCase(last) > 0) {
-                last = arr[i];
+        String last = array.get(0);
+        for (int i = 1; i < array.length(); i++) {
+            String word = array.get(i);
+            if (word.compareToIgnoreCase(last) > 0) {
+                last = word;
             }
         }
 
@@ -193,13 +198,13 @@ public class ArrayServiceImpl implements ArrayService {
     }
 
     @Override
-    public int countWordsStartingWith(StringArrayImpl array, char letter) {
+    public int countWordsStartingWith(StringArray array, char letter) {
         logger.debug("Counting words starting with '{}' in array: {}", letter, array);
 
-        String[] arr = array.getArray();
         int count = 0;
-        for (String word : arr) {
-            if (!word.isEmpty() && Character.toLowerCase(word.charAt(0)) == Character.toLowerCase(letter)) {
+        for (int i = 0; i < array.length(); i++) {
+            CharSequence word = array.view(i);
+            if (word.length() > 0 && Character.toLowerCase(word.charAt(0)) == Character.toLowerCase(letter)) {
                 count++;
             }
         }
@@ -209,13 +214,13 @@ public class ArrayServiceImpl implements ArrayService {
     }
 
     @Override
-    public int countWordsEndingWith(StringArrayImpl array, char letter) {
+    public int countWordsEndingWith(StringArray array, char letter) {
         logger.debug("Counting words ending with '{}' in array: {}", letter, array);
 
-        String[] arr = array.getArray();
         int count = 0;
-        for (String word : arr) {
-            if (!word.isEmpty() &&
+        for (int i = 0; i < array.length(); i++) {
+            CharSequence word = array.view(i);
+            if (word.length() > 0 &&
                     Character.toLowerCase(word.charAt(word.length() - 1)) == Character.toLowerCase(letter)) {
                 count++;
             }
@@ -224,4 +229,47 @@ public class ArrayServiceImpl implements ArrayService {
         logger.debug("Words ending with '{}': {}", letter, count);
         return count;
     }
-}
\ No newline at end of file
+
+    @Override
+    public int countDistinctWords(StringArray array) {
+        logger.debug("Counting distinct words in array: {}", array);
+
+        int count;
+        if (array instanceof EncodedStringArrayImpl) {
+            EncodedStringArrayImpl encoded = (EncodedStringArrayImpl) array;
+            BitSet seen = new BitSet();
+            for (int i = 0; i < encoded.length(); i++) {
+                seen.set(encoded.idAt(i));
+            }
+            count = seen.cardinality();
+        } else {
+            Set<String> seen = new HashSet<>();
+            for (int i = 0; i < array.length(); i++) {
+                seen.add(array.get(i));
+            }
+            count = seen.size();
+        }
+
+        logger.debug("Distinct words: {}", count);
+        return count;
+    }
+
+    @Override
+    public int countOccurrences(StringArray array, String word) {
+        logger.debug("Counting occurrences of '{}' in array: {}", word, array);
+
+        int count = 0;
+        if (array instanceof EncodedStringArrayImpl) {
+            count = ((EncodedStringArrayImpl) array).countOf(word);
+        } else {
+            for (int i = 0; i < array.length(); i++) {
+                if (array.get(i).equals(word)) {
+                    count++;
+                }
+            }
+        }
+
+        logger.debug("Occurrences of '{}': {}", word, count);
+        return count;
+    }
+}
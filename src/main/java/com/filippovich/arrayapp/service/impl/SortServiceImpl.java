@@ -8,7 +8,6 @@ import main.java.com.filippovich.arrayapp.util.LoggerUtil;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Arrays;
-import java.util.Comparator;
 
 public class SortServiceImpl implements SortService {
     private static final Logger logger = LoggerUtil.getLogger(SortServiceImpl.class);
@@ -23,19 +22,18 @@ public class SortServiceImpl implements SortService {
         }
 
         String[] arr = array.getArray();
+        int[] lengths = array.lengths().toArray();
         int n = arr.length;
 
         for (int i = 0; i < n - 1; i++) {
             for (int j = 0; j < n - i - 1; j++) {
-                if (arr[j].length() > arr[j + 1].length()) {
-                    String temp = arr[j];
-                    arr[j] = arr[j + 1];
-                    arr[j + 1] = temp;
+                if (lengths[j] > lengths[j + 1]) {
+                    swap(arr, lengths, j, j + 1);
                 }
             }
         }
 
-        StringArrayImpl sortedArray = ArrayFactory.createFromArray(arr);
+        StringArrayImpl sortedArray = ArrayFactory.createDetached(arr);
         logger.debug("Bubble sort completed. Result: {}", sortedArray);
         return sortedArray;
     }
@@ -50,21 +48,20 @@ public class SortServiceImpl implements SortService {
         }
 
         String[] arr = array.getArray();
+        int[] lengths = array.lengths().toArray();
         int n = arr.length;
 
         for (int i = 0; i < n - 1; i++) {
             int minIndex = i;
             for (int j = i + 1; j < n; j++) {
-                if (arr[j].length() < arr[minIndex].length()) {
+                if (lengths[j] < lengths[minIndex]) {
                     minIndex = j;
                 }
             }
-            String temp = arr[minIndex];
-            arr[minIndex] = arr[i];
-            arr[i] = temp;
+            swap(arr, lengths, minIndex, i);
         }
 
-        StringArrayImpl sortedArray = ArrayFactory.createFromArray(arr);
+        StringArrayImpl sortedArray = ArrayFactory.createDetached(arr);
         logger.debug("Selection sort completed. Result: {}", sortedArray);
         return sortedArray;
     }
@@ -80,44 +77,86 @@ public class SortServiceImpl implements SortService {
 
         String[] arr = array.getArray();
         if (arr.length > 1) {
-            quickSortByLength(arr, 0, arr.length - 1);
+            quickSortByLength(arr, array.lengths().toArray(), 0, arr.length - 1);
         }
 
-        StringArrayImpl sortedArray = ArrayFactory.createFromArray(arr);
+        StringArrayImpl sortedArray = ArrayFactory.createDetached(arr);
         logger.debug("Quick sort completed. Result: {}", sortedArray);
         return sortedArray;
     }
 
     @Override
     public void quickSortByLength(String[] arr, int low, int high) {
-        if (low < high) {
-            int pivotIndex = partitionByLength(arr, low, high);
-            quickSortByLength(arr, low, pivotIndex - 1);
-            quickSortByLength(arr, pivotIndex + 1, high);
-        }
+        quickSortByLength(arr, lengthsOf(arr), low, high);
     }
 
     @Override
     public int partitionByLength(String[] arr, int low, int high) {
-        int pivot = arr[high].length();
+        return partitionByLength(arr, lengthsOf(arr), low, high);
+    }
+
+    private void quickSortByLength(String[] arr, int[] lengths, int low, int high) {
+        if (low < high) {
+            int pivotIndex = partitionByLength(arr, lengths, low, high);
+            quickSortByLength(arr, lengths, low, pivotIndex - 1);
+            quickSortByLength(arr, lengths, pivotIndex + 1, high);
+        }
+    }
+
+    private int partitionByLength(String[] arr, int[] lengths, int low, int high) {
+        int pivot = lengths[high];
         int i = low - 1;
 
         for (int j = low; j < high; j++) {
-            if (arr[j].length() <= pivot) {
+            if (lengths[j] <= pivot) {
                 i++;
-                String temp = arr[i];
-                arr[i] = arr[j];
-                arr[j] = temp;
+                swap(arr, lengths, i, j);
             }
         }
 
-        String temp = arr[i + 1];
-        arr[i + 1] = arr[high];
-        arr[high] = temp;
+        swap(arr, lengths, i + 1, high);
 
         return i + 1;
     }
 
+    private static int[] lengthsOf(String[] arr) {
+        int[] lengths = new int[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            lengths[i] = arr[i].length();
+        }
+        return lengths;
+    }
+
+    private static void swap(String[] arr, int[] lengths, int i, int j) {
+        String word = arr[i];
+        arr[i] = arr[j];
+        arr[j] = word;
+        int length = lengths[i];
+        lengths[i] = lengths[j];
+        lengths[j] = length;
+    }
+
+    /**
+     * Counting sort over the length range {@code [min, max]} known from the entity; stable, like the
+     * comparator sort it replaces.
+     */
+    private static String[] sortByLengthDescendingStable(StringArrayImpl array) {
+        int min = array.getMinLength();
+        int[] starts = new int[array.getMaxLength() - min + 2];
+        for (int i = 0; i < array.length(); i++) {
+            starts[array.getMaxLength() - array.lengthAt(i) + 1]++;
+        }
+        for (int bucket = 1; bucket < starts.length; bucket++) {
+            starts[bucket] += starts[bucket - 1];
+        }
+
+        String[] sorted = new String[array.length()];
+        for (int i = 0; i < array.length(); i++) {
+            sorted[starts[array.getMaxLength() - array.lengthAt(i)]++] = array.get(i);
+        }
+        return sorted;
+    }
+
     @Override
     public StringArrayImpl sortAlphabetically(StringArrayImpl array) throws InvalidArrayException {
         logger.debug("Sorting alphabetically: {}", array);
@@ -130,7 +169,7 @@ public class SortServiceImpl implements SortService {
         String[] arr = array.getArray();
         Arrays.sort(arr, String.CASE_INSENSITIVE_ORDER);
 
-        StringArrayImpl sortedArray = ArrayFactory.createFromArray(arr);
+        StringArrayImpl sortedArray = ArrayFactory.createDetached(arr);
         logger.debug("Alphabetical sort completed. Result: {}", sortedArray);
         return sortedArray;
     }
@@ -144,10 +183,9 @@ public class SortServiceImpl implements SortService {
             return array;
         }
 
-        String[] arr = array.getArray();
-        Arrays.sort(arr, Comparator.comparingInt(String::length).reversed());
+        String[] arr = sortByLengthDescendingStable(array);
 
-        StringArrayImpl sortedArray = ArrayFactory.createFromArray(arr);
+        StringArrayImpl sortedArray = ArrayFactory.createDetached(arr);
         logger.debug("Length descending sort completed. Result: {}", sortedArray);
         return sortedArray;
     }
@@ -1,7 +1,9 @@
 package main.java.com.filippovich.arrayapp.service.stream.impl;
 
+import main.java.com.filippovich.arrayapp.entity.StringArray;
 import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
 import main.java.com.filippovich.arrayapp.entity.impl.ArrayFactory;
+import main.java.com.filippovich.arrayapp.entity.impl.EncodedStringArrayImpl;
 import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
 import main.java.com.filippovich.arrayapp.service.ArrayService;
 import main.java.com.filippovich.arrayapp.util.LoggerUtil;
@@ -9,15 +11,21 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public class ArrayStreamServiceImpl implements ArrayService {
     private static final Logger logger = LoggerUtil.getLogger(ArrayStreamServiceImpl.class);
 
+    private static Stream<String> words(StringArray array) {
+        return IntStream.range(0, array.length()).mapToObj(array::get);
+    }
+
     @Override
-    public String findShortestWord(StringArrayImpl array) {
+    public String findShortestWord(StringArray array) {
         logger.debug("Finding shortest word using Stream API in array: {}", array);
 
-        String result = Arrays.stream(array.getArray())
+        String result = words(array)
                 .min(Comparator.comparingInt(String::length))
                 .orElse("");
 
@@ -26,10 +34,10 @@ public class ArrayStreamServiceImpl implements ArrayService {
     }
 
     @Override
-    public String findLongestWord(StringArrayImpl array) {
+    public String findLongestWord(StringArray array) {
         logger.debug("Finding longest word using Stream API in array: {}", array);
 
-        String result = Arrays.stream(array.getArray())
+        String result = words(array)
                 .max(Comparator.comparingInt(String::length))
                 .orElse("");
 
@@ -38,36 +46,31 @@ public class ArrayStreamServiceImpl implements ArrayService {
     }
 
     @Override
-    public double calculateAverageLength(StringArrayImpl array) {
+    public double calculateAverageLength(StringArray array) {
         logger.debug("Calculating average word length using Stream API in array: {}", array);
 
-        double result = Arrays.stream(array.getArray())
-                .mapToInt(String::length)
-                .average()
-                .orElse(0.0);
+        double result = array.isEmpty() ? 0.0 : (double) array.getTotalLength() / array.length();
 
         logger.debug("Average word length: {}", result);
         return result;
     }
 
     @Override
-    public int calculateTotalCharacters(StringArrayImpl array) {
+    public int calculateTotalCharacters(StringArray array) {
         logger.debug("Calculating total characters using Stream API in array: {}", array);
 
-        int result = Arrays.stream(array.getArray())
-                .mapToInt(String::length)
-                .sum();
+        int result = array.getTotalLength();
 
         logger.debug("Total characters: {}", result);
         return result;
     }
 
     @Override
-    public int countWordsLongerThan(StringArrayImpl array, int minLength) {
+    public int countWordsLongerThan(StringArray array, int minLength) {
         logger.debug("Counting words longer than {} using Stream API in array: {}", minLength, array);
 
-        long result = Arrays.stream(array.getArray())
-                .filter(word -> word.length() > minLength)
+        long result = array.lengths()
+                .filter(length -> length > minLength)
                 .count();
 
         logger.debug("Words longer than {}: {}", minLength, result);
@@ -75,11 +78,11 @@ public class ArrayStreamServiceImpl implements ArrayService {
     }
 
     @Override
-    public int countWordsShorterThan(StringArrayImpl array, int maxLength) {
+    public int countWordsShorterThan(StringArray array, int maxLength) {
         logger.debug("Counting words shorter than {} using Stream API in array: {}", maxLength, array);
 
-        long result = Arrays.stream(array.getArray())
-                .filter(word -> word.length() < maxLength)
+        long result = array.lengths()
+                .filter(length -> length < maxLength)
                 .count();
 
         logger.debug("Words shorter than {}: {}", maxLength, result);
@@ -87,37 +90,46 @@ public class ArrayStreamServiceImpl implements ArrayService {
     }
 
     @Override
-    public StringArrayImpl replaceWords(StringArrayImpl array, String oldWord, String newWord) throws InvalidArrayException {
+    public StringArrayImpl replaceWords(StringArray array, String oldWord, String newWord) throws InvalidArrayException {
         logger.debug("Replacing words using Stream API in array: {}, '{}' -> '{}'", array, oldWord, newWord);
 
-        String[] result = Arrays.stream(array.getArray())
-                .map(word -> word.equals(oldWord) ? newWord : word)
-                .toArray(String[]::new);
+        String[] result;
+        if (array instanceof EncodedStringArrayImpl) {
+            EncodedStringArrayImpl encoded = (EncodedStringArrayImpl) array;
+            int oldId = encoded.getDictionary().lookup(oldWord);
+            result = IntStream.range(0, encoded.length())
+                    .mapToObj(i -> encoded.idAt(i) == oldId ? newWord : encoded.get(i))
+                    .toArray(String[]::new);
+        } else {
+            result = words(array)
+                    .map(word -> word.equals(oldWord) ? newWord : word)
+                    .toArray(String[]::new);
+        }
 
-        StringArrayImpl replacedArray = ArrayFactory.createFromArray(result);
+        StringArrayImpl replacedArray = ArrayFactory.createDetached(result);
         logger.debug("Words replaced successfully. Result: {}", replacedArray);
         return replacedArray;
     }
 
     @Override
-    public StringArrayImpl replaceWordsByLength(StringArrayImpl array, int targetLength, String newWord) throws InvalidArrayException {
+    public StringArrayImpl replaceWordsByLength(StringArray array, int targetLength, String newWord) throws InvalidArrayException {
         logger.debug("Replacing words by length using Stream API in array: {}, length {} -> '{}'",
                 array, targetLength, newWord);
 
-        String[] result = Arrays.stream(array.getArray())
+        String[] result = words(array)
                 .map(word -> word.length() == targetLength ? newWord : word)
                 .toArray(String[]::new);
 
-        StringArrayImpl replacedArray = ArrayFactory.createFromArray(result);
+        StringArrayImpl replacedArray = ArrayFactory.createDetached(result);
         logger.debug("Words replaced by length successfully. Result: {}", replacedArray);
         return replacedArray;
     }
 
     @Override
-    public String findFirstAlphabetically(StringArrayImpl array) {
+    public String findFirstAlphabetically(StringArray array) {
         logger.debug("Finding first word alphabetically using Stream API in array: {}", array);
 
-        String result = Arrays.stream(array.getArray())
+        String result = words(array)
                 .min(String::compareToIgnoreCase)
                 .orElse("");
 
@@ -126,10 +138,10 @@ public class ArrayStreamServiceImpl implements ArrayService {
     }
 
     @Override
-    public String findLastAlphabetically(StringArrayImpl array) {
+    public String findLastAlphabetically(StringArray array) {
         logger.debug("Finding last word alphabetically using Stream API in array: {}", array);
 
-        String result = Arrays.stream(array.getArray())
+        String result = words(array)
                 .max(String::compareToIgnoreCase)
                 .orElse("");
 
@@ -138,10 +150,10 @@ public class ArrayStreamServiceImpl implements ArrayService {
     }
 
     @Override
-    public int countWordsStartingWith(StringArrayImpl array, char letter) {
+    public int countWordsStartingWith(StringArray array, char letter) {
         logger.debug("Counting words starting with '{}' using Stream API in array: {}", letter, array);
 
-        long result = Arrays.stream(array.getArray())
+        long result = words(array)
                 .filter(word -> !word.isEmpty() &&
                         Character.toLowerCase(word.charAt(0)) == Character.toLowerCase(letter))
                 .count();
@@ -151,10 +163,10 @@ public class ArrayStreamServiceImpl implements ArrayService {
     }
 
     @Override
-    public int countWordsEndingWith(StringArrayImpl array, char letter) {
+    public int countWordsEndingWith(StringArray array, char letter) {
         logger.debug("Counting words ending with '{}' using Stream API in array: {}", letter, array);
 
-        long result = Arrays.stream(array.getArray())
+        long result = words(array)
                 .filter(word -> !word.isEmpty() &&
                         Character.toLowerCase(word.charAt(word.length() - 1)) == Character.toLowerCase(letter))
                 .count();
@@ -163,10 +175,43 @@ public class ArrayStreamServiceImpl implements ArrayService {
         return (int) result;
     }
 
-    public String[] findWordsLongerThan(StringArrayImpl array, int minLength) {
+    @Override
+    public int countDistinctWords(StringArray array) {
+        logger.debug("Counting distinct words using Stream API in array: {}", array);
+
+        long result = array instanceof EncodedStringArrayImpl
+                ? ((EncodedStringArrayImpl) array).wordIds().distinct().count()
+                : words(array).distinct().count();
+
+        logger.debug("Distinct words: {}", result);
+        return (int) result;
+    }
+
+    @Override
+    public int countOccurrences(StringArray array, String word) {
+        logger.debug("Counting occurrences of '{}' using Stream API in array: {}", word, array);
+
+        long result;
+        if (array instanceof EncodedStringArrayImpl) {
+            EncodedStringArrayImpl encoded = (EncodedStringArrayImpl) array;
+            int wordId = encoded.getDictionary().lookup(word);
+            result = encoded.wordIds()
+                    .filter(id -> id == wordId)
+                    .count();
+        } else {
+            result = words(array)
+                    .filter(candidate -> candidate.equals(word))
+                    .count();
+        }
+
+        logger.debug("Occurrences of '{}': {}", word, result);
+        return (int) result;
+    }
+
+    public String[] findWordsLongerThan(StringArray array, int minLength) {
         logger.debug("Finding words longer than {} using Stream API in array: {}", minLength, array);
 
-        String[] result = Arrays.stream(array.getArray())
+        String[] result = words(array)
                 .filter(word -> word.length() > minLength)
                 .toArray(String[]::new);
 
@@ -174,10 +219,10 @@ public class ArrayStreamServiceImpl implements ArrayService {
         return result;
     }
 
-    public String[] findWordsContaining(StringArrayImpl array, String substring) {
+    public String[] findWordsContaining(StringArray array, String substring) {
         logger.debug("Finding words containing '{}' using Stream API in array: {}", substring, array);
 
-        String[] result = Arrays.stream(array.getArray())
+        String[] result = words(array)
                 .filter(word -> word.toLowerCase().contains(substring.toLowerCase()))
                 .toArray(String[]::new);
 
@@ -185,21 +230,30 @@ public class ArrayStreamServiceImpl implements ArrayService {
         return result;
     }
 
-    public String[] getUniqueWords(StringArrayImpl array) {
+    public String[] getUniqueWords(StringArray array) {
         logger.debug("Getting unique words using Stream API in array: {}", array);
 
-        String[] result = Arrays.stream(array.getArray())
-                .distinct()
-                .toArray(String[]::new);
+        String[] result;
+        if (array instanceof EncodedStringArrayImpl) {
+            EncodedStringArrayImpl encoded = (EncodedStringArrayImpl) array;
+            result = encoded.wordIds()
+                    .distinct()
+                    .mapToObj(encoded.getDictionary()::wordOf)
+                    .toArray(String[]::new);
+        } else {
+            result = words(array)
+                    .distinct()
+                    .toArray(String[]::new);
+        }
 
         logger.debug("Found {} unique words from {} total words", result.length, array.length());
         return result;
     }
 
-    public String[] getWordsSortedByLength(StringArrayImpl array) {
+    public String[] getWordsSortedByLength(StringArray array) {
         logger.debug("Getting words sorted by length using Stream API in array: {}", array);
 
-        String[] result = Arrays.stream(array.getArray())
+        String[] result = words(array)
                 .sorted(Comparator.comparingInt(String::length))
                 .toArray(String[]::new);
 
@@ -207,10 +261,10 @@ public class ArrayStreamServiceImpl implements ArrayService {
         return result;
     }
 
-    public String[] getWordsSortedAlphabetically(StringArrayImpl array) {
+    public String[] getWordsSortedAlphabetically(StringArray array) {
         logger.debug("Getting words sorted alphabetically using Stream API in array: {}", array);
 
-        String[] result = Arrays.stream(array.getArray())
+        String[] result = words(array)
                 .sorted(String::compareToIgnoreCase)
                 .toArray(String[]::new);
 
@@ -218,10 +272,10 @@ public class ArrayStreamServiceImpl implements ArrayService {
         return result;
     }
 
-    public String[] getWordsStartingWith(StringArrayImpl array, char letter) {
+    public String[] getWordsStartingWith(StringArray array, char letter) {
         logger.debug("Getting words starting with '{}' using Stream API in array: {}", letter, array);
 
-        String[] result = Arrays.stream(array.getArray())
+        String[] result = words(array)
                 .filter(word -> !word.isEmpty() &&
                         Character.toLowerCase(word.charAt(0)) == Character.toLowerCase(letter))
                 .toArray(String[]::new);
@@ -230,10 +284,10 @@ public class ArrayStreamServiceImpl implements ArrayService {
         return result;
     }
 
-    public String[] getWordsEndingWith(StringArrayImpl array, char letter) {
+    public String[] getWordsEndingWith(StringArray array, char letter) {
         logger.debug("Getting words ending with '{}' using Stream API in array: {}", letter, array);
 
-        String[] result = Arrays.stream(array.getArray())
+        String[] result = words(array)
                 .filter(word -> !word.isEmpty() &&
                         Character.toLowerCase(word.charAt(word.length() - 1)) == Character.toLowerCase(letter))
                 .toArray(String[]::new);
@@ -242,35 +296,28 @@ public class ArrayStreamServiceImpl implements ArrayService {
         return result;
     }
 
-    public int findMaxWordLength(StringArrayImpl array) {
+    public int findMaxWordLength(StringArray array) {
         logger.debug("Finding maximum word length using Stream API in array: {}", array);
 
-        int result = Arrays.stream(array.getArray())
-                .mapToInt(String::length)
-                .max()
-                .orElse(0);
+        int result = array.getMaxLength();
 
         logger.debug("Maximum word length: {}", result);
         return result;
     }
 
-    public int findMinWordLength(StringArrayImpl array) {
+    public int findMinWordLength(StringArray array) {
         logger.debug("Finding minimum word length using Stream API in array: {}", array);
 
-        int result = Arrays.stream(array.getArray())
-                .mapToInt(String::length)
-                .min()
-                .orElse(0);
+        int result = array.getMinLength();
 
         logger.debug("Minimum word length: {}", result);
         return result;
     }
 
-    public long countDistinctWordLengths(StringArrayImpl array) {
+    public long countDistinctWordLengths(StringArray array) {
         logger.debug("Counting distinct word lengths using Stream API in array: {}", array);
 
-        long result = Arrays.stream(array.getArray())
-                .mapToInt(String::length)
+        long result = array.lengths()
                 .distinct()
                 .count();
 
@@ -278,10 +325,10 @@ public class ArrayStreamServiceImpl implements ArrayService {
         return result;
     }
 
-    public String[] getTopLongestWords(StringArrayImpl array, int count) {
+    public String[] getTopLongestWords(StringArray array, int count) {
         logger.debug("Getting top {} longest words using Stream API in array: {}", count, array);
 
-        String[] result = Arrays.stream(array.getArray())
+        String[] result = words(array)
                 .sorted(Comparator.comparingInt(String::length).reversed())
                 .limit(count)
                 .toArray(String[]::new);
@@ -290,10 +337,10 @@ public class ArrayStreamServiceImpl implements ArrayService {
         return result;
     }
 
-    public String[] getTopShortestWords(StringArrayImpl array, int count) {
+    public String[] getTopShortestWords(StringArray array, int count) {
         logger.debug("Getting top {} shortest words using Stream API in array: {}", count, array);
 
-        String[] result = Arrays.stream(array.getArray())
+        String[] result = words(array)
                 .sorted(Comparator.comparingInt(String::length))
                 .limit(count)
                 .toArray(String[]::new);
@@ -302,21 +349,21 @@ public class ArrayStreamServiceImpl implements ArrayService {
         return result;
     }
 
-    public boolean allWordsMatchCondition(StringArrayImpl array, String condition) {
+    public boolean allWordsMatchCondition(StringArray array, String condition) {
         logger.debug("Checking if all words match condition '{}' using Stream API in array: {}", condition, array);
 
         boolean result;
         switch (condition.toLowerCase()) {
             case "uppercase":
-                result = Arrays.stream(array.getArray())
+                result = words(array)
                         .allMatch(word -> word.equals(word.toUpperCase()));
                 break;
             case "lowercase":
-                result = Arrays.stream(array.getArray())
+                result = words(array)
                         .allMatch(word -> word.equals(word.toLowerCase()));
                 break;
             case "startswithvowel":
-                result = Arrays.stream(array.getArray())
+                result = words(array)
                         .allMatch(word -> !word.isEmpty() && "aeiou".contains(
                                 String.valueOf(Character.toLowerCase(word.charAt(0)))));
                 break;
@@ -329,24 +376,24 @@ public class ArrayStreamServiceImpl implements ArrayService {
         return result;
     }
 
-    public boolean anyWordMatchesCondition(StringArrayImpl array, String condition) {
+    public boolean anyWordMatchesCondition(StringArray array, String condition) {
         logger.debug("Checking if any word matches condition '{}' using Stream API in array: {}", condition, array);
 
         boolean result;
         switch (condition.toLowerCase()) {
             case "uppercase":
-                result = Arrays.stream(array.getArray())
+                result = words(array)
                         .anyMatch(word -> word.equals(word.toUpperCase()));
                 break;
             case "palindrome":
-                result = Arrays.stream(array.getArray())
+                result = words(array)
                         .anyMatch(word -> {
                             String reversed = new StringBuilder(word).reverse().toString();
                             return word.equalsIgnoreCase(reversed);
                         });
                 break;
             case "containsdigit":
-                result = Arrays.stream(array.getArray())
+                result = words(array)
                         .anyMatch(word -> word.matches(".*\\d.*"));
                 break;
             default:
@@ -358,7 +405,7 @@ public class ArrayStreamServiceImpl implements ArrayService {
         return result;
     }
 
-    public void demonstrateAllStreamOperations(StringArrayImpl array) {
+    public void demonstrateAllStreamOperations(StringArray array) {
         logger.info("=== DEMONSTRATING ALL STREAM OPERATIONS ===");
         logger.info("Original array: {}", array);
 
@@ -26,7 +26,7 @@ public class SortStreamServiceImpl implements SortStreamService {
                 .sorted(Comparator.comparingInt(String::length))
                 .toArray(String[]::new);
 
-        StringArrayImpl result = ArrayFactory.createFromArray(sorted);
+        StringArrayImpl result = ArrayFactory.createDetached(sorted);
         logger.debug("Stream sorted by length: {}", result);
         return result;
     }
@@ -44,7 +44,7 @@ public class SortStreamServiceImpl implements SortStreamService {
                 .sorted(Comparator.comparingInt(String::length).reversed())
                 .toArray(String[]::new);
 
-        StringArrayImpl result = ArrayFactory.createFromArray(sorted);
+        StringArrayImpl result = ArrayFactory.createDetached(sorted);
         logger.debug("Stream sorted by length descending: {}", result);
         return result;
     }
@@ -62,7 +62,7 @@ public class SortStreamServiceImpl implements SortStreamService {
                 .sorted(String.CASE_INSENSITIVE_ORDER)
                 .toArray(String[]::new);
 
-        StringArrayImpl result = ArrayFactory.createFromArray(sorted);
+        StringArrayImpl result = ArrayFactory.createDetached(sorted);
         logger.debug("Stream sorted alphabetically: {}", result);
         return result;
     }
@@ -80,7 +80,7 @@ public class SortStreamServiceImpl implements SortStreamService {
                 .sorted(String.CASE_INSENSITIVE_ORDER.reversed())
                 .toArray(String[]::new);
 
-        StringArrayImpl result = ArrayFactory.createFromArray(sorted);
+        StringArrayImpl result = ArrayFactory.createDetached(sorted);
         logger.debug("Stream sorted alphabetically descending: {}", result);
         return result;
     }
@@ -99,7 +99,7 @@ public class SortStreamServiceImpl implements SortStreamService {
                 .sorted(Comparator.comparingInt(String::length))
                 .toArray(String[]::new);
 
-        StringArrayImpl result = ArrayFactory.createFromArray(sorted);
+        StringArrayImpl result = ArrayFactory.createDetached(sorted);
         logger.debug("Parallel stream sorted: {}", result);
         return result;
     }
@@ -0,0 +1,29 @@
+package main.java.com.filippovich.arrayapp.snapshot;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
+import main.java.com.filippovich.arrayapp.exception.FileReadException;
+import main.java.com.filippovich.arrayapp.exception.InvalidDataException;
+import main.java.com.filippovich.arrayapp.exception.SnapshotException;
+import main.java.com.filippovich.arrayapp.reader.ArrayFileReader;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArraySnapshotStore {
+    void write(Path snapshot, Path source, Collection<? extends StringArray> arrays) throws SnapshotException;
+
+    /**
+     * Writes a snapshot stamped with the source size and modification time taken before {@code arrays} were
+     * read. The snapshot is dropped if the source no longer matches the stamp when it is about to be published.
+     */
+    void write(Path snapshot, Path source, Collection<? extends StringArray> arrays, long sourceSize,
+               long sourceModified) throws SnapshotException;
+
+    Optional<List<StringArrayImpl>> load(Path snapshot, Path source) throws SnapshotException;
+
+    List<StringArrayImpl> loadOrRead(Path snapshot, Path source, ArrayFileReader reader)
+            throws FileReadException, InvalidDataException;
+}
@@ -0,0 +1,205 @@
+package main.java.com.filippovich.arrayapp.snapshot.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary layout of a snapshot: a fixed header (magic, version, source size and mtime, log generation), a
+ * dictionary of distinct words as length-prefixed UTF-8, then every array as its 64-bit key followed by
+ * varint word ids. Version 1 stored 128-bit UUIDs; such snapshots are rejected and rebuilt from the source
+ * file. Version 2 had no log generation and reads as generation 0.
+ */
+public final class ArraySnapshotCodec {
+    public static final int MAGIC = 0x5341534E;
+    public static final int VERSION = 3;
+
+    private static final int VERSION_WITHOUT_GENERATION = 2;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private ArraySnapshotCodec() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    @FunctionalInterface
+    public interface ArrayVisitor {
+        void visit(long key, String[] words) throws InvalidArrayException;
+    }
+
+    public static final class Header {
+        private final long sourceSize;
+        private final long sourceModified;
+        private final long generation;
+
+        private Header(long sourceSize, long sourceModified, long generation) {
+            this.sourceSize = sourceSize;
+            this.sourceModified = sourceModified;
+            this.generation = generation;
+        }
+
+        public long getSourceSize() {
+            return sourceSize;
+        }
+
+        public long getSourceModified() {
+            return sourceModified;
+        }
+
+        /**
+         * The first write-ahead log generation the snapshot does not cover, or 0 for a snapshot of a source file.
+         */
+        public long getGeneration() {
+            return generation;
+        }
+    }
+
+    public static void write(FileChannel channel, long sourceSize, long sourceModified,
+                             Collection<? extends StringArray> arrays) throws IOException {
+        write(channel, sourceSize, sourceModified, 0, arrays);
+    }
+
+    public static void write(FileChannel channel, long sourceSize, long sourceModified, long generation,
+                             Collection<? extends StringArray> arrays) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> words = new ArrayList<>();
+        for (StringArray array : arrays) {
+            for (int i = 0; i < array.length(); i++) {
+                String word = array.get(i);
+                if (dictionary.putIfAbsent(word, words.size()) == null) {
+                    words.add(word);
+                }
+            }
+        }
+
+        ChannelWriter writer = new ChannelWriter(channel);
+        writer.ensure(Integer.BYTES * 2 + Long.BYTES * 3);
+        writer.buffer.putInt(MAGIC).putInt(VERSION).putLong(sourceSize).putLong(sourceModified).putLong(generation);
+
+        writer.putVarInt(words.size());
+        for (String word : words) {
+            byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+            writer.putVarInt(bytes.length);
+            writer.putBytes(bytes);
+        }
+
+        writer.putVarInt(arrays.size());
+        for (StringArray array : arrays) {
+            writer.ensure(Long.BYTES);
+            writer.buffer.putLong(array.getKey());
+            writer.putVarInt(array.length());
+            for (int i = 0; i < array.length(); i++) {
+                writer.putVarInt(dictionary.get(array.get(i)));
+            }
+        }
+        writer.flush();
+    }
+
+    public static Header readHeader(ByteBuffer buffer) throws IOException {
+        int magic = buffer.getInt();
+        int version = buffer.getInt();
+        if (magic != MAGIC || version != VERSION && version != VERSION_WITHOUT_GENERATION) {
+            throw new IOException("Unsupported snapshot format: magic=" + Integer.toHexString(magic)
+                    + ", version=" + version);
+        }
+        long sourceSize = buffer.getLong();
+        long sourceModified = buffer.getLong();
+        long generation = version == VERSION ? buffer.getLong() : 0;
+        return new Header(sourceSize, sourceModified, generation);
+    }
+
+    public static int readArrays(ByteBuffer buffer, ArrayVisitor visitor) throws IOException, InvalidArrayException {
+        int dictionarySize = getVarInt(buffer);
+        String[] dictionary = new String[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            byte[] bytes = new byte[getVarInt(buffer)];
+            buffer.get(bytes);
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int arrayCount = getVarInt(buffer);
+        for (int i = 0; i < arrayCount; i++) {
+            long key = buffer.getLong();
+            String[] words = new String[getVarInt(buffer)];
+            for (int j = 0; j < words.length; j++) {
+                int wordId = getVarInt(buffer);
+                if (wordId >= dictionarySize) {
+                    throw new IOException("Word id " + wordId + " outside dictionary of " + dictionarySize);
+                }
+                words[j] = dictionary[wordId];
+            }
+            visitor.visit(key, words);
+        }
+        return arrayCount;
+    }
+
+    static int getVarInt(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < MAX_VARINT_BYTES * 7; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    throw new IOException("Negative varint in snapshot");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in snapshot");
+    }
+
+    private static final class ChannelWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        private ChannelWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void putVarInt(int value) throws IOException {
+            ensure(MAX_VARINT_BYTES);
+            while ((value & ~0x7F) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        private void putBytes(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.capacity()) {
+                flush();
+                ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+                while (wrapped.hasRemaining()) {
+                    channel.write(wrapped);
+                }
+                return;
+            }
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package main.java.com.filippovich.arrayapp.snapshot.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.entity.impl.ArrayFactory;
+import main.java.com.filippovich.arrayapp.entity.impl.StringArrayImpl;
+import main.java.com.filippovich.arrayapp.exception.FileReadException;
+import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
+import main.java.com.filippovich.arrayapp.exception.InvalidDataException;
+import main.java.com.filippovich.arrayapp.exception.SnapshotException;
+import main.java.com.filippovich.arrayapp.reader.ArrayFileReader;
+import main.java.com.filippovich.arrayapp.snapshot.ArraySnapshotStore;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public class ArraySnapshotStoreImpl implements ArraySnapshotStore {
+    private static final Logger logger = LoggerUtil.getLogger(ArraySnapshotStoreImpl.class);
+
+    @Override
+    public void write(Path snapshot, Path source, Collection<? extends StringArray> arrays) throws SnapshotException {
+        long sourceSize;
+        long sourceModified;
+        try {
+            sourceSize = Files.size(source);
+            sourceModified = Files.getLastModifiedTime(source).toMillis();
+        } catch (IOException e) {
+            throw new SnapshotException("Cannot stat snapshot source: " + source, e);
+        }
+        write(snapshot, source, arrays, sourceSize, sourceModified);
+    }
+
+    @Override
+    public void write(Path snapshot, Path source, Collection<? extends StringArray> arrays, long sourceSize,
+                      long sourceModified) throws SnapshotException {
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ArraySnapshotCodec.write(channel, sourceSize, sourceModified, arrays);
+                channel.force(false);
+            }
+            if (Files.size(source) != sourceSize || Files.getLastModifiedTime(source).toMillis() != sourceModified) {
+                Files.deleteIfExists(temp);
+                logger.info("Source {} changed while snapshot {} was written, dropping it", source, snapshot);
+                return;
+            }
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Wrote snapshot {} with {} arrays for source {}", snapshot, arrays.size(), source);
+        } catch (IOException e) {
+            logger.error("Cannot write snapshot {}: {}", snapshot, e.getMessage(), e);
+            throw new SnapshotException("Cannot write snapshot: " + snapshot, e);
+        }
+    }
+
+    @Override
+    public Optional<List<StringArrayImpl>> load(Path snapshot, Path source) throws SnapshotException {
+        if (!Files.exists(snapshot)) {
+            logger.debug("No snapshot at {}", snapshot);
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ArraySnapshotCodec.Header header = ArraySnapshotCodec.readHeader(buffer);
+
+            long sourceSize = Files.size(source);
+            long sourceModified = Files.getLastModifiedTime(source).toMillis();
+            if (header.getSourceSize() != sourceSize || header.getSourceModified() != sourceModified) {
+                logger.info("Snapshot {} is stale for source {} (size {}/{}, mtime {}/{})", snapshot, source,
+                        header.getSourceSize(), sourceSize, header.getSourceModified(), sourceModified);
+                return Optional.empty();
+            }
+
+            List<Long> keys = new ArrayList<>();
+            List<String[]> contents = new ArrayList<>();
+            ArraySnapshotCodec.readArrays(buffer, (key, words) -> {
+                keys.add(key);
+                contents.add(words);
+            });
+
+            List<StringArrayImpl> arrays = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                arrays.add(ArrayFactory.restore(keys.get(i), contents.get(i)));
+            }
+            logger.info("Restored {} arrays from snapshot {}", arrays.size(), snapshot);
+            return Optional.of(arrays);
+
+        } catch (IOException | BufferUnderflowException e) {
+            logger.warn("Ignoring unreadable snapshot {}: {}", snapshot, e.getMessage());
+            return Optional.empty();
+        } catch (InvalidArrayException e) {
+            throw new SnapshotException("Invalid array in snapshot: " + snapshot, e);
+        }
+    }
+
+    @Override
+    public List<StringArrayImpl> loadOrRead(Path snapshot, Path source, ArrayFileReader reader)
+            throws FileReadException, InvalidDataException {
+        try {
+            Optional<List<StringArrayImpl>> restored = load(snapshot, source);
+            if (restored.isPresent()) {
+                return restored.get();
+            }
+        } catch (SnapshotException e) {
+            logger.warn("Snapshot {} could not be restored, re-reading {}: {}", snapshot, source, e.getMessage());
+        }
+
+        long sourceSize;
+        long sourceModified;
+        try {
+            sourceSize = Files.size(source);
+            sourceModified = Files.getLastModifiedTime(source).toMillis();
+        } catch (IOException e) {
+            logger.warn("Cannot stat {}, reading it without a snapshot: {}", source, e.getMessage());
+            return reader.readArraysFromFile();
+        }
+
+        List<StringArrayImpl> arrays = reader.readArraysFromFile();
+        try {
+            write(snapshot, source, arrays, sourceSize, sourceModified);
+        } catch (SnapshotException e) {
+            logger.warn("Continuing without snapshot: {}", e.getMessage());
+        }
+        return arrays;
+    }
+}
@@ -0,0 +1,100 @@
+package main.java.com.filippovich.arrayapp.util;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped mutual exclusion over {@code long} keys, for ordering the writes to one key across several
+ * structures without holding their own locks. Keys hashing to the same stripe share a reentrant lock. The
+ * locks of several keys are taken in stripe order, so concurrent batches cannot deadlock.
+ */
+public final class KeyLocks {
+    private static final int DEFAULT_STRIPES = 1024;
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public KeyLocks() {
+        this(DEFAULT_STRIPES);
+    }
+
+    public KeyLocks(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + stripeCount);
+        }
+        int count = 1;
+        while (count < stripeCount) {
+            count <<= 1;
+        }
+        this.locks = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = count - 1;
+    }
+
+    private int stripeOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 40) & mask;
+    }
+
+    public void lock(long key) {
+        locks[stripeOf(key)].lock();
+    }
+
+    public void unlock(long key) {
+        locks[stripeOf(key)].unlock();
+    }
+
+    /**
+     * Locks the stripes of all {@code keys} in ascending order and returns them for {@link #unlockAll(int[])}.
+     */
+    public int[] lockAll(long[] keys) {
+        int[] stripes = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            stripes[i] = stripeOf(keys[i]);
+        }
+        Arrays.sort(stripes);
+        int distinct = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            if (i == 0 || stripes[i] != stripes[i - 1]) {
+                stripes[distinct++] = stripes[i];
+            }
+        }
+        int[] held = Arrays.copyOf(stripes, distinct);
+        for (int i = 0; i < held.length; i++) {
+            try {
+                locks[held[i]].lock();
+            } catch (RuntimeException | Error e) {
+                unlockAll(Arrays.copyOf(held, i));
+                throw e;
+            }
+        }
+        return held;
+    }
+
+    /**
+     * Locks every stripe in ascending order, which waits for all current holders and keeps out new ones.
+     */
+    public int[] lockEvery() {
+        int[] stripes = new int[locks.length];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = i;
+        }
+        for (int i = 0; i < stripes.length; i++) {
+            try {
+                locks[i].lock();
+            } catch (RuntimeException | Error e) {
+                unlockAll(Arrays.copyOf(stripes, i));
+                throw e;
+            }
+        }
+        return stripes;
+    }
+
+    public void unlockAll(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+}
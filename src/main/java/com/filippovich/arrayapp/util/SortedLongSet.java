@@ -0,0 +1,274 @@
+package main.java.com.filippovich.arrayapp.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Thread-safe sorted set of {@code long} keys held in chunks of sorted primitive arrays, about eight bytes
+ * per key. Changes take a write lock for one binary search and one array copy within a chunk. Streams are
+ * weakly consistent: they fetch keys in small batches under the read lock and resume each batch after the
+ * last key returned, so they never fail on concurrent changes and never return a key twice.
+ */
+public final class SortedLongSet {
+    private static final int CHUNK_CAPACITY = 1024;
+    private static final int FETCH_SIZE = 256;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Chunk> chunks = new ArrayList<>();
+    private int size;
+
+    public boolean add(long key) {
+        lock.writeLock().lock();
+        try {
+            return insert(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addAll(long[] keys) {
+        long[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        lock.writeLock().lock();
+        try {
+            for (long key : sorted) {
+                insert(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long key) {
+        lock.writeLock().lock();
+        try {
+            if (chunks.isEmpty()) {
+                return false;
+            }
+            int index = chunkOf(key);
+            Chunk chunk = chunks.get(index);
+            int position = Arrays.binarySearch(chunk.keys, 0, chunk.size, key);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(chunk.keys, position + 1, chunk.keys, position, chunk.size - position - 1);
+            chunk.size--;
+            if (chunk.size == 0) {
+                chunks.remove(index);
+            }
+            size--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long key) {
+        lock.readLock().lock();
+        try {
+            if (chunks.isEmpty()) {
+                return false;
+            }
+            Chunk chunk = chunks.get(chunkOf(key));
+            return Arrays.binarySearch(chunk.keys, 0, chunk.size, key) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            chunks.clear();
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * All keys in ascending order.
+     */
+    public LongStream stream() {
+        return stream(new KeyIterator(false, 0));
+    }
+
+    /**
+     * The keys greater than {@code after} in ascending order.
+     */
+    public LongStream streamAfter(long after) {
+        return stream(new KeyIterator(true, after));
+    }
+
+    public long[] toArray() {
+        lock.readLock().lock();
+        try {
+            long[] keys = new long[size];
+            int offset = 0;
+            for (Chunk chunk : chunks) {
+                System.arraycopy(chunk.keys, 0, keys, offset, chunk.size);
+                offset += chunk.size;
+            }
+            return keys;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static LongStream stream(KeyIterator keys) {
+        return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(keys,
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    private boolean insert(long key) {
+        if (chunks.isEmpty()) {
+            chunks.add(new Chunk());
+        }
+        int index = chunkOf(key);
+        Chunk chunk = chunks.get(index);
+        int position = Arrays.binarySearch(chunk.keys, 0, chunk.size, key);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+        if (chunk.size == CHUNK_CAPACITY) {
+            Chunk upper = chunk.split();
+            chunks.add(index + 1, upper);
+            if (position > chunk.size) {
+                position -= chunk.size;
+                chunk = upper;
+            }
+        }
+        System.arraycopy(chunk.keys, position, chunk.keys, position + 1, chunk.size - position);
+        chunk.keys[position] = key;
+        chunk.size++;
+        size++;
+        return true;
+    }
+
+    /**
+     * Index of the last chunk whose first key is not greater than {@code key}, or 0. Chunks are never empty.
+     */
+    private int chunkOf(long key) {
+        int low = 0;
+        int high = chunks.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (chunks.get(middle).keys[0] <= key) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Copies up to {@code into.length} keys following {@code after} (or from the first key) and returns how
+     * many were copied.
+     */
+    private int fetch(boolean resume, long after, long[] into) {
+        lock.readLock().lock();
+        try {
+            if (chunks.isEmpty()) {
+                return 0;
+            }
+            int index = 0;
+            int position = 0;
+            if (resume) {
+                index = chunkOf(after);
+                Chunk chunk = chunks.get(index);
+                position = Arrays.binarySearch(chunk.keys, 0, chunk.size, after);
+                position = position >= 0 ? position + 1 : -position - 1;
+            }
+            int count = 0;
+            while (count < into.length && index < chunks.size()) {
+                Chunk chunk = chunks.get(index);
+                int copied = Math.min(chunk.size - position, into.length - count);
+                System.arraycopy(chunk.keys, position, into, count, copied);
+                count += copied;
+                index++;
+                position = 0;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Chunk {
+        private final long[] keys = new long[CHUNK_CAPACITY];
+        private int size;
+
+        /**
+         * Moves the upper half of this full chunk into a new chunk.
+         */
+        private Chunk split() {
+            Chunk upper = new Chunk();
+            int half = size / 2;
+            upper.size = size - half;
+            System.arraycopy(keys, half, upper.keys, 0, upper.size);
+            size = half;
+            return upper;
+        }
+    }
+
+    private final class KeyIterator implements PrimitiveIterator.OfLong {
+        private final long[] batch = new long[FETCH_SIZE];
+        private boolean resume;
+        private long last;
+        private int count;
+        private int next;
+        private boolean exhausted;
+
+        private KeyIterator(boolean resume, long after) {
+            this.resume = resume;
+            this.last = after;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next < count) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            count = fetch(resume, last, batch);
+            next = 0;
+            exhausted = count < batch.length;
+            return count > 0;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = batch[next++];
+            resume = true;
+            return last;
+        }
+    }
+}
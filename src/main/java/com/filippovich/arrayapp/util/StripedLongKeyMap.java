@@ -0,0 +1,192 @@
+package main.java.com.filippovich.arrayapp.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread-safe map from {@code long} keys to values, split into independently locked {@link LongKeyMap}
+ * stripes. Writers to different stripes never contend and readers of a stripe proceed in parallel. Callbacks
+ * passed to the single-key write methods run while the stripe is still write-locked, so actions for one key
+ * are observed in the order the writes happened; keep them short, readers of the stripe wait for them.
+ */
+public final class StripedLongKeyMap<V> {
+    private final LongKeyMap<V>[] stripes;
+    private final ReentrantReadWriteLock[] locks;
+    private final int mask;
+
+    public StripedLongKeyMap() {
+        this(defaultStripes());
+    }
+
+    @SuppressWarnings("unchecked")
+    public StripedLongKeyMap(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + stripeCount);
+        }
+        int count = 1;
+        while (count < stripeCount) {
+            count <<= 1;
+        }
+        this.stripes = (LongKeyMap<V>[]) new LongKeyMap<?>[count];
+        this.locks = new ReentrantReadWriteLock[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new LongKeyMap<>();
+            locks[i] = new ReentrantReadWriteLock();
+        }
+        this.mask = count - 1;
+    }
+
+    private static int defaultStripes() {
+        return Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    private int stripeOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 40) & mask;
+    }
+
+    public V get(long key) {
+        int stripe = stripeOf(key);
+        ReentrantReadWriteLock.ReadLock lock = locks[stripe].readLock();
+        lock.lock();
+        try {
+            return stripes[stripe].get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public V put(long key, V value) {
+        return put(key, value, null);
+    }
+
+    /**
+     * Stores {@code value} and, if {@code onPut} is not null, passes it the previous value (or {@code null})
+     * and the new one before the stripe is unlocked. Returns the previous value.
+     */
+    public V put(long key, V value, BiConsumer<? super V, ? super V> onPut) {
+        int stripe = stripeOf(key);
+        ReentrantReadWriteLock.WriteLock lock = locks[stripe].writeLock();
+        lock.lock();
+        try {
+            V previous = stripes[stripe].put(key, value);
+            if (onPut != null) {
+                onPut.accept(previous, value);
+            }
+            return previous;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public V remove(long key) {
+        return remove(key, null);
+    }
+
+    /**
+     * Removes the value of {@code key} and, if there was one and {@code onRemove} is not null, passes it to
+     * {@code onRemove} before the stripe is unlocked.
+     */
+    public V remove(long key, Consumer<? super V> onRemove) {
+        int stripe = stripeOf(key);
+        ReentrantReadWriteLock.WriteLock lock = locks[stripe].writeLock();
+        lock.lock();
+        try {
+            V removed = stripes[stripe].remove(key);
+            if (removed != null && onRemove != null) {
+                onRemove.accept(removed);
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts all non-null values and returns the values they replaced. Values are grouped by stripe and each
+     * stripe is write-locked only while its group is inserted, so readers may see part of the batch.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> putAll(Collection<? extends V> values, ToLongFunction<? super V> keyOf) {
+        List<V>[] groups = (List<V>[]) new List<?>[stripes.length];
+        for (V value : values) {
+            if (value != null) {
+                int stripe = stripeOf(keyOf.applyAsLong(value));
+                if (groups[stripe] == null) {
+                    groups[stripe] = new ArrayList<>();
+                }
+                groups[stripe].add(value);
+            }
+        }
+
+        List<V> replaced = new ArrayList<>();
+        for (int i = 0; i < groups.length; i++) {
+            if (groups[i] == null) {
+                continue;
+            }
+            ReentrantReadWriteLock.WriteLock lock = locks[i].writeLock();
+            lock.lock();
+            try {
+                stripes[i].ensureCapacity(stripes[i].size() + groups[i].size());
+                for (V value : groups[i]) {
+                    V previous = stripes[i].put(keyOf.applyAsLong(value), value);
+                    if (previous != null) {
+                        replaced.add(previous);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return replaced;
+    }
+
+    /**
+     * Visits the values stripe by stripe; each stripe is read-locked only while it is visited, so the view
+     * is weakly consistent across stripes.
+     */
+    public void forEachValue(Consumer<? super V> action) {
+        for (int i = 0; i < stripes.length; i++) {
+            ReentrantReadWriteLock.ReadLock lock = locks[i].readLock();
+            lock.lock();
+            try {
+                stripes[i].forEachValue(action);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public List<V> values() {
+        List<V> result = new ArrayList<>();
+        forEachValue(result::add);
+        return result;
+    }
+
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            ReentrantReadWriteLock.ReadLock lock = locks[i].readLock();
+            lock.lock();
+            try {
+                size += stripes[i].size();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+}
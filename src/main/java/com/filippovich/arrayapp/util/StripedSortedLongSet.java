@@ -0,0 +1,242 @@
+package main.java.com.filippovich.arrayapp.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Thread-safe sorted set of {@code long} keys split into independently locked {@link SortedLongSet} stripes,
+ * hashed like {@link StripedLongKeyMap}, so changes to keys of different stripes never contend. Ordered reads
+ * merge the stripes' streams; they are weakly consistent like those of a single {@link SortedLongSet} and
+ * still ascending and free of duplicates, since every key lives in one stripe.
+ */
+public final class StripedSortedLongSet {
+    private final SortedLongSet[] stripes;
+    private final int mask;
+
+    public StripedSortedLongSet() {
+        this(defaultStripes());
+    }
+
+    public StripedSortedLongSet(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + stripeCount);
+        }
+        int count = 1;
+        while (count < stripeCount) {
+            count <<= 1;
+        }
+        this.stripes = new SortedLongSet[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new SortedLongSet();
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Fewer stripes than the map: every ordered read fetches a batch from each stripe before the first key.
+     */
+    private static int defaultStripes() {
+        return Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    private int stripeOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 40) & mask;
+    }
+
+    public boolean add(long key) {
+        return stripes[stripeOf(key)].add(key);
+    }
+
+    /**
+     * Adds the keys stripe by stripe; each stripe is locked once.
+     */
+    public void addAll(long[] keys) {
+        int[] counts = new int[stripes.length];
+        for (long key : keys) {
+            counts[stripeOf(key)]++;
+        }
+        long[][] grouped = new long[stripes.length][];
+        for (int i = 0; i < stripes.length; i++) {
+            grouped[i] = new long[counts[i]];
+            counts[i] = 0;
+        }
+        for (long key : keys) {
+            int stripe = stripeOf(key);
+            grouped[stripe][counts[stripe]++] = key;
+        }
+        for (int i = 0; i < stripes.length; i++) {
+            if (grouped[i].length > 0) {
+                stripes[i].addAll(grouped[i]);
+            }
+        }
+    }
+
+    public boolean remove(long key) {
+        return stripes[stripeOf(key)].remove(key);
+    }
+
+    public boolean contains(long key) {
+        return stripes[stripeOf(key)].contains(key);
+    }
+
+    /**
+     * Sum of the stripe sizes, each read at a slightly different moment.
+     */
+    public int size() {
+        int size = 0;
+        for (SortedLongSet stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (SortedLongSet stripe : stripes) {
+            if (!stripe.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        for (SortedLongSet stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    /**
+     * All keys in ascending order.
+     */
+    public LongStream stream() {
+        return merge(SortedLongSet::stream);
+    }
+
+    /**
+     * The keys greater than {@code after} in ascending order.
+     */
+    public LongStream streamAfter(long after) {
+        return merge(stripe -> stripe.streamAfter(after));
+    }
+
+    public long[] toArray() {
+        long[][] parts = new long[stripes.length][];
+        int total = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            parts[i] = stripes[i].toArray();
+            total += parts[i].length;
+        }
+        long[] keys = new long[total];
+        int offset = 0;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, keys, offset, part.length);
+            offset += part.length;
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private LongStream merge(Function<SortedLongSet, LongStream> source) {
+        PrimitiveIterator.OfLong[] sources = new PrimitiveIterator.OfLong[stripes.length];
+        for (int i = 0; i < stripes.length; i++) {
+            sources[i] = source.apply(stripes[i]).iterator();
+        }
+        return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(new MergingIterator(sources),
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Merges ascending iterators with a binary min-heap of their current keys. A stripe is first read when the
+     * first key is requested.
+     */
+    private static final class MergingIterator implements PrimitiveIterator.OfLong {
+        private final PrimitiveIterator.OfLong[] sources;
+        private final long[] heads;
+        private final int[] heap;
+        private int heapSize;
+        private boolean started;
+
+        private MergingIterator(PrimitiveIterator.OfLong[] sources) {
+            this.sources = sources;
+            this.heads = new long[sources.length];
+            this.heap = new int[sources.length];
+        }
+
+        private void start() {
+            started = true;
+            for (int i = 0; i < sources.length; i++) {
+                if (sources[i].hasNext()) {
+                    heads[i] = sources[i].nextLong();
+                    heap[heapSize] = i;
+                    siftUp(heapSize++);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!started) {
+                start();
+            }
+            return heapSize > 0;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int top = heap[0];
+            long key = heads[top];
+            if (sources[top].hasNext()) {
+                heads[top] = sources[top].nextLong();
+            } else {
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(0);
+            return key;
+        }
+
+        private void siftUp(int position) {
+            int source = heap[position];
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (heads[heap[parent]] <= heads[source]) {
+                    break;
+                }
+                heap[position] = heap[parent];
+                position = parent;
+            }
+            heap[position] = source;
+        }
+
+        private void siftDown(int position) {
+            if (heapSize == 0) {
+                return;
+            }
+            int source = heap[position];
+            while (true) {
+                int child = 2 * position + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heads[heap[child + 1]] < heads[heap[child]]) {
+                    child++;
+                }
+                if (heads[source] <= heads[heap[child]]) {
+                    break;
+                }
+                heap[position] = heap[child];
+                position = child;
+            }
+            heap[position] = source;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package main.java.com.filippovich.arrayapp.validation;
 
 import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
 import main.java.com.filippovich.arrayapp.exception.InvalidDataException;
+import main.java.com.filippovich.arrayapp.parser.impl.TokenizedLine;
 
 public interface ArrayValidator {
     String WORD_REGEX = "[a-zA-Zа-яА-Я]+";
@@ -10,4 +11,7 @@ public interface ArrayValidator {
     void validateArray(String[] array) throws InvalidArrayException;
     boolean isValidWordString(String str);
     void validateLineFormat(String line) throws InvalidDataException;
-}
\ No newline at end of file
+    void validateLineFormat(TokenizedLine line) throws InvalidDataException;
+    ValidationResult checkLineFormat(String line);
+    ValidationResult checkLineFormat(TokenizedLine line);
+}
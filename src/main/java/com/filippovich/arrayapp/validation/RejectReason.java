@@ -0,0 +1,6 @@
+package main.java.com.filippovich.arrayapp.validation;
+
+public enum RejectReason {
+    EMPTY_LINE,
+    NO_VALID_WORDS
+}
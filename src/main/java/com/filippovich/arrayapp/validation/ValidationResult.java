@@ -0,0 +1,53 @@
+package main.java.com.filippovich.arrayapp.validation;
+
+import java.util.StringJoiner;
+
+public final class ValidationResult {
+    private static final ValidationResult VALID = new ValidationResult(null, -1, -1);
+
+    private final RejectReason reason;
+    private final int tokenIndex;
+    private final int tokenOffset;
+
+    private ValidationResult(RejectReason reason, int tokenIndex, int tokenOffset) {
+        this.reason = reason;
+        this.tokenIndex = tokenIndex;
+        this.tokenOffset = tokenOffset;
+    }
+
+    public static ValidationResult valid() {
+        return VALID;
+    }
+
+    public static ValidationResult rejected(RejectReason reason, int tokenIndex, int tokenOffset) {
+        return new ValidationResult(reason, tokenIndex, tokenOffset);
+    }
+
+    public boolean isValid() {
+        return reason == null;
+    }
+
+    public RejectReason getReason() {
+        return reason;
+    }
+
+    public int getTokenIndex() {
+        return tokenIndex;
+    }
+
+    public int getTokenOffset() {
+        return tokenOffset;
+    }
+
+    @Override
+    public String toString() {
+        if (isValid()) {
+            return ValidationResult.class.getSimpleName() + "[VALID]";
+        }
+        return new StringJoiner(", ", ValidationResult.class.getSimpleName() + "[", "]")
+                .add("reason=" + reason)
+                .add("tokenIndex=" + tokenIndex)
+                .add("tokenOffset=" + tokenOffset)
+                .toString();
+    }
+}
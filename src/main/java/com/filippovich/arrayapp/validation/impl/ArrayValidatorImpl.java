@@ -2,9 +2,15 @@ package main.java.com.filippovich.arrayapp.validation.impl;
 
 import main.java.com.filippovich.arrayapp.exception.InvalidArrayException;
 import main.java.com.filippovich.arrayapp.exception.InvalidDataException;
+import main.java.com.filippovich.arrayapp.parser.LineTokenizer;
+import main.java.com.filippovich.arrayapp.parser.impl.LineTokenizerImpl;
+import main.java.com.filippovich.arrayapp.parser.impl.TokenizedLine;
 import main.java.com.filippovich.arrayapp.validation.ArrayValidator;
+import main.java.com.filippovich.arrayapp.validation.RejectReason;
+import main.java.com.filippovich.arrayapp.validation.ValidationResult;
 
 public final class ArrayValidatorImpl implements ArrayValidator {
+    private static final LineTokenizer tokenizer = new LineTokenizerImpl();
 
     public ArrayValidatorImpl() {
     }
@@ -18,27 +24,42 @@ public final class ArrayValidatorImpl implements ArrayValidator {
 
     @Override
     public boolean isValidWordString(String str) {
-        return str != null && str.matches(WORD_REGEX);
+        return tokenizer.isWord(str);
     }
 
     @Override
     public void validateLineFormat(String line) throws InvalidDataException {
-        if (line == null || line.trim().isEmpty()) {
+        validateLineFormat(tokenizer.tokenize(line));
+    }
+
+    @Override
+    public void validateLineFormat(TokenizedLine line) throws InvalidDataException {
+        ValidationResult result = checkLineFormat(line);
+        if (result.isValid()) {
+            return;
+        }
+
+        if (result.getReason() == RejectReason.EMPTY_LINE) {
             throw new InvalidDataException("Line is empty or null");
         }
+        throw new InvalidDataException("Line contains no valid words: " + line.getSource());
+    }
 
-        String[] parts = line.split(DELIMITER_REGEX);
-        boolean hasValidWord = false;
+    @Override
+    public ValidationResult checkLineFormat(String line) {
+        return checkLineFormat(tokenizer.tokenize(line));
+    }
 
-        for (String part : parts) {
-            if (!part.trim().isEmpty() && isValidWordString(part.trim())) {
-                hasValidWord = true;
-                break;
-            }
+    @Override
+    public ValidationResult checkLineFormat(TokenizedLine line) {
+        if (line.isBlank()) {
+            return ValidationResult.rejected(RejectReason.EMPTY_LINE, -1, -1);
         }
 
-        if (!hasValidWord) {
-            throw new InvalidDataException("Line contains no valid words: " + line);
+        if (!line.hasValidWord()) {
+            return ValidationResult.rejected(RejectReason.NO_VALID_WORDS,
+                    line.getFirstInvalidTokenIndex(), line.getFirstInvalidTokenOffset());
         }
+        return ValidationResult.valid();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package main.java.com.filippovich.arrayapp.view;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The repository's arrays kept sorted by a comparator as they are added and removed, so ordered reads need
+ * no copy or sort. Arrays the comparator considers equal are ordered by key.
+ */
+public interface SortedView {
+
+    String getName();
+
+    Comparator<StringArray> getComparator();
+
+    int size();
+
+    /**
+     * The {@code k} smallest arrays, smallest first.
+     */
+    List<StringArray> first(int k);
+
+    /**
+     * The {@code k} largest arrays, largest first.
+     */
+    List<StringArray> last(int k);
+
+    /**
+     * Lazily walks the arrays ordered between {@code from} and {@code to}, both inclusive by the comparator;
+     * a {@code null} bound leaves that end open.
+     *
+     * @throws IllegalArgumentException if {@code from} orders after {@code to}
+     */
+    Stream<StringArray> range(StringArray from, StringArray to);
+
+    Stream<StringArray> stream();
+}
@@ -0,0 +1,148 @@
+package main.java.com.filippovich.arrayapp.view.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.observer.Observer;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import main.java.com.filippovich.arrayapp.util.StripedLongKeyMap;
+import main.java.com.filippovich.arrayapp.view.SortedView;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Sorted view backed by a concurrent skip list of entries ordered by the comparator, then by key. A map
+ * from key to entry finds the entry an ADD replaces or a REMOVE drops; both changes of one key happen under
+ * its stripe lock, so they apply in event order. Readers never block and see a weakly consistent view.
+ */
+final class SortedViewImpl implements SortedView, Observer {
+    private static final Logger logger = LoggerUtil.getLogger(SortedViewImpl.class);
+
+    private final String name;
+    private final Comparator<StringArray> comparator;
+    private final ConcurrentSkipListSet<Entry> entries;
+    private final StripedLongKeyMap<Entry> byKey = new StripedLongKeyMap<>();
+
+    SortedViewImpl(String name, Comparator<StringArray> comparator) {
+        this.name = name;
+        this.comparator = comparator;
+        this.entries = new ConcurrentSkipListSet<>(this::compare);
+    }
+
+    /**
+     * Bounds of a range carry the extreme ties, so they enclose every array the comparator finds equal.
+     */
+    private int compare(Entry a, Entry b) {
+        int order = comparator.compare(a.array, b.array);
+        return order != 0 ? order : Long.compare(a.tie, b.tie);
+    }
+
+    @Override
+    public void handleEvent(StringArray array, String eventType) {
+        if (array == null) return;
+
+        switch (eventType) {
+            case "ADD":
+            case "LOAD":
+                add(array);
+                break;
+            case "REMOVE":
+            case "EVICT":
+                byKey.remove(array.getKey(), entries::remove);
+                break;
+            default:
+                logger.warn("Unknown event type: {}", eventType);
+        }
+    }
+
+    void add(StringArray array) {
+        byKey.put(array.getKey(), new Entry(array, array.getKey()), (previous, added) -> {
+            if (previous != null) {
+                entries.remove(previous);
+            }
+            entries.add(added);
+        });
+    }
+
+    void addAll(Collection<? extends StringArray> arrays) {
+        arrays.forEach(this::add);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Comparator<StringArray> getComparator() {
+        return comparator;
+    }
+
+    @Override
+    public int size() {
+        return byKey.size();
+    }
+
+    @Override
+    public List<StringArray> first(int k) {
+        return take(entries, k);
+    }
+
+    @Override
+    public List<StringArray> last(int k) {
+        return take(entries.descendingSet(), k);
+    }
+
+    private static List<StringArray> take(NavigableSet<Entry> ordered, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + k);
+        }
+        return ordered.stream()
+                .limit(k)
+                .map(entry -> entry.array)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<StringArray> range(StringArray from, StringArray to) {
+        if (from != null && to != null && comparator.compare(from, to) > 0) {
+            throw new IllegalArgumentException("Range start orders after its end: " + from + ", " + to);
+        }
+        NavigableSet<Entry> range = entries;
+        if (from != null) {
+            range = range.tailSet(new Entry(from, Long.MIN_VALUE), true);
+        }
+        if (to != null) {
+            range = range.headSet(new Entry(to, Long.MAX_VALUE), true);
+        }
+        return range.stream().map(entry -> entry.array);
+    }
+
+    @Override
+    public Stream<StringArray> stream() {
+        return entries.stream().map(entry -> entry.array);
+    }
+
+    @Override
+    public String toString() {
+        return "SortedViewImpl{" +
+                "name='" + name + '\'' +
+                ", size=" + size() +
+                '}';
+    }
+
+    private static final class Entry {
+        private final StringArray array;
+        private final long tie;
+
+        private Entry(StringArray array, long tie) {
+            this.array = array;
+            this.tie = tie;
+        }
+    }
+}
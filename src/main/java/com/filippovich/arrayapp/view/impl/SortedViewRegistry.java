@@ -0,0 +1,97 @@
+package main.java.com.filippovich.arrayapp.view.impl;
+
+import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.observer.impl.BufferedObserver;
+import main.java.com.filippovich.arrayapp.repository.impl.StringArrayRepositoryImpl;
+import main.java.com.filippovich.arrayapp.service.comparator.StringArrayComparators;
+import main.java.com.filippovich.arrayapp.service.comparator.impl.StringArrayComparatorsImpl;
+import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import main.java.com.filippovich.arrayapp.view.SortedView;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named sorted views over the repository. A view is registered with the repository as an observer and
+ * filled with the arrays already stored when it is first requested; events published while it is filled are
+ * replayed afterwards, see {@link BufferedObserver}.
+ */
+public final class SortedViewRegistry {
+    private static final Logger logger = LoggerUtil.getLogger(SortedViewRegistry.class);
+
+    public static final String BY_ID = "byId";
+    public static final String BY_LENGTH = "byLength";
+    public static final String BY_FIRST_ELEMENT = "byFirstElement";
+
+    private static SortedViewRegistry instance;
+
+    private final StringArrayRepositoryImpl repository;
+    private final StringArrayComparators comparators = new StringArrayComparatorsImpl();
+    private final Map<String, SortedViewImpl> views = new ConcurrentHashMap<>();
+    private final Map<String, BufferedObserver> registrations = new ConcurrentHashMap<>();
+
+    private SortedViewRegistry(StringArrayRepositoryImpl repository) {
+        this.repository = repository;
+    }
+
+    public static synchronized SortedViewRegistry getInstance() {
+        if (instance == null) {
+            instance = new SortedViewRegistry(StringArrayRepositoryImpl.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the view registered under {@code name}, creating it with {@code comparator} if there is none;
+     * an existing view keeps its comparator.
+     */
+    public synchronized SortedView register(String name, Comparator<StringArray> comparator) {
+        SortedViewImpl view = views.get(name);
+        if (view == null) {
+            view = new SortedViewImpl(name, comparator);
+            BufferedObserver registration = new BufferedObserver(view);
+            repository.addObserver(registration);
+            List<StringArray> existing = repository.findAll();
+            view.addAll(existing);
+            registration.release();
+            registrations.put(name, registration);
+            views.put(name, view);
+            logger.info("Sorted view '{}' registered with Repository, {} arrays sorted.", name, existing.size());
+        }
+        return view;
+    }
+
+    public Optional<SortedView> get(String name) {
+        return Optional.ofNullable(views.get(name));
+    }
+
+    /**
+     * Stops maintaining the view; it keeps the arrays it held but no longer follows the repository.
+     */
+    public synchronized boolean unregister(String name) {
+        if (views.remove(name) == null) {
+            return false;
+        }
+        repository.removeObserver(registrations.remove(name));
+        return true;
+    }
+
+    public SortedView byId() {
+        return register(BY_ID, comparators.byId());
+    }
+
+    /**
+     * Ordered by word count.
+     */
+    public SortedView byLength() {
+        return register(BY_LENGTH, comparators.byLength());
+    }
+
+    public SortedView byFirstElement() {
+        return register(BY_FIRST_ELEMENT, comparators.byFirstElement());
+    }
+}
@@ -1,29 +1,31 @@
 package main.java.com.filippovich.arrayapp.warehouse.impl;
 
 import main.java.com.filippovich.arrayapp.entity.StringArray;
+import main.java.com.filippovich.arrayapp.id.impl.UuidAdapter;
 import main.java.com.filippovich.arrayapp.observer.Observer;
 import main.java.com.filippovich.arrayapp.repository.impl.StringArrayRepositoryImpl;
 import main.java.com.filippovich.arrayapp.util.LoggerUtil;
+import main.java.com.filippovich.arrayapp.util.StripedLongKeyMap;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public class Warehouse implements Observer {
     private static final Logger logger = LoggerUtil.getLogger(Warehouse.class);
 
+    private static final int PARALLEL_BATCH_THRESHOLD = 1024;
+
     private static Warehouse instance;
 
-    private final Map<UUID, ArrayStatisticsImpl> statisticsMap = new HashMap<>();
+    private final StripedLongKeyMap<ArrayStatisticsImpl> statisticsMap = new StripedLongKeyMap<>();
 
     private Warehouse() {
         logger.info("Warehouse Singleton created.");
     }
 
-    public static Warehouse getInstance() {
+    public static synchronized Warehouse getInstance() {
         if (instance == null) {
             instance = new Warehouse();
             StringArrayRepositoryImpl.getInstance().addObserver(instance);
@@ -38,12 +40,39 @@ public class Warehouse implements Observer {
 
         switch (eventType) {
             case "ADD":
-                logger.debug("Handling 'ADD' event for array ID: {}", array.getId());
+            case "LOAD":
+                logger.debug("Handling '{}' event for array key: {}", eventType, array.getKey());
                 calculateAndStore(array);
                 break;
             case "REMOVE":
-                logger.debug("Handling 'REMOVE' event for array ID: {}", array.getId());
-                statisticsMap.remove(array.getId());
+            case "EVICT":
+                logger.debug("Handling '{}' event for array key: {}", eventType, array.getKey());
+                removeStatistics(array.getKey());
+                break;
+            default:
+                logger.warn("Unknown event type: {}", eventType);
+        }
+    }
+
+    /**
+     * Statistics of a batch are computed in parallel before they are stored.
+     */
+    @Override
+    public void handleEvents(List<? extends StringArray> arrays, String eventType) {
+        switch (eventType) {
+            case "ADD":
+            case "LOAD":
+                logger.debug("Handling batched '{}' event for {} arrays", eventType, arrays.size());
+                ArrayStatisticsImpl[] stats = (arrays.size() >= PARALLEL_BATCH_THRESHOLD
+                        ? arrays.parallelStream() : arrays.stream())
+                        .map(Warehouse::calculate)
+                        .toArray(ArrayStatisticsImpl[]::new);
+                storeStatistics(arrays, stats);
+                break;
+            case "REMOVE":
+            case "EVICT":
+                logger.debug("Handling batched '{}' event for {} arrays", eventType, arrays.size());
+                removeStatistics(arrays);
                 break;
             default:
                 logger.warn("Unknown event type: {}", eventType);
@@ -51,27 +80,53 @@ public class Warehouse implements Observer {
     }
 
     private void calculateAndStore(StringArray array) {
+        ArrayStatisticsImpl stats = calculate(array);
+        storeStatistics(array.getKey(), stats);
+        logger.debug("Calculated and stored stats for array key {}: {}", array.getKey(), stats);
+    }
+
+    private static ArrayStatisticsImpl calculate(StringArray array) {
         if (array.isEmpty()) {
-            ArrayStatisticsImpl stats = new ArrayStatisticsImpl(0, 0, 0, 0, 0);
-            statisticsMap.put(array.getId(), stats);
-            logger.debug("Stored empty stats for array ID: {}", array.getId());
-            return;
+            return new ArrayStatisticsImpl(0, 0, 0, 0, 0);
         }
 
-        String[] strings = array.getArray();
+        int totalChars = array.getTotalLength();
+        int count = array.length();
+        double avgLength = (double) totalChars / count;
+        int maxLength = array.getMaxLength();
+        int minLength = array.getMinLength();
+
+        return new ArrayStatisticsImpl(avgLength, totalChars, maxLength, minLength, count);
+    }
 
-        int totalChars = Arrays.stream(strings).mapToInt(String::length).sum();
-        double avgLength = Arrays.stream(strings).mapToInt(String::length).average().orElse(0.0);
-        int maxLength = Arrays.stream(strings).mapToInt(String::length).max().orElse(0);
-        int minLength = Arrays.stream(strings).mapToInt(String::length).min().orElse(0);
-        int count = strings.length;
+    private void storeStatistics(long key, ArrayStatisticsImpl stats) {
+        statisticsMap.put(key, stats);
+    }
+
+    private void storeStatistics(List<? extends StringArray> arrays, ArrayStatisticsImpl[] stats) {
+        for (int i = 0; i < stats.length; i++) {
+            statisticsMap.put(arrays.get(i).getKey(), stats[i]);
+        }
+    }
 
-        ArrayStatisticsImpl stats = new ArrayStatisticsImpl(avgLength, totalChars, maxLength, minLength, count);
-        statisticsMap.put(array.getId(), stats);
-        logger.debug("Calculated and stored stats for array ID {}: {}", array.getId(), stats);
+    private void removeStatistics(long key) {
+        statisticsMap.remove(key);
+    }
+
+    private void removeStatistics(List<? extends StringArray> arrays) {
+        for (StringArray array : arrays) {
+            statisticsMap.remove(array.getKey());
+        }
+    }
+
+    public Optional<ArrayStatisticsImpl> getStatistics(long arrayKey) {
+        return Optional.ofNullable(statisticsMap.get(arrayKey));
     }
 
     public Optional<ArrayStatisticsImpl> getStatistics(UUID arrayId) {
-        return Optional.ofNullable(statisticsMap.get(arrayId));
+        if (!UuidAdapter.isAdapted(arrayId)) {
+            return Optional.empty();
+        }
+        return getStatistics(UuidAdapter.toKey(arrayId));
     }
 }
\ No newline at end of file